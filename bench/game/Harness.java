@@ -0,0 +1,260 @@
+package game;
+
+import game.ai.AIBenchmarks;
+import game.ai.Referee;
+import game.ai.Strategies;
+import game.grid.GridBenchmarks;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+
+/**
+ * Micro-benchmark harness for the grid and AI hot paths.
+ *
+ * Each benchmark is run repeatedly for a warm-up period, so that the JIT compiler has settled, and then for a
+ * measurement period. A benchmark marks the code it measures with <code>Probe.start()</code> and
+ * <code>Probe.stop()</code>, so that setting up a game state isn't counted. Both the time taken and the bytes allocated
+ * by the measured code are reported:
+ * <pre>
+ * Benchmark - Name of the benchmark
+ * Ops       - Operations measured
+ * ns/op     - Mean time of an operation
+ * ops/s     - Operations per second
+ * B/op      - Mean bytes allocated by an operation
+ * MB/s      - Allocation rate, in megabytes per second of measured time
+ * </pre>
+ * Allocations are read from the HotSpot thread allocation counters. They're reported as "-" on JVMs without them, and
+ * don't include allocations made by other threads (such as those of the Monte Carlo AI's parallel simulations).
+ *
+ * Usage: <code>java game.Harness [-warmup S] [-time S] [regex]</code>. Only the benchmarks whose names contain a match
+ * of the regular expression are run. Run through the <code>bench</code> target of <code>build.xml</code>.
+ *
+ * @author blackk100
+ */
+public final class Harness {
+
+	/**
+	 * A benchmark.
+	 */
+	public interface Benchmark {
+
+		/**
+		 * Runs the benchmark once, measuring some of its work through the probe.
+		 *
+		 * @param probe The probe
+		 */
+		void run(Probe probe);
+
+	}
+
+	/**
+	 * Measures the work of a benchmark.
+	 */
+	public static final class Probe {
+
+		/**
+		 * The thread allocation counters, or null if the JVM doesn't have them.
+		 */
+		private static final com.sun.management.ThreadMXBean THREADS = Probe.threads();
+
+		/**
+		 * Time measured so far, in nanoseconds.
+		 */
+		private long nanos;
+
+		/**
+		 * Bytes allocated by the measured code so far.
+		 */
+		private long bytes;
+
+		/**
+		 * Operations measured so far.
+		 */
+		private long ops;
+
+		/**
+		 * Sum of the values consumed, so that the results of the measured code aren't optimised away.
+		 */
+		private long sink;
+
+		/**
+		 * <code>System.nanoTime()</code> when the current measurement started.
+		 */
+		private long started;
+
+		/**
+		 * Bytes allocated by the current thread when the current measurement started.
+		 */
+		private long allocated;
+
+		/**
+		 * Starts measuring.
+		 */
+		public void start() {
+			this.allocated = Probe.allocated();
+			this.started = System.nanoTime();
+		}
+
+		/**
+		 * Stops measuring.
+		 *
+		 * @param ops The number of operations done since <code>start()</code>.
+		 */
+		public void stop(int ops) {
+			long now = System.nanoTime();
+			this.bytes += Probe.allocated() - this.allocated;
+			this.nanos += now - this.started;
+			this.ops += ops;
+		}
+
+		/**
+		 * Consumes a result of the measured code.
+		 *
+		 * @param value The result
+		 */
+		public void consume(long value) {
+			this.sink += value;
+		}
+
+		/**
+		 * Consumes a result of the measured code.
+		 *
+		 * @param values The result
+		 */
+		public void consume(int[] values) {
+			this.sink += (values.length == 0) ? -1 : values[0];
+		}
+
+		/**
+		 * Returns the bytes allocated by the current thread so far.
+		 *
+		 * @return the number of bytes, or '0' if the JVM doesn't count them.
+		 */
+		private static long allocated() {
+			return (Probe.THREADS == null) ? 0 : Probe.THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+
+		/**
+		 * Looks up the thread allocation counters.
+		 *
+		 * @return the counters, or null if the JVM doesn't have them.
+		 */
+		private static com.sun.management.ThreadMXBean threads() {
+			try {
+				Object threads = ManagementFactory.getThreadMXBean();
+				if ((threads instanceof com.sun.management.ThreadMXBean) && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+					((com.sun.management.ThreadMXBean) threads).setThreadAllocatedMemoryEnabled(true);
+					return (com.sun.management.ThreadMXBean) threads;
+				}
+			} catch (LinkageError | UnsupportedOperationException e) { // Not a HotSpot JVM.
+			}
+
+			return null;
+		}
+
+	}
+
+	/**
+	 * Private constructor. This class only has static members.
+	 */
+	private Harness() {
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args The options. See the class description.
+	 */
+	public static void main(String[] args) {
+		long warmup = 1;
+		long time = 3;
+		Pattern filter = Pattern.compile("");
+		try {
+			for (int arg = 0; arg < args.length; arg++) {
+				if (args[arg].equals("-warmup")) {
+					warmup = Long.parseLong(args[++arg]);
+				} else if (args[arg].equals("-time")) {
+					time = Long.parseLong(args[++arg]);
+				} else {
+					filter = Pattern.compile(args[arg]);
+				}
+			}
+		} catch (RuntimeException e) { // Missing or invalid option values, or an invalid regular expression.
+			System.err.println("Usage: java game.Harness [-warmup S] [-time S] [regex]");
+			System.exit(1);
+			return;
+		}
+
+		Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+		benchmarks.putAll(GridBenchmarks.all());
+		benchmarks.putAll(AIBenchmarks.all());
+		benchmarks.putAll(Harness.matches());
+
+		System.out.println(String.format(Locale.ROOT, "%-32s %10s %12s %12s %12s %10s", "Benchmark", "Ops", "ns/op", "ops/s", "B/op", "MB/s"));
+		long sink = 0;
+		for (Map.Entry<String, Benchmark> benchmark : benchmarks.entrySet()) {
+			if (!filter.matcher(benchmark.getKey()).find()) {
+				continue;
+			}
+
+			Harness.repeat(benchmark.getValue(), new Probe(), TimeUnit.SECONDS.toNanos(warmup));
+			Probe probe = Harness.repeat(benchmark.getValue(), new Probe(), TimeUnit.SECONDS.toNanos(time));
+			sink += probe.sink;
+
+			double nanosPerOp = (double) probe.nanos / probe.ops;
+			String bytesPerOp = (Probe.THREADS == null) ? "-" : String.format(Locale.ROOT, "%.1f", (double) probe.bytes / probe.ops);
+			String rate = (Probe.THREADS == null) ? "-" : String.format(Locale.ROOT, "%.1f", probe.bytes * 1e3 / probe.nanos);
+			System.out.println(String.format(Locale.ROOT, "%-32s %10d %12.1f %12.0f %12s %10s", benchmark.getKey(), probe.ops, nanosPerOp, 1e9 / nanosPerOp, bytesPerOp, rate));
+		}
+		System.out.println("# Sink " + sink);
+	}
+
+	/**
+	 * Runs a benchmark until the given amount of measured time has passed.
+	 *
+	 * @param benchmark The benchmark
+	 * @param probe     The probe
+	 * @param nanos     The measured time to run for, in nanoseconds.
+	 *
+	 * @return the probe.
+	 */
+	private static Probe repeat(Benchmark benchmark, Probe probe, long nanos) {
+		long deadline = System.nanoTime() + 10 * nanos; // Gives up on benchmarks spending most of their time setting up.
+		while ((probe.nanos < nanos) && (System.nanoTime() - deadline < 0)) {
+			benchmark.run(probe);
+		}
+
+		return probe;
+	}
+
+	/**
+	 * The full-match benchmarks: Regular against Regular, with every ship type, for each grid size and game mode.
+	 *
+	 * @return the benchmarks, by name.
+	 */
+	static Map<String, Benchmark> matches() {
+		Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+		SplittableRandom random = new SplittableRandom(1);
+		for (int gridSize : new int[] {10, 15}) {
+			for (String mode : new String[] {"C", "S"}) {
+				boolean[] initVars = {gridSize == 15, true, true, true, true};
+				Tournament.Pairing pairing = new Tournament.Pairing(initVars, mode, Strategies.get("R"), Strategies.get("R"), Referee.UNLIMITED);
+				benchmarks.put("Match " + gridSize + "x" + gridSize + " " + (mode.equals("C") ? "Classic" : "Salvo"), probe -> {
+					Tournament.Results results = new Tournament.Results(gridSize * gridSize);
+					probe.start();
+					Tournament.play(pairing, random, results);
+					probe.stop(1);
+					probe.consume(results.wins);
+				});
+			}
+		}
+
+		return benchmarks;
+	}
+
+}
@@ -0,0 +1,147 @@
+package game.ai;
+
+import game.Harness.Benchmark;
+import game.Harness.Probe;
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Layouts;
+import game.grid.Ship;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+
+/**
+ * Benchmarks of the AI hot paths, on a 10 x 10 grid with every ship type, in Classic mode.
+ *
+ * Firing is measured at 3 stages of a game, told apart by the number of the Player's ships sunk:
+ * <pre>
+ * Early - None sunk
+ * Mid   - Fewer than half sunk
+ * Late  - At least half sunk
+ * </pre>
+ * Each run plays a whole game against a freshly placed fleet, and only measures the shots of its stage. The Brutal AI
+ * only peeks at the Player's fleet once one of its ships is hit, so it's benchmarked with one of its ships hit from the
+ * start.
+ *
+ * @author blackk100
+ */
+public final class AIBenchmarks {
+
+	/**
+	 * Initialization Variables of the benchmarked games.
+	 */
+	private static final boolean[] INIT_VARS = {false, true, true, true, true};
+
+	/**
+	 * Names of the stages of a game.
+	 */
+	private static final String[] STAGES = {"early", "mid", "late"};
+
+	/**
+	 * Private constructor. This class only has static members.
+	 */
+	private AIBenchmarks() {
+	}
+
+	/**
+	 * Returns the benchmarks:
+	 * <pre>
+	 * AI.place                - Places a fleet, through the Sandbox AI's constructor.
+	 * Sandbox.fire (stage)    - Chooses a shot. Likewise for Regular and Brutal.
+	 * Regular.updateGridOpp   - Takes in the Player's board after each shot.
+	 * </pre>
+	 *
+	 * @return the benchmarks, by name.
+	 */
+	public static Map<String, Benchmark> all() {
+		Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+		SplittableRandom random = new SplittableRandom(1);
+		Layouts layouts = new Layouts(10, Board.shipLengths(AIBenchmarks.INIT_VARS));
+
+		Board opponent = new Board(AIBenchmarks.INIT_VARS);
+		benchmarks.put("AI.place", probe -> {
+			probe.start();
+			AI ai = new Sandbox(AIBenchmarks.INIT_VARS, opponent, random.split());
+			probe.stop(1);
+			probe.consume(ai.getGridSelf().getShips()[0].getStartCell());
+		});
+
+		for (String name : new String[] {"Sandbox", "Regular", "Brutal"}) {
+			for (int stage = 0; stage < AIBenchmarks.STAGES.length; stage++) {
+				int measured = stage;
+				benchmarks.put(name + ".fire (" + AIBenchmarks.STAGES[stage] + ")", probe -> AIBenchmarks.play(name, layouts, random, probe, measured, false));
+			}
+		}
+		benchmarks.put("Regular.updateGridOpp", probe -> AIBenchmarks.play("Regular", layouts, random, probe, -1, true));
+
+		return benchmarks;
+	}
+
+	/**
+	 * Plays a game of an AI against a freshly placed fleet, in Classic mode.
+	 *
+	 * @param name     The name of the AI
+	 * @param layouts  The layouts of the fleet
+	 * @param random   Random number generator
+	 * @param probe    The probe
+	 * @param stage    The stage of the game whose shots are measured, or '-1' for none.
+	 * @param updating true to measure <code>AI.updateGridOpp()</code>, else false.
+	 */
+	private static void play(String name, Layouts layouts, SplittableRandom random, Probe probe, int stage, boolean updating) {
+		Board board = new Board(AIBenchmarks.INIT_VARS);
+		layouts.apply(board, layouts.sample(random));
+
+		AI ai;
+		if (name.equals("Sandbox")) {
+			ai = new Sandbox(AIBenchmarks.INIT_VARS, board, random.split());
+		} else if (name.equals("Regular")) {
+			ai = new Regular(AIBenchmarks.INIT_VARS, board, random.split());
+		} else {
+			ai = new Brutal(AIBenchmarks.INIT_VARS, board, random.split());
+			Board self = ai.getGridSelf();
+			self.markShot(self.getShips()[0].getStartCell());
+			ai.updateGridSelf(self);
+		}
+
+		int ships = board.getShips().length;
+		while (!board.allSunk()) {
+			int sunk = board.getShipsSunk();
+			int current = (sunk == 0) ? 0 : ((2 * sunk < ships) ? 1 : 2);
+
+			int[] cells;
+			if (current == stage) {
+				probe.start();
+				cells = ai.fireCells(1);
+				probe.stop(1);
+			} else {
+				cells = ai.fireCells(1);
+			}
+			probe.consume(cells);
+			if (cells.length == 0) { // Every tile was already chosen.
+				return;
+			}
+
+			int[] shotsSunk = {Cell.NONE, Cell.NONE, Cell.NONE, Cell.NONE};
+			board.markShot(cells[0]);
+			if (board.isHit(cells[0])) {
+				Ship ship = board.getShip(cells[0]);
+				ship.sectionHit(cells[0]);
+				if (ship.isSunk()) {
+					shotsSunk[0] = cells[0];
+				}
+			}
+
+			ai.updateShotsSunk(shotsSunk);
+			ai.updateShipsOpp(board.getShips());
+			if (updating) {
+				probe.start();
+				ai.updateGridOpp(board);
+				probe.stop(1);
+			} else {
+				ai.updateGridOpp(board);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package game.grid;
+
+import game.Harness.Benchmark;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+
+/**
+ * Benchmarks of the ship hot paths, on a 10 x 10 grid with every ship type.
+ *
+ * @author blackk100
+ */
+public final class GridBenchmarks {
+
+	/**
+	 * Initialization Variables of the benchmarked boards.
+	 */
+	private static final boolean[] INIT_VARS = {false, true, true, true, true};
+
+	/**
+	 * Private constructor. This class only has static members.
+	 */
+	private GridBenchmarks() {
+	}
+
+	/**
+	 * Returns the benchmarks:
+	 * <pre>
+	 * Ship.getPosition     - Resolves every tile of the grid against each ship. 1 operation per lookup.
+	 * Ship.sectionHit      - Hits every section of a freshly placed fleet. 1 operation per section.
+	 * Symmetry.canonical   - Finds the canonical form of a board with 30 shots. 1 operation per board.
+	 * </pre>
+	 *
+	 * @return the benchmarks, by name.
+	 */
+	public static Map<String, Benchmark> all() {
+		Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+		SplittableRandom random = new SplittableRandom(1);
+		Layouts layouts = new Layouts(10, Board.shipLengths(GridBenchmarks.INIT_VARS));
+
+		Board placed = new Board(GridBenchmarks.INIT_VARS);
+		layouts.apply(placed, layouts.sample(random));
+		benchmarks.put("Ship.getPosition", probe -> {
+			Ship[] ships = placed.getShips();
+			int sum = 0;
+			probe.start();
+			for (Ship ship : ships) {
+				for (int cell = 0; cell < placed.cells; cell++) {
+					sum += ship.getPosition(cell);
+				}
+			}
+			probe.stop(ships.length * placed.cells);
+			probe.consume(sum);
+		});
+
+		benchmarks.put("Ship.sectionHit", probe -> {
+			Board board = new Board(GridBenchmarks.INIT_VARS);
+			layouts.apply(board, layouts.sample(random));
+			Ship[] ships = board.getShips();
+			int sections = 0;
+			probe.start();
+			for (Ship ship : ships) {
+				for (int l = 0; l < ship.length; l++) {
+					ship.sectionHit(ship.getCell(l));
+				}
+				sections += ship.length;
+			}
+			probe.stop(sections);
+			probe.consume(board.getShipsSunk());
+		});
+
+		Board shot = new Board(GridBenchmarks.INIT_VARS);
+		layouts.apply(shot, layouts.sample(random));
+		for (int shots = 0; shots < 30; shots++) {
+			int cell = random.nextInt(shot.cells);
+			if (shot.isUnguessed(cell)) {
+				shot.markShot(cell);
+			}
+		}
+		Symmetry symmetry = Symmetry.of(shot.gridSize);
+		long[] hits = new long[(shot.cells + 63) >>> 6];
+		long[] misses = new long[hits.length];
+		benchmarks.put("Symmetry.canonical", probe -> {
+			probe.start();
+			int orientation = symmetry.canonical(shot, hits, misses);
+			probe.stop(1);
+			probe.consume(orientation);
+		});
+
+		return benchmarks;
+	}
+
+}
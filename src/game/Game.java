@@ -6,6 +6,8 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridLayout;
 import java.awt.event.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.swing.*;
 import jship.JShip;
 import users.CurrentUser;
@@ -69,105 +71,37 @@ final class Game extends JFrame {
 	private final int AIDiff;
 
 	/**
-	 * The AI. Uses Grid 2.
+	 * The ID of the AI strategy played at each AI Difficulty, indexed by <code>AIDiff + 1</code>.
 	 */
-	private AI AI;
+	private static final String[] STRATEGIES = {"S", "R", "B"};
 
 	/**
-	 * The Player's Grid as a 2-Dimensional Location Array.
+	 * The match itself: both grids, the AI, the rounds and the statistics. Player's Grid is Grid 1, AI's Grid is
+	 * Grid 2.
 	 */
-	private Location[][] PlayerGridL;
+	private final GameEngine engine;
 
 	/**
-	 * The AI's Grid as a 2-Dimensional Location Array.
+	 * Runs tasks on the Swing event thread. Used to hand the AI's shots back to the form.
 	 */
-	private Location[][] AIGridL;
-
-	/**
-	 * The Player's ships.
-	 */
-	private Ship[] PlayerShips;
-
-	/**
-	 * The AI's ships.
-	 */
-	private Ship[] AIShips;
-
-	/**
-	 * The Player's Statistics:
-	 *
-	 * <pre>
-	 * I-----------I-----------------------I
-	 * I Index No. I    Value Stored       I
-	 * I-----------I-----------------------I
-	 * I     0     I Shots Fired  (SF)     I
-	 * I     1     I Hits landed  (Hits)   I
-	 * I     2     I Ships Lost   (SL)     I
-	 * I-----------I-----------------------I
-	 * </pre>
-	 */
-	private int[] PlayerStats = {0, 0, 0};
-
-	/**
-	 * The AI's Statistics:
-	 *
-	 * <pre>
-	 * I-----------I-----------------------I
-	 * I Index No. I    Value Stored       I
-	 * I-----------I-----------------------I
-	 * I     0     I Shots Fired  (SF)     I
-	 * I     1     I Hits landed  (Hits)   I
-	 * I     2     I Ships Lost   (SL)     I
-	 * I-----------I-----------------------I
-	 * </pre>
-	 */
-	private int[] AIStats = {0, 0, 0};
-
-	/**
-	 * Constant value of '-1' indicating that the match ended.
-	 */
-	private static final int END = -1;
-
-	/**
-	 * Constant value of '0' indicating that it is the ship placement round.
-	 */
-	private static final int PLACE = 0;
-
-	/**
-	 * Internal counter for current game/match round/sequence.
-	 * <pre>
-	 * -1  - Game Ended (this.END).
-	 * 0   - Ship Placement (this.PLACE).
-	 * &gt; 0 - Actual Game (until it ends).
-	 * </pre>
-	 */
-	private int roundNo = 0;
+	private static final Executor EDT = SwingUtilities::invokeLater;
 
 	/**
 	 * Constant value of '1' indicating that the user won.
 	 */
-	static final int WIN = 1;
+	static final int WIN = GameEngine.WIN;
 
 	/**
 	 * Constant value of '0' indicating that the user lost.
 	 */
-	static final int LOSE = 0;
-
-	/**
-	 * An integer indicating whether or not the given round was won by the user.
-	 * <pre>
-	 * 1 - Win
-	 * 0 - Lose
-	 * </pre>
-	 */
-	private int status;
+	static final int LOSE = GameEngine.LOSE;
 
 	/**
-	 * Variable for storing the state of each button (i.e., clicked or not) for each round.
+	 * Variable for storing the state of each button of Grid 2 (i.e., selected for firing or not) for each round.
 	 * <pre>
 	 * true  - Clicked
 	 * false - Not Clicked
-	 * </pre>s
+	 * </pre>
 	 */
 	private boolean[][] buttonsClicked;
 
@@ -177,12 +111,6 @@ final class Game extends JFrame {
 	 */
 	private int shotsSelected = 0;
 
-	/**
-	 * Temporary variable for storing the number of ships placed.
-	 * Only used during the Ship Placement round.
-	 */
-	private int shipPlacing = 0;
-
 	/**
 	 * Creates new form Main
 	 *
@@ -195,57 +123,74 @@ final class Game extends JFrame {
 		this.mode = mode;
 		this.AIDiff = AIDiff;
 
-		this.gridSize = initVars[0] ? 15 : 10;
-		this.buttonsClicked = new boolean[this.gridSize][this.gridSize];
-
-		this.shipNos = (initVars[1] ? 1 : 0) + (initVars[2] ? 2 : 0) + (initVars[3] ? 2 : 0) + (initVars[4] ? 4 : 0);
-		this.PlayerShips = new Ship[this.shipNos];
-		int shipNo = 0;    // Temporary variable storing the ship number being initialized.
-		if (initVars[1]) { // Battleships
-			for (int i = shipNo; i < shipNo + 1; i++) {
-				this.PlayerShips[i] = new Ship(5);
+		this.engine = new GameEngine(initVars, mode, Strategies.get(Game.STRATEGIES[AIDiff + 1]));
+		this.engine.addListener(new GameEngine.Listener() {
+			@Override
+			public void rejected(GameEngine.Rejection reason, int section) {
+				String message;
+				switch (reason) {
+					case OUT_OF_BOUNDS:
+						message = "Ship out of bounds at position: " + section;
+						break;
+					case OVERLAP:
+						message = "Ship exists at position: " + section;
+						break;
+					case CONTACT:
+						message = "Bordering another ship at position: " + section;
+						break;
+					default:
+						message = "Ship limit reached!";
+				}
+				System.out.println(message);
+				AlertsTA.append(message + "\n");
 			}
-			shipNo += 1;
-		}
-		if (initVars[2]) { // Cruisers
-			for (int i = shipNo; i < shipNo + 2; i++) {
-				this.PlayerShips[i] = new Ship(4);
+
+			@Override
+			public void shot(boolean player, int cell, boolean hit) {
+				if (player) {
+					if (hit) {
+						AlertsTA.append("Enemy Ship hit!\n");
+					}
+				} else {
+					System.out.println("AI fires at: " + Cell.x(cell, gridSize) + " " + Cell.y(cell, gridSize));
+				}
 			}
-			shipNo += 2;
-		}
-		if (initVars[3]) { // Destroyers
-			for (int i = shipNo; i < shipNo + 2; i++) {
-				this.PlayerShips[i] = new Ship(3);
+
+			@Override
+			public void sunk(boolean player, Ship ship) {
+				if (player) {
+					AlertsTA.append("Enemy " + Game.shipName(ship.length) + " sunk!\n");
+				}
 			}
-			shipNo += 2;
-		}
-		if (initVars[4]) { // Corvettes
-			for (int i = shipNo; i < shipNo + 4; i++) {
-				this.PlayerShips[i] = new Ship(2);
+
+			@Override
+			public void abandoned() {
+				System.out.println("AI move abandoned. Falling back.");
 			}
-		}
+		});
+
+		ReplayLog.record(this.engine, ReplayLog.directory());
+
+		this.gridSize = this.engine.getGridSize();
+		this.shipNos = this.engine.getShipNos();
+		this.buttonsClicked = new boolean[this.gridSize][this.gridSize];
 
 		this.initComponents();
 
-		this.setTitleL(AIDiff);
+		this.setTitleL();
 		this.GridTF.setText(initVars[0] ? "15 x 15" : "10 x 10");
 		this.ModeTF.setText(mode.equals("C") ? "Classic" : "Salvo");
 		this.BattleshipCB.doClick();
 		this.StatsUpdate();
 		this.nextShip();
 
-		Object[] temp;                              // Temporary Array for storing Grid 1 & Grid 2 objects.
-		temp = this.initGrid(this.gridSize, false); // Grid 1
-		this.PlayerGridB = (JButton[][]) temp[0];
-		this.PlayerGridL = (Location[][]) temp[1];
+		this.PlayerGridB = this.initGrid(this.gridSize, false); // Grid 1
 		for (int y = 0; y < this.gridSize; y++) {
 			for (int x = 0; x < this.gridSize; x++) {
 				this.PlayerGridP.add(this.PlayerGridB[y][x]);
 			}
 		}
-		temp = this.initGrid(this.gridSize, true);  // Grid 2
-		this.AIGridB = (JButton[][]) temp[0];
-		this.AIGridL = (Location[][]) temp[1];
+		this.AIGridB = this.initGrid(this.gridSize, true);      // Grid 2
 		for (int y = 0; y < this.gridSize; y++) {
 			for (int x = 0; x < this.gridSize; x++) {
 				this.AIGridP.add(this.AIGridB[y][x]);
@@ -257,27 +202,28 @@ final class Game extends JFrame {
 
 	/**
 	 * Updates TitleL's display text. Is run upon frame creation.
-	 *
-	 * @param AIDiff The AI Difficulty
 	 */
-	private void setTitleL(int AIDiff) {
-		System.out.println("Difficulty - " + (AIDiff == -1 ? "Sandbox" : (AIDiff == 0 ? "Realistic" : "Brutal")));
-		TitleL.setText("Difficulty - " + (AIDiff == -1 ? "Sandbox" : (AIDiff == 0 ? "Realistic" : "Brutal")));
-		setTitle("Difficulty - " + (AIDiff == -1 ? "Sandbox" : (AIDiff == 0 ? "Realistic" : "Brutal")));
+	private void setTitleL() {
+		System.out.println("Difficulty - " + this.engine.getStrategy().name());
+		TitleL.setText("Difficulty - " + this.engine.getStrategy().name());
+		setTitle("Difficulty - " + this.engine.getStrategy().name());
 	}
 
 	/**
 	 * Updates the Statistics displays.
 	 */
 	private void StatsUpdate() {
-		this.PlayerSLTF.setText(Integer.toString(this.shipNos - this.PlayerStats[2]));
-		this.PlayerSFTF.setText(Integer.toString(this.PlayerStats[0]));
-		this.PlayerHitsTF.setText(Integer.toString(this.PlayerStats[1]));
-		this.PlayerAccTF.setText(Double.toString(Math.round((this.PlayerStats[1] * 10000.0) / ((this.roundNo == 0) ? 1 : this.PlayerStats[0])) / 100.0) + " %");
-		this.AISLTF.setText(Integer.toString((this.shipNos - this.AIStats[2])));
-		this.AISFTF.setText(Integer.toString(this.AIStats[0]));
-		this.AIHitsTF.setText(Integer.toString(this.AIStats[1]));
-		this.AIAccTF.setText(Double.toString(Math.round((this.AIStats[1] * 10000.0) / ((this.roundNo == 0) ? 1 : this.AIStats[0])) / 100.0) + " %");
+		int[] PlayerStats = this.engine.getPlayerStats();
+		int[] AIStats = this.engine.getAIStats();
+
+		this.PlayerSLTF.setText(Integer.toString(this.engine.getPlayerBoard().getShipsRemaining()));
+		this.PlayerSFTF.setText(Integer.toString(PlayerStats[0]));
+		this.PlayerHitsTF.setText(Integer.toString(PlayerStats[1]));
+		this.PlayerAccTF.setText(Double.toString(Math.round((PlayerStats[1] * 10000.0) / ((PlayerStats[0] == 0) ? 1 : PlayerStats[0])) / 100.0) + " %");
+		this.AISLTF.setText(Integer.toString(this.engine.getAIBoard().getShipsRemaining()));
+		this.AISFTF.setText(Integer.toString(AIStats[0]));
+		this.AIHitsTF.setText(Integer.toString(AIStats[1]));
+		this.AIAccTF.setText(Double.toString(Math.round((AIStats[1] * 10000.0) / ((AIStats[0] == 0) ? 1 : AIStats[0])) / 100.0) + " %");
 	}
 
 	/**
@@ -286,11 +232,10 @@ final class Game extends JFrame {
 	 * @param gridSize Size of Game Board
 	 * @param gridNo   Whether it's the 1st Grid or 2nd Grid
 	 *
-	 * @return An object array containing the JButton and Location arrays of gridNo.
+	 * @return The JButton array of gridNo.
 	 */
-	private Object[] initGrid(int gridSize, boolean gridNo) {
+	private JButton[][] initGrid(int gridSize, boolean gridNo) {
 		JButton[][] GridB = new JButton[gridSize][gridSize];
-		Location[][] GridL = new Location[gridSize][gridSize];
 
 		for (int y = 0; y < gridSize; y++) {
 			for (int x = 0; x < gridSize; x++) {
@@ -301,25 +246,23 @@ final class Game extends JFrame {
 				GridB[y][x].addActionListener(new ActionListener() {
 					@Override
 					public void actionPerformed(ActionEvent evt) {
-						if (roundNo == Game.PLACE) {      // Checks if is the ship placement round
+						if (engine.getRound() == GameEngine.PLACE) {      // Checks if is the ship placement round
 							if ((evt.getModifiers() & (ActionEvent.SHIFT_MASK | ActionEvent.CTRL_MASK)) != 0) { // Checks if SHIFT or CTRL was held down.
 								System.out.println((((evt.getModifiers() & ActionEvent.SHIFT_MASK) != 0) ? "SHIFT" : "") + " " + (((evt.getModifiers() & ActionEvent.CTRL_MASK) != 0) ? "CTRL" : ""));
 								placeShip(((JButton) evt.getSource()).getActionCommand(), true);  // Vertical
 							} else {                   // SHIFT or CTRL weren't held down.
 								placeShip(((JButton) evt.getSource()).getActionCommand(), false); // Horizontal
 							}
-							setBorders();
-						} else if (roundNo != Game.END) { // Normal Round
+						} else if (engine.getRound() != GameEngine.END) { // Normal Round
 							fire(((JButton) evt.getSource()).getActionCommand());
 						}
 						setColors();
 					}
 				});
-				GridL[y][x] = new Location();
 			}
 		}
 
-		return new Object[] {GridB, GridL};
+		return GridB;
 	}
 
 	/**
@@ -836,24 +779,23 @@ final class Game extends JFrame {
 	 * What to do match completion. Also makes any undamaged enemy ships visible.
 	 */
 	private void end() {
-		this.RoundTF.setText(this.roundNo + " - End");
-		this.roundNo = Game.END;
+		this.RoundTF.setText(this.engine.getRound() + " - End");
 		this.NextB.setText("End");
 		this.HelpB.setEnabled(false);
 		this.ClearB.setEnabled(false);
 		this.ExitB.setEnabled(false);
 
-		if (this.status == Game.WIN) {         // Checks if the user won
+		if (this.engine.getStatus() == Game.WIN) {         // Checks if the user won
 			System.out.println("Match Won!");
 			this.TitleL.setText("Match Won!");
 			this.AlertsTA.append("Match Won!\n");
 			this.setTitle("Match Won!");
-		} else if (this.status == Game.LOSE) { // Checks if the user lost
+		} else if (this.engine.getStatus() == Game.LOSE) { // Checks if the user lost
 			System.out.println("Match Lost!");
 			this.TitleL.setText("Match Lost!");
 			this.AlertsTA.append("Match Lost!\n");
 			this.setTitle("Match Lost!");
-		} else {                               // Should not have happened.
+		} else {                                           // Should not have happened.
 			System.out.println("Match Ended!");
 			this.TitleL.setText("Match Ended!");
 			this.AlertsTA.append("Match Ended!\n");
@@ -885,155 +827,88 @@ final class Game extends JFrame {
 	 * @param evt Button Click
 	 */
 	private void NextRound(ActionEvent evt) {//GEN-FIRST:event_NextRound
-		if (this.roundNo == Game.END) {           // Checks if the match ended.
-			int[] statsList = new int[] {this.status, this.PlayerStats[0], this.PlayerStats[1], this.AIStats[1], this.AIStats[2], this.PlayerStats[2]};
+		if (this.engine.getRound() == GameEngine.END) {          // Checks if the match ended.
+			int[] PlayerStats = this.engine.getPlayerStats();
+			int[] statsList = new int[] {this.engine.getStatus(), PlayerStats[0], PlayerStats[1], this.engine.getAIStats()[1], this.engine.getAIBoard().getShipsSunk(), this.engine.getPlayerBoard().getShipsSunk()};
 
 			Post Post = new Post(statsList, this.mode, this.AIDiff);
 			Post.setVisible(true);
 
 			this.dispose();
-		} else if (this.roundNo == Game.PLACE) {  // Checks if it's the Ship Placement round.
-			if (this.shipPlacing == this.shipNos) { // Checks if all ships have been placed.
-				this.buttonsClicked = new boolean[this.gridSize][this.gridSize]; // Resets the array to all false.
-
-				if (this.AIDiff == -1) {       // Initializes the AI to Sandbox.
-					this.AI = new Sandbox(this.initVars, this.PlayerGridL, this.PlayerShips);
-				} else if (this.AIDiff == 0) { // Initializes the AI to Regular.
-					this.AI = new Regular(this.initVars, this.PlayerGridL, this.PlayerShips);
-				} else {                       // Initializes the AI to Brutal.
-					this.AI = new Brutal(this.initVars, this.PlayerGridL, this.PlayerShips);
-				}
-
-				this.AIGridL = this.AI.getGridSelf();
-				this.AIShips = this.AI.getShipsSelf();
-				for (int ship = 0; ship < this.shipNos; ship++) {
-					int[] xy = this.AIShips[ship].getStart();
-
-					if (CurrentUser.getCurrentUser().equals("admin")) { // Used for debugging.
+		} else if (this.engine.getRound() == GameEngine.PLACE) { // Checks if it's the Ship Placement round.
+			int shipPlacing = this.engine.nextShip();
+			if (shipPlacing == this.shipNos) {                     // Checks if all ships have been placed.
+				this.engine.start();                                  // Initializes the AI.
+
+				if (CurrentUser.getCurrentUser().equals("admin")) {   // Used for debugging.
+					for (Ship ship : this.engine.getAIBoard().getShips()) {
+						int[] xy = ship.getStart();
 						System.out.println("AI Ship at: " + xy[0] + " " + xy[1]);
 					}
 				}
 
-				this.roundNo++;
-				this.RoundTF.setText(Integer.toString(this.roundNo));
+				this.RoundTF.setText(Integer.toString(this.engine.getRound()));
 				this.NextB.setText("<html><center>Next<br/>Round</center></html>");
 				this.StatsUpdate();
 				this.setColors();
-			} else {                                  // Not all ships placed.
-				this.AlertsTA.append("Not all ships placed! " + (this.shipNos - this.shipPlacing) + " ships left!\n");
+			} else {                                                // Not all ships placed.
+				this.AlertsTA.append("Not all ships placed! " + (this.shipNos - shipPlacing) + " ships left!\n");
 			}
-		} else {                                    // Normal/Firing Rounds
-			// Used for checking if the required number of selections have been made
-			if (this.mode.equals("C")) { // Checks if it a Classic Round.
-				if (this.shotsSelected == 1) {
-					this.shoot();
-				} else {
-					this.AlertsTA.append("Not all selections made! 1 selection left!\n");
-				}
-			} else {                     // Checks if it a Salvo Round.
-				if (this.shotsSelected == (this.shipNos - this.PlayerStats[2])) {
-					this.shoot();
-				} else {
-					// Checks if the number of selectable locations doesn't exceed the number of selections to be required.
-					int left = 0;
-					int required = (this.shipNos - this.PlayerStats[2] - this.shotsSelected);
-
-					for (int y = 0; y < this.gridSize; y++) {
-						for (int x = 0; x < this.gridSize; x++) {
-							if (this.AIGridL[y][x].isUnguessed()) {
-								left++;
-							}
-						}
-					}
-
-					if (left > required) {
-						this.AlertsTA.append("Not all selections made! " + required + " selections left!\n");
-					} else {
-						this.shoot();
-					}
-				}
+		} else {                                                  // Normal/Firing Rounds
+			int required = this.engine.getPlayerShots() - this.shotsSelected; // Fewer than the ships left once there aren't enough unguessed locations.
+			if (required == 0) {
+				this.shoot();
+			} else {
+				this.AlertsTA.append("Not all selections made! " + required + (required == 1 ? " selection" : " selections") + " left!\n");
 			}
 		}
 	}//GEN-LAST:event_NextRound
 
 	/**
-	 * Marks the user's shots.
-	 * Checks if user has won.
+	 * Fires the user's shots.
 	 * If the user has won, set match to have ended.
-	 * If the user hasn't won, the AI shoots and checks if the AI has won.
-	 * If the AI has won, set match to have ended.
-	 * If neither the user nor the AI have won, advances the game to the next round.
+	 * If the user hasn't won, the AI shoots.
 	 */
 	private void shoot() {
-		shotChecker:
+		int[] cells = new int[this.shotsSelected];
+		int shot = 0;
 		for (int y = 0; y < this.gridSize; y++) {
 			for (int x = 0; x < this.gridSize; x++) {
-				if (this.buttonsClicked[y][x]) {    // Checks if a shot was placed here.
+				if (this.buttonsClicked[y][x]) { // Checks if a shot was placed here.
 					this.buttonsClicked[y][x] = false;
-					this.AIGridL[y][x].markShot();
-					this.PlayerStats[0]++;
-
-					if (this.AIGridL[y][x].isHit()) { // Checks if a Ship was hit.
-						this.AlertsTA.append("Enemy Ship hit!\n");
-						this.PlayerStats[1]++;
-
-						shipChecker:
-						for (int ship = 0; ship < this.shipNos; ship++) {              // Used for finding which ship was hit.
-							if (this.AIShips[ship].getPosition(new int[] {x, y}) > -1) { // Checks if this ship was hit
-								this.AIShips[ship].sectionHit(new int[] {x, y});           // Marks the section as hit.
-
-								if (this.AIShips[ship].isSunk()) {                         // Checks if the ship was sunk due to this shot.
-									if (this.AIShips[ship].length == 5) {
-										this.AlertsTA.append("Enemy Battleship sunk!\n");
-									} else if (this.AIShips[ship].length == 4) {
-										this.AlertsTA.append("Enemy Cruiser sunk!\n");
-									} else if (this.AIShips[ship].length == 3) {
-										this.AlertsTA.append("Enemy Destroyer sunk!\n");
-									} else {
-										this.AlertsTA.append("Enemy Corvette sunk!\n");
-									}
-
-									this.AIStats[2]++;
-									if (this.shipNos - this.AIStats[2] == 0) {               // Checks if the user won (allows 100% accuracy scores).
-										break shotChecker;
-									}
-								}
-
-								break shipChecker;
-							}
-						}
-					}
+					cells[shot++] = Cell.of(x, y, this.gridSize);
 				}
 			}
 		}
-
 		this.shotsSelected = 0;
+
+		boolean won = this.engine.playerFires(cells);
 		this.StatsUpdate();
 		this.setColors();
 
-		if (this.shipNos == this.AIStats[2]) {       // Checks if the user won.
-			this.status = Game.WIN;
+		if (won) {         // Checks if the user won.
 			this.end();
-		} else {                                     // User did not win.
-			this.AI.updateGridSelf(this.AIGridL);      // Updates the AI's "self" grid
-			int[][] shotsSunk = this.fireAI();         // AI Shoots.
-			if (this.AIDiff == 0) {                    // Updates the Regular AI's "critical" shots list
-				this.AI.updateShotsSunk(shotsSunk);
-			} else if (this.AIDiff == 1) {             // Updates the Brutal AI's Player's ship list
-				this.AI.updateShipsOpp(PlayerShips);
-			}
-			this.AI.updateGridOpp(this.PlayerGridL);   // Updates the AI's hostile grid. Placed after cause of how the Regular AI works.
-			this.StatsUpdate();
-			this.setColors();
-
-			if (this.shipNos == this.PlayerStats[2]) { // Checks if the AI won.
-				this.status = Game.LOSE;
-				this.end();
-			} else {                                   // AI did not win. Next round.
-				this.roundNo++;
-				this.RoundTF.setText(Integer.toString(this.roundNo));
-			}
+		} else {           // User did not win.
+			this.fireAI();   // AI Shoots. The round ends in AIFired().
+		}
+	}
 
+	/**
+	 * Fires the AI's shots.
+	 * If the AI has won, set match to have ended. Else, advances the game to the next round.
+	 *
+	 * @param cells The tile indices of the AI's shots.
+	 */
+	private void AIFired(int[] cells) {
+		boolean won = this.engine.aiFires(cells);
+		this.StatsUpdate();
+		this.setColors();
+		this.setThinking(false);
+
+		if (won) {         // Checks if the AI won.
+			this.end();
+		} else {           // AI did not win. Next round.
+			this.RoundTF.setText(Integer.toString(this.engine.getRound()));
 		}
 	}
 
@@ -1092,72 +967,18 @@ final class Game extends JFrame {
 	 */
 	private void placeShip(String coords, boolean direction) {
 		int[] xy = this.extractCoordinates(coords);
-		int length = this.PlayerShips[this.shipPlacing - (this.shipPlacing == this.shipNos ? 1 : 0)].length;
-
-		if (coords.charAt(0) == '1') {             // Checks if the button clicked is from Grid 1.
-			if (this.buttonsClicked[xy[1]][xy[0]]) { // Checks if the button has already been clicked.
-				boolean flag = false;                    // Boolean flag to check if a ship was matched.
-				int ship = 0;                            // The ship to which the given coordinates belong to.
-				for (int s = 0; s < this.shipNos; s++) { // Checks which ship the given coordinates belong to.
-					if (this.PlayerShips[s].getPosition(xy) > -1) {
-						ship = s;
-						flag = true;
-						break;                               // Ship determined.
-					}
-				}
-				if (!flag) {                             // Checks if a ship wasn't matched.
-					System.out.println("ERROR!! No ship matched!");
-					return;
-				}
-
-				length = this.PlayerShips[ship].length;              // Length
-				int[] start = this.PlayerShips[ship].getStart();     // Starting Coordinates
-				boolean dir = this.PlayerShips[ship].getDirection(); // Direction
-				flag = false;                                        // Boolean flag to check if any other ship is present
-				for (int l = 0; l < length; l++) {
-					this.PlayerGridL[start[1] + (dir ? l : 0)][start[0] + (dir ? 0 : l)].shipAbsent();
-					this.buttonsClicked[start[1] + (dir ? l : 0)][start[0] + (dir ? 0 : l)] = false;
-				}
-				this.PlayerShips[ship].remove();    // "Removes" the ship.
-
-				this.shipPlacing = this.nextShip(); // Determines the next ship to place.
-			} else {                                 // Button hasn't been clicked.
-				if (this.shipPlacing < this.shipNos) { // Checks if the number of ships placed is less than the max ships available.
-					for (int l = 0; l < length; l++) {   // Checks for intersections, direct contact, and if the ship is within the board.
-						if (xy[1] + (direction ? l : 0) >= this.gridSize || xy[0] + (direction ? 0 : l) >= this.gridSize) {
-							// Out of bounds!
-							System.out.println("Ship out of bounds at position: " + (l + 1));
-							this.AlertsTA.append("Ship out of bounds at position: " + (l + 1) + "\n");
-							return;
-						} else if (this.buttonsClicked[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)]) {
-							// An intersection occurred!
-							System.out.println("Ship exists at position: " + (l + 1));
-							this.AlertsTA.append("Ship exists at position: " + (l + 1) + "\n");
-							return;
-						} else if (this.PlayerGridL[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)].isBorder()) {
-							// Contact with another ship!
-							System.out.println("Bordering another ship at position: " + (l + 1));
-							this.AlertsTA.append("Bordering another ship at position:: " + (l + 1) + "\n");
-							return;
-						}
-					}
-					// No intersections
-
-					for (int l = 0; l < length; l++) {
-						this.PlayerGridL[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)].shipPresent();
-						this.buttonsClicked[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)] = true;
-					}
-					this.PlayerShips[this.shipPlacing].add(xy, direction);
-
-					this.shipPlacing = this.nextShip();     // Determines the next ship to place.
-					if (this.shipPlacing == this.shipNos) { // Checks if all ships were placed.
-						this.AlertsTA.append("All ships placed!\n");
-					}
-				} else {                                  // More ships than limit allowed added.
-					this.AlertsTA.append("Ship limit reached!\n");
+		int cell = Cell.of(xy[0], xy[1], this.gridSize);
+
+		if (coords.charAt(0) == '1') {                      // Checks if the button clicked is from Grid 1.
+			if (this.engine.getPlayerBoard().hasShip(cell)) { // Checks if the button has already been clicked.
+				this.engine.removeShip(cell);                   // "Removes" the ship.
+				this.nextShip();                                // Announces the next ship to place.
+			} else if (this.engine.placeShip(cell, direction)) {
+				if (this.nextShip() == this.shipNos) {          // Checks if all ships were placed.
+					this.AlertsTA.append("All ships placed!\n");
 				}
-			}
-		} else {                                      // Grid 2.
+			}                                                 // Rejected. Alerted by the engine's listener.
+		} else {                                          // Grid 2.
 			this.AlertsTA.append("Wrong grid!\n");
 		}
 	}
@@ -1169,10 +990,11 @@ final class Game extends JFrame {
 	 */
 	private void fire(String coords) {
 		int[] xy = this.extractCoordinates(coords);
+		Board AIBoard = this.engine.getAIBoard();
 		System.out.println("Player clicked at: " + xy[0] + " " + xy[1]);
 
 		if (coords.charAt(0) == '2') {                    // Checks if the button clicked is from Grid 2.
-			if (this.AIGridL[xy[1]][xy[0]].isUnguessed()) { // Checks if the location is unguessed.
+			if (AIBoard.isUnguessed(xy[0], xy[1])) { // Checks if the location is unguessed.
 				if (this.buttonsClicked[xy[1]][xy[0]]) {      // Checks if the button has already been clicked.
 					this.buttonsClicked[xy[1]][xy[0]] = false;
 					this.shotsSelected--;
@@ -1185,11 +1007,11 @@ final class Game extends JFrame {
 							this.AlertsTA.append("Maximum locations selected!\n");
 						}
 					} else {                                    // Salvo Mode.
-						if (this.shotsSelected < (this.shipNos - this.PlayerStats[2])) { // Checks if max locations haven't been selected.
+						if (this.shotsSelected < this.engine.getPlayerShots()) { // Checks if max locations haven't been selected.
 							this.buttonsClicked[xy[1]][xy[0]] = true;
 							this.shotsSelected++;
 
-							if (this.shotsSelected == (this.shipNos - this.PlayerStats[2])) {
+							if (this.shotsSelected == this.engine.getPlayerShots()) {
 								this.AlertsTA.append("All firing locations selected!\n");
 							}
 						} else {                                  // Max locations have been selected.
@@ -1208,123 +1030,96 @@ final class Game extends JFrame {
 	/**
 	 * Function for handling the AI input.
 	 *
-	 * @return an integer array having the coordinates of the shots which sunk a ship.
-	 *         The 1st value within any element is the X-Coordinate; the 2nd value is the Y-Coordinate.
+	 * The AI chooses its shots on a background thread, so that the form stays responsive. Meanwhile, a progress monitor
+	 * shows how much of the AI's time budget has been used. Cancelling it abandons the AI's move, and the fallback AI
+	 * fires instead. The round continues in <code>AIFired()</code>, on the event thread, once the shots are chosen.
 	 */
-	private int[][] fireAI() {
-		int[][] shotsSunk = new int[4][2];                             // Coordinates of the shots which sunk a ship.
-		int sunk;
-		for (sunk = 0; sunk < shotsSunk.length; sunk++) {              // Initialises shotsSunk to {-1, -1} values.
-			shotsSunk[sunk] = new int[] {-1, -1};
-		}
-		sunk = 0;
-
-		int numShots = (this.mode.equals("C") ? 1 : (this.shipNos - this.AIStats[2]));
-		int[][] xy = new int[numShots][2];                             // Coordinates of the shots
-
-		for (int shot = 0; shot < numShots; shot++) {                  // Obtains the firing coordinates. In a separate loop to prevent the regular AI from knowing the hit status of previous shots.
-			xy[shot] = this.AI.fire();
-			System.out.println("AI fires at: " + xy[shot][0] + " " + xy[shot][1]);
-		}
-
-		for (int shot = 0; shot < numShots; shot++) {                  // Marks the locations and updates statistics.
-			this.PlayerGridL[xy[shot][1]][xy[shot][0]].markShot();
-			this.AIStats[0]++;
-
-			if (this.PlayerGridL[xy[shot][1]][xy[shot][0]].isHit()) {    // Checks if a Ship was hit.
-				this.AIStats[1]++;
-
-				shipChecker:
-				for (int ship = 0; ship < this.shipNos; ship++) {          // Used for finding which ship was hit.
-					if (this.PlayerShips[ship].getPosition(xy[shot]) > -1) {
-						this.PlayerShips[ship].sectionHit(xy[shot]);           // Marks the section as hit.
-
-						if (this.PlayerShips[ship].isSunk()) {                 // Checks if the ship was sunk.
-							shotsSunk[sunk] = xy[shot];
-							sunk++;
-
-							this.PlayerStats[2]++;
-							if (this.shipNos == this.PlayerStats[2]) {           // Checks if the AI won.
-								return shotsSunk;
-							}
-						}
+	private void fireAI() {
+		long budget = this.engine.getBudget();
+		long start = System.currentTimeMillis();
+
+		this.setThinking(true); // Prevents the next round from starting, or the form from closing, before the AI has fired.
+		ProgressMonitor monitor = new ProgressMonitor(this, "The AI is choosing its shots...", null, 0, (int) budget);
+		monitor.setMillisToDecideToPopup(100);
+		monitor.setMillisToPopup(250);
+
+		CompletableFuture<int[]> move = this.engine.think(); // All shots are chosen before any is marked, so the AI doesn't know the hit status of previous shots.
+		Timer progress = new Timer(50, evt -> {
+			if (monitor.isCanceled()) {
+				move.cancel(true);
+			} else {
+				monitor.setProgress((int) Math.min(System.currentTimeMillis() - start, budget));
+			}
+		});
+		progress.start();
+
+		move.handleAsync((cells, error) -> {
+			progress.stop();
+			monitor.close();
+			if (this.isDisplayable()) { // Ignores the move if the form was disposed of in the meantime.
+				this.AIFired((error == null) ? cells : this.engine.fallBack()); // Timed out or cancelled.
+			}
+			return null;
+		}, Game.EDT);
+	}
 
-						break shipChecker;
-					}
-				}
+	/**
+	 * Enables or disables the buttons that must not be used while the AI is choosing its shots: Next, Exit, and the
+	 * grids.
+	 *
+	 * @param thinking true while the AI is choosing its shots, else false.
+	 */
+	private void setThinking(boolean thinking) {
+		this.NextB.setEnabled(!thinking);
+		this.ExitB.setEnabled(!thinking);
+		for (int y = 0; y < this.gridSize; y++) {
+			for (int x = 0; x < this.gridSize; x++) {
+				this.PlayerGridB[y][x].setEnabled(!thinking);
+				this.AIGridB[y][x].setEnabled(!thinking);
 			}
 		}
+	}
 
-		return shotsSunk;
+	/**
+	 * Destroys the form. A match still being played is abandoned first, so that its replay log is ended and closed.
+	 */
+	@Override
+	public void dispose() {
+		this.engine.quit();
+		super.dispose();
 	}
 
 	/**
-	 * Determines which ship to place next, since ships can be removed from the grid.
-	 * Returns the number of ships if all ships have been placed.
+	 * Announces which ship to place next, since ships can be removed from the grid.
 	 *
-	 * @return an integer equivalent to the ship number to be placed.
+	 * @return the ship number to be placed, or the number of ships if all ships have been placed.
 	 */
 	private int nextShip() {
-		for (int ship = 0; ship < this.shipNos; ship++) {
-			if (!this.PlayerShips[ship].isPlaced()) {
-				this.AlertsTA.append("Placing ");
-				if (this.PlayerShips[ship].length == 5) {        // Battleship
-					this.AlertsTA.append("Placing Battleship - 5");
-				} else if (this.PlayerShips[ship].length == 4) { // Cruiser
-					this.AlertsTA.append("Placing Cruiser - 4");
-				} else if (this.PlayerShips[ship].length == 3) { // Destroyer
-					this.AlertsTA.append("Placing Destroyer - 3");
-				} else {                                         // Corvette
-					this.AlertsTA.append("Placing Corvette - 2");
-				}
-				this.AlertsTA.append(" spaces.\n");
-
-				return ship;                                     // Ship determined.
-			}
+		int ship = this.engine.nextShip();
+		if (ship < this.shipNos) {
+			int length = this.engine.getPlayerBoard().getShips()[ship].length;
+			this.AlertsTA.append("Placing " + Game.shipName(length) + " - " + length + " spaces.\n");
 		}
 
-		return this.shipNos;                                 // All ships placed.
+		return ship;
 	}
 
 	/**
-	 * Sets the border property for each tile.
-	 * TODO: Make it more efficient (not requiring to remove all borders at the start).
+	 * Names the type of a ship.
+	 *
+	 * @param length The length of the ship
+	 *
+	 * @return the name of the ship type.
 	 */
-	private void setBorders() {
-		// Removes all borders
-		for (int y = 0; y < this.gridSize; y++) {
-			for (int x = 0; x < this.gridSize; x++) {
-				if (this.PlayerGridL[y][x].isBorder()) {
-					this.PlayerGridL[y][x].noBordersShip();
-				}
-			}
-		}
-
-		// Adds borders on a ship-by-ship basis (identical to the border setting code in AI.place()).
-		for (int ship = 0; ship < this.shipNos; ship++) {
-			if (this.PlayerShips[ship].isPlaced()) { // Checks if the ship has been placed.
-				int shipLength = this.PlayerShips[ship].length;            // Length
-				int[] start = this.PlayerShips[ship].getStart();           // Starting Coordinates
-				boolean direction = this.PlayerShips[ship].getDirection(); // Direction
-
-				for (int l = 0; l < shipLength; l++) {
-					// Sets the borders at the terminal positions of the ship.
-					if ((l == 0) && (start[direction ? 1 : 0] != 0)) {                                                      // Checks if the 1st tile isn't at the edge of the Board
-						this.PlayerGridL[start[1] - (direction ? 1 : 0)][start[0] - (direction ? 0 : 1)].bordersShip();
-					} else if ((l == shipLength - 1) && (start[direction ? 1 : 0] + shipLength - 1 != this.gridSize - 1)) { // Checks if the last tile isn't at the edge of the Board
-						this.PlayerGridL[start[1] + (direction ? shipLength : 0)][start[0] + (direction ? 0 : shipLength)].bordersShip();
-					}
-					// Sets the borders along the length of the ship
-					if (start[direction ? 0 : 1] == 0) {                        // At the Top/Left edge
-						this.PlayerGridL[start[1] + (direction ? l : 1)][start[0] + (direction ? 1 : l)].bordersShip();
-					} else if (start[direction ? 0 : 1] == this.gridSize - 1) { // At the Bottom/Right edge
-						this.PlayerGridL[start[1] + (direction ? l : -1)][start[0] + (direction ? -1 : l)].bordersShip();
-					} else {                                                    // Not at the edges
-						this.PlayerGridL[start[1] + (direction ? l : -1)][start[0] + (direction ? -1 : l)].bordersShip();
-						this.PlayerGridL[start[1] + (direction ? l : 1)][start[0] + (direction ? 1 : l)].bordersShip();
-					}
-				}
-			}
+	private static String shipName(int length) {
+		if (length == 5) {        // Battleship
+			return "Battleship";
+		} else if (length == 4) { // Cruiser
+			return "Cruiser";
+		} else if (length == 3) { // Destroyer
+			return "Destroyer";
+		} else {                  // Corvette
+			return "Corvette";
 		}
 	}
 
@@ -1332,25 +1127,32 @@ final class Game extends JFrame {
 	 * Sets the colors of all buttons in both grids.
 	 */
 	private void setColors() {
+		Board PlayerBoard = this.engine.getPlayerBoard();
+		Board AIBoard = this.engine.getAIBoard();
+		int roundNo = this.engine.getRound();
+
 		for (int y = 0; y < this.gridSize; y++) {
 			for (int x = 0; x < this.gridSize; x++) {
+				Location player = PlayerBoard.getLocation(x, y);
+				Location ai = AIBoard.getLocation(x, y);
+
 				// Player Grid
 				this.PlayerGridB[y][x].setBackground(new Color(5, 218, 255, 255)); // Base Colour
 
-				if (this.PlayerGridL[y][x].hasShip()) {         // Checks if the current location has a ship.
+				if (player.hasShip()) {                         // Checks if the current location has a ship.
 					this.PlayerGridB[y][x].setBackground(new Color(67, 70, 75, 255));
 				}
-				if (this.roundNo == Game.PLACE) {               // Checks if the current round is the ship placement round. Border is not to be shown otherwise.
-					if (this.PlayerGridL[y][x].isBorder()) {      // Checks if the current location borders a ship.
+				if (roundNo == GameEngine.PLACE) {              // Checks if the current round is the ship placement round. Border is not to be shown otherwise.
+					if (player.isBorder()) {                      // Checks if the current location borders a ship.
 						this.PlayerGridB[y][x].setBackground(new Color(176, 196, 222, 255));
 					}
-					if (this.buttonsClicked[y][x]) {              // Checks if the current location has been clicked.
+					if (player.hasShip()) {                       // Checks if a ship has been placed at the current location.
 						this.PlayerGridB[y][x].setBackground(new Color(242, 236, 0, 255));
 					}
 				} else {                                        // Not ship placement round.
-					if (this.PlayerGridL[y][x].isHit()) {         // Checks if the current location has been hit.
+					if (player.isHit()) {                         // Checks if the current location has been hit.
 						this.PlayerGridB[y][x].setBackground(new Color(205, 0, 0, 255));
-					} else if (this.PlayerGridL[y][x].isMiss()) { // No ship present, and hence no hit.
+					} else if (player.isMiss()) {                 // No ship present, and hence no hit.
 						this.PlayerGridB[y][x].setBackground(new Color(0, 0, 128, 255));
 					}
 				}
@@ -1358,17 +1160,17 @@ final class Game extends JFrame {
 				// AI Grid
 				this.AIGridB[y][x].setBackground(new Color(5, 218, 255, 255)); // Base Colour
 
-				if (CurrentUser.getCurrentUser().equals("admin") || this.roundNo == -1) { // Cheats for the admin account for "debugging", or when the game ends.
-					if (this.AIGridL[y][x].hasShip()) {                                     // Checks if the current location has a ship.
+				if (CurrentUser.getCurrentUser().equals("admin") || roundNo == GameEngine.END) { // Cheats for the admin account for "debugging", or when the game ends.
+					if (ai.hasShip()) {                                                            // Checks if the current location has a ship.
 						this.AIGridB[y][x].setBackground(new Color(67, 70, 75, 255));
 					}
 				}
-				if (this.AIGridL[y][x].isHit()) {                             // Checks if the current location has been hit.
+				if (ai.isHit()) {                                              // Checks if the current location has been hit.
 					this.AIGridB[y][x].setBackground(new Color(205, 0, 0, 255));
-				} else if (this.AIGridL[y][x].isMiss()) {                     // No ship present, and hence no hit.
+				} else if (ai.isMiss()) {                                      // No ship present, and hence no hit.
 					this.AIGridB[y][x].setBackground(new Color(0, 0, 128, 255));
 				}
-				if (this.roundNo > Game.PLACE && this.buttonsClicked[y][x]) { // Checks if the current location has been clicked.
+				if (roundNo > GameEngine.PLACE && this.buttonsClicked[y][x]) { // Checks if the current location has been clicked.
 					this.AIGridB[y][x].setBackground(new Color(242, 236, 0, 255));
 				}
 			}
@@ -0,0 +1,863 @@
+package game;
+
+import game.ai.AI;
+import game.ai.Referee;
+import game.ai.Strategies;
+import game.ai.Strategy;
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Placements;
+import game.grid.Placer;
+import game.grid.Ship;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * The rules of a match between the user and an AI, without any user interface.
+ *
+ * Owns both boards and fleets, the AI and its <code>Referee</code>, the round counter and the statistics. A match
+ * goes through 3 stages:
+ * <pre>
+ * 1. Ship Placement - The user's ships are placed (<code>placeShip()</code>, <code>removeShip()</code> or
+ *                     <code>placeFleet()</code>), until <code>start()</code> creates the AI.
+ * 2. Firing Rounds  - Each round, the user fires (<code>playerFires()</code>), and then, unless the user won, the AI
+ *                     fires (<code>aiFires()</code>) the shots its referee chose.
+ * 3. End            - Once either fleet is sunk.
+ * </pre>
+ * In Classic mode, each side fires 1 shot per round. In Salvo mode, each side fires 1 shot per ship it has left.
+ *
+ * Outcomes are returned by each call, and also reported to the <code>GameEngine.Listener</code>s, in the order they
+ * happen.
+ *
+ * Every random decision of the match (the user's fleet, when placed by <code>placeFleet()</code>, and everything the
+ * AI and its fallback AI decide) is drawn from streams split off a single generator, seeded per match. A match
+ * replayed with the same seed and the same shots by the user plays out the same, as long as the AI's moves aren't cut
+ * short by its time budget (see <code>Referee.UNLIMITED</code>), and its strategy draws from the generator (see
+ * <code>Strategy.create()</code>). The AIs never stop on the wall clock otherwise.
+ *
+ * A GameEngine must only be used from a single thread, apart from the futures returned by <code>think()</code>.
+ *
+ * @author blackk100
+ */
+public final class GameEngine {
+
+	/**
+	 * Constant value of '-1' indicating that the match ended.
+	 */
+	public static final int END = -1;
+
+	/**
+	 * Constant value of '0' indicating that it is the ship placement round.
+	 */
+	public static final int PLACE = 0;
+
+	/**
+	 * Constant value of '1' indicating that the user won.
+	 */
+	public static final int WIN = 1;
+
+	/**
+	 * Constant value of '0' indicating that the user lost.
+	 */
+	public static final int LOSE = 0;
+
+	/**
+	 * Constant value of '2' indicating that the user abandoned the match before it ended.
+	 */
+	public static final int ABANDONED = 2;
+
+	/**
+	 * Constant value of '-1' indicating that the match hasn't ended yet.
+	 */
+	public static final int PLAYING = -1;
+
+	/**
+	 * Reasons for a ship not being placed.
+	 */
+	public enum Rejection {
+
+		/**
+		 * The ship would leave the grid.
+		 */
+		OUT_OF_BOUNDS,
+
+		/**
+		 * The ship would overlap another ship.
+		 */
+		OVERLAP,
+
+		/**
+		 * The ship would share an edge with another ship.
+		 */
+		CONTACT,
+
+		/**
+		 * Every ship was already placed.
+		 */
+		LIMIT
+
+	}
+
+	/**
+	 * Receives the outcomes of a match as they happen. Every method does nothing by default.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called when a ship of the user isn't placed.
+		 *
+		 * @param reason  The reason
+		 * @param section The section of the ship where the problem is, from '1' onwards. '0' if it isn't at a section.
+		 */
+		default void rejected(Rejection reason, int section) {
+		}
+
+		/**
+		 * Called when the ship placement round ends, once both fleets are placed.
+		 */
+		default void started() {
+		}
+
+		/**
+		 * Called for each shot, once it's marked.
+		 *
+		 * @param player true if the user fired, false if the AI did.
+		 * @param cell   The tile index
+		 * @param hit    true if a ship was hit, else false.
+		 */
+		default void shot(boolean player, int cell, boolean hit) {
+		}
+
+		/**
+		 * Called when a shot sinks a ship.
+		 *
+		 * @param player true if the user fired, false if the AI did.
+		 * @param ship   The ship sunk
+		 */
+		default void sunk(boolean player, Ship ship) {
+		}
+
+		/**
+		 * Called when the AI's move is abandoned, as it ran over its time budget or was cancelled. The fallback AI
+		 * fires instead.
+		 */
+		default void abandoned() {
+		}
+
+		/**
+		 * Called when the match ends, or is abandoned by <code>quit()</code>.
+		 *
+		 * @param status <code>GameEngine.WIN</code>, <code>GameEngine.LOSE</code>, or <code>GameEngine.ABANDONED</code>.
+		 * @param rounds The number of the last round.
+		 */
+		default void ended(int status, int rounds) {
+		}
+
+	}
+
+	/**
+	 * Round Initialization Variables:
+	 *
+	 * <pre>
+	 * I-----------I-----------I-----------I
+	 * I Index No. I   false   I    true   I
+	 * I-----------I-----------I-----------I
+	 * I     0     I  10 x 10  I  15 x 15  I
+	 * I-----------I-----------------------I
+	 * I     1     I       Battleship      I
+	 * I     2     I        Cruiser        I
+	 * I     3     I       Destroyer       I
+	 * I     4     I        Corvette       I
+	 * I-----------I-----------------------I
+	 * </pre>
+	 */
+	private final boolean[] initVars;
+
+	/**
+	 * Game Mode:
+	 * <pre>
+	 * C - Classic
+	 * S - Salvo
+	 * </pre>
+	 */
+	private final String mode;
+
+	/**
+	 * An integer show the length of the grid.
+	 * if initVars[0] is true, gridSize is 15. Else 10.
+	 */
+	private final int gridSize;
+
+	/**
+	 * Total number of ships available in this match.
+	 */
+	private final int shipNos;
+
+	/**
+	 * The AI strategy.
+	 */
+	private final Strategy strategy;
+
+	/**
+	 * The time budget of each of the AI's moves, in milliseconds.
+	 */
+	private final long budget;
+
+	/**
+	 * Seed of the match's random number generator.
+	 */
+	private final long seed;
+
+	/**
+	 * The generator the AIs' streams are split off, when the match starts.
+	 */
+	private final SplittableRandom random;
+
+	/**
+	 * Random number generator placing the user's fleet.
+	 */
+	private final SplittableRandom placement;
+
+	/**
+	 * The AI. Null until the match starts.
+	 */
+	private AI AI;
+
+	/**
+	 * Enforces the AI's time budget. Created along with the AI.
+	 */
+	private Referee referee;
+
+	/**
+	 * The Player's Grid as a Board.
+	 */
+	private final Board PlayerBoard;
+
+	/**
+	 * The AI's Grid as a Board. A placeholder until the match starts.
+	 */
+	private Board AIBoard;
+
+	/**
+	 * The Player's Statistics:
+	 *
+	 * <pre>
+	 * I-----------I-----------------------I
+	 * I Index No. I    Value Stored       I
+	 * I-----------I-----------------------I
+	 * I     0     I Shots Fired  (SF)     I
+	 * I     1     I Hits landed  (Hits)   I
+	 * I-----------I-----------------------I
+	 * </pre>
+	 *
+	 * The number of ships lost is kept by <code>this.PlayerBoard</code>.
+	 */
+	private final int[] PlayerStats = {0, 0};
+
+	/**
+	 * The AI's Statistics. Laid out like <code>this.PlayerStats</code>.
+	 * The number of ships lost is kept by <code>this.AIBoard</code>.
+	 */
+	private final int[] AIStats = {0, 0};
+
+	/**
+	 * Internal counter for current game/match round/sequence.
+	 * <pre>
+	 * -1  - Game Ended (GameEngine.END).
+	 * 0   - Ship Placement (GameEngine.PLACE).
+	 * &gt; 0 - Actual Game (until it ends).
+	 * </pre>
+	 */
+	private int roundNo = GameEngine.PLACE;
+
+	/**
+	 * Whether the user won (<code>GameEngine.WIN</code>) or lost (<code>GameEngine.LOSE</code>) the match.
+	 * <code>GameEngine.PLAYING</code> until it ends.
+	 */
+	private int status = GameEngine.PLAYING;
+
+	/**
+	 * The listeners of this match.
+	 */
+	private final List<Listener> listeners = new ArrayList<>();
+
+	/**
+	 * Constructor for the GameEngine class, with the default time budget for the AI, and a (pseudo-)randomly drawn
+	 * seed.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param mode     Game Mode
+	 * @param strategy The AI strategy
+	 */
+	public GameEngine(boolean[] initVars, String mode, Strategy strategy) {
+		this(initVars, mode, strategy, Referee.DEFAULT_BUDGET);
+	}
+
+	/**
+	 * Constructor for the GameEngine class, with a (pseudo-)randomly drawn seed.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param mode     Game Mode
+	 * @param strategy The AI strategy
+	 * @param budget   The time budget of each of the AI's moves, in milliseconds, or <code>Referee.UNLIMITED</code>.
+	 */
+	public GameEngine(boolean[] initVars, String mode, Strategy strategy, long budget) {
+		this(initVars, mode, strategy, budget, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Constructor for the GameEngine class.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param mode     Game Mode
+	 * @param strategy The AI strategy
+	 * @param budget   The time budget of each of the AI's moves, in milliseconds, or <code>Referee.UNLIMITED</code>.
+	 * @param seed     Seed of the match's random number generator.
+	 */
+	public GameEngine(boolean[] initVars, String mode, Strategy strategy, long budget, long seed) {
+		if (!mode.equals("C") && !mode.equals("S")) {
+			throw new IllegalArgumentException("Unknown game mode: " + mode);
+		}
+
+		this.initVars = initVars;
+		this.mode = mode;
+		this.strategy = strategy;
+		this.budget = budget;
+		this.seed = seed;
+		this.random = new SplittableRandom(seed);
+		this.placement = this.random.split();
+		this.gridSize = initVars[0] ? 15 : 10;
+
+		this.PlayerBoard = new Board(initVars);
+		this.AIBoard = new Board(initVars);
+		this.shipNos = this.PlayerBoard.getShips().length;
+	}
+
+	/**
+	 * Adds a listener to this match.
+	 *
+	 * @param listener The listener
+	 */
+	public void addListener(Listener listener) {
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * Places the next ship of the user that isn't placed yet.
+	 *
+	 * @param cell      The tile index of the start of the ship.
+	 * @param direction Orientation of the ship. true: Vertical ; false: Horizontal
+	 *
+	 * @return true if the ship was placed, false if it was rejected.
+	 *
+	 * @throws IllegalStateException if it isn't the ship placement round.
+	 */
+	public boolean placeShip(int cell, boolean direction) {
+		this.checkRound(GameEngine.PLACE);
+
+		int next = this.nextShip();
+		if (next == this.shipNos) {
+			this.reject(Rejection.LIMIT, 0);
+			return false;
+		}
+
+		Ship ship = this.PlayerBoard.getShips()[next];
+		Placements placements = Placements.of(this.gridSize, ship.length);
+		int placement = placements.index(cell, direction);
+		if ((placement == Placements.NONE) || !this.PlayerBoard.fits(placements, placement)) { // Finds the position of the problem only if the placement isn't legal.
+			int x = Cell.x(cell, this.gridSize);
+			int y = Cell.y(cell, this.gridSize);
+			for (int l = 0; l < ship.length; l++) { // Checks for intersections, direct contact, and if the ship is within the board.
+				int sectionX = x + (direction ? 0 : l);
+				int sectionY = y + (direction ? l : 0);
+				if ((sectionX >= this.gridSize) || (sectionY >= this.gridSize)) {
+					this.reject(Rejection.OUT_OF_BOUNDS, l + 1);
+					return false;
+				} else if (this.PlayerBoard.hasShip(sectionX, sectionY)) {
+					this.reject(Rejection.OVERLAP, l + 1);
+					return false;
+				} else if (this.PlayerBoard.isBorder(sectionX, sectionY)) {
+					this.reject(Rejection.CONTACT, l + 1);
+					return false;
+				}
+			}
+		}
+
+		ship.add(cell, direction);
+		return true;
+	}
+
+	/**
+	 * Removes the user's ship occupying the given tile, so that it can be placed again.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if a ship was removed, false if no ship occupies the tile.
+	 *
+	 * @throws IllegalStateException if it isn't the ship placement round.
+	 */
+	public boolean removeShip(int cell) {
+		this.checkRound(GameEngine.PLACE);
+
+		Ship ship = this.PlayerBoard.getShip(cell);
+		if (ship == null) {
+			return false;
+		}
+
+		ship.remove();
+		return true;
+	}
+
+	/**
+	 * Places the user's fleet (pseudo-)randomly, drawing each ship's placement from the legal ones with the match's
+	 * random number generator. Ships already placed are placed again.
+	 *
+	 * @throws IllegalStateException if it isn't the ship placement round, or the fleet can't be placed on the grid.
+	 */
+	public void placeFleet() {
+		this.checkRound(GameEngine.PLACE);
+
+		if (!Placer.place(this.PlayerBoard, this.placement)) {
+			throw new IllegalStateException("The fleet can't be placed on a " + this.gridSize + " x " + this.gridSize + " grid");
+		}
+	}
+
+	/**
+	 * Determines which ship to place next, since ships can be removed from the grid.
+	 *
+	 * @return the ship number to be placed, or the number of ships if all ships have been placed.
+	 */
+	public int nextShip() {
+		Ship[] ships = this.PlayerBoard.getShips();
+		for (int ship = 0; ship < this.shipNos; ship++) {
+			if (!ships[ship].isPlaced()) {
+				return ship;
+			}
+		}
+
+		return this.shipNos;
+	}
+
+	/**
+	 * Ends the ship placement round: creates the AI, which places its own fleet, and starts round 1.
+	 *
+	 * @throws IllegalStateException if it isn't the ship placement round, or not all ships have been placed.
+	 */
+	public void start() {
+		this.checkRound(GameEngine.PLACE);
+		if (this.nextShip() != this.shipNos) {
+			throw new IllegalStateException("Not all ships placed");
+		}
+
+		this.AI = this.strategy.create(this.initVars, this.PlayerBoard, this.random.split());
+		this.referee = new Referee(this.AI, Strategies.fallback().create(this.initVars, this.PlayerBoard, this.random.split()), this.budget);
+		this.AIBoard = this.AI.getGridSelf();
+		this.roundNo++;
+
+		for (Listener listener : this.listeners) {
+			listener.started();
+		}
+	}
+
+	/**
+	 * Returns the number of shots the user fires this round.
+	 * In Salvo mode, fewer may be fired once there aren't enough unguessed tiles left.
+	 *
+	 * @return the number of shots.
+	 */
+	public int getPlayerShots() {
+		return Math.min(this.mode.equals("C") ? 1 : this.PlayerBoard.getShipsRemaining(), this.AIBoard.getUnguessed());
+	}
+
+	/**
+	 * Returns the number of shots the AI fires this round.
+	 *
+	 * @return the number of shots.
+	 */
+	public int getAIShots() {
+		return Math.min(this.mode.equals("C") ? 1 : this.AIBoard.getShipsRemaining(), this.PlayerBoard.getUnguessed());
+	}
+
+	/**
+	 * Marks the user's shots for this round.
+	 * If the user didn't win, the AI is then told about its own board, and should fire next.
+	 *
+	 * @param cells The distinct, unguessed tile indices to fire at. <code>getPlayerShots()</code> of them.
+	 *
+	 * @return true if the user won, else false.
+	 *
+	 * @throws IllegalStateException    if it isn't a firing round.
+	 * @throws IllegalArgumentException if the shots aren't valid.
+	 */
+	public boolean playerFires(int[] cells) {
+		this.checkFiring();
+		GameEngine.checkShots(this.AIBoard, this.getPlayerShots(), cells);
+
+		this.mark(true, cells);
+		if (this.AIBoard.allSunk()) {              // Checks if the user won.
+			this.end(GameEngine.WIN);
+			return true;
+		}
+
+		this.referee.updateGridSelf(this.AIBoard); // Updates the AI's "self" grid
+		return false;
+	}
+
+	/**
+	 * Starts choosing the AI's shots for this round on a background thread.
+	 * See <code>Referee.think(int)</code>.
+	 *
+	 * @return the future of the tile indices to fire at.
+	 *
+	 * @throws IllegalStateException if it isn't a firing round.
+	 */
+	public CompletableFuture<int[]> think() {
+		this.checkFiring();
+		return this.referee.think(this.getAIShots());
+	}
+
+	/**
+	 * Chooses the AI's shots for this round with the fallback AI, abandoning the AI's move.
+	 * See <code>Referee.fallBack(int)</code>.
+	 *
+	 * @return the tile indices to fire at.
+	 *
+	 * @throws IllegalStateException if it isn't a firing round.
+	 */
+	public int[] fallBack() {
+		this.checkFiring();
+
+		int abandoned = this.referee.getAbandonedMoves();
+		int[] cells = this.referee.fallBack(this.getAIShots());
+		this.checkAbandoned(abandoned);
+		return cells;
+	}
+
+	/**
+	 * Chooses the AI's shots for this round, blocking until they're chosen.
+	 * See <code>Referee.fireCells(int)</code>.
+	 *
+	 * @return the tile indices to fire at.
+	 *
+	 * @throws IllegalStateException if it isn't a firing round.
+	 */
+	public int[] chooseAIShots() {
+		this.checkFiring();
+
+		int abandoned = this.referee.getAbandonedMoves();
+		int[] cells = this.referee.fireCells(this.getAIShots());
+		this.checkAbandoned(abandoned);
+		return cells;
+	}
+
+	/**
+	 * Tells the listeners if the AI's move was abandoned.
+	 *
+	 * @param abandoned The number of the AI's moves abandoned before this one.
+	 */
+	private void checkAbandoned(int abandoned) {
+		if (this.referee.getAbandonedMoves() != abandoned) {
+			for (Listener listener : this.listeners) {
+				listener.abandoned();
+			}
+		}
+	}
+
+	/**
+	 * Marks the AI's shots for this round, and updates the AI.
+	 * If the AI didn't win, the next round starts.
+	 *
+	 * @param cells The tile indices to fire at, as chosen by <code>think()</code>, <code>fallBack()</code> or
+	 *              <code>chooseAIShots()</code>.
+	 *
+	 * @return true if the AI won, else false.
+	 *
+	 * @throws IllegalStateException    if it isn't a firing round.
+	 * @throws IllegalArgumentException if the shots aren't valid, i.e., not <code>getAIShots()</code> distinct,
+	 *                                  unguessed tile indices.
+	 */
+	public boolean aiFires(int[] cells) {
+		this.checkFiring();
+		GameEngine.checkShots(this.PlayerBoard, this.getAIShots(), cells);
+
+		int[] shotsSunk = this.mark(false, cells);
+		this.referee.updateShotsSunk(shotsSunk);                   // Updates the AI's "critical" shots list. Only used by the Regular AI.
+		this.referee.updateShipsOpp(this.PlayerBoard.getShips());  // Updates the AI's Player's ship list. Only used by the Brutal AI.
+		this.referee.updateGridOpp(this.PlayerBoard);              // Updates the AI's hostile grid. Placed after cause of how the Regular AI works.
+
+		if (this.PlayerBoard.allSunk()) {                          // Checks if the AI won.
+			this.end(GameEngine.LOSE);
+			return true;
+		}
+
+		this.roundNo++;
+		return false;
+	}
+
+	/**
+	 * Checks a side's shots for this round.
+	 *
+	 * @param board    The board fired at.
+	 * @param expected The number of shots the side fires this round.
+	 * @param cells    The tile indices of the shots.
+	 *
+	 * @throws IllegalArgumentException if there aren't <code>expected</code> shots, or they aren't distinct,
+	 *                                  unguessed tile indices.
+	 */
+	private static void checkShots(Board board, int expected, int[] cells) {
+		if (cells.length != expected) {
+			throw new IllegalArgumentException("Expected " + expected + " shots, got " + cells.length);
+		}
+		for (int shot = 0; shot < cells.length; shot++) {
+			if ((cells[shot] < 0) || (cells[shot] >= board.cells) || !board.isUnguessed(cells[shot])) {
+				throw new IllegalArgumentException("Invalid shot: " + cells[shot]);
+			}
+			for (int other = 0; other < shot; other++) {
+				if (cells[other] == cells[shot]) {
+					throw new IllegalArgumentException("Repeated shot: " + cells[shot]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Ends the match as abandoned by the user, so that the listeners can finish up (e.g., a <code>ReplayLog</code>
+	 * closing its file). Does nothing if the match hasn't started yet, or has already ended.
+	 */
+	public void quit() {
+		if (this.roundNo > GameEngine.PLACE) {
+			this.end(GameEngine.ABANDONED);
+		}
+	}
+
+	/**
+	 * Plays a whole round: the user's shots, then the AI's, blocking until the AI has chosen them.
+	 *
+	 * @param cells The user's shots, as taken by <code>playerFires()</code>.
+	 *
+	 * @return true if the match ended, else false.
+	 */
+	public boolean playRound(int[] cells) {
+		return this.playerFires(cells) || this.aiFires(this.chooseAIShots());
+	}
+
+	/**
+	 * Marks a side's shots and updates its statistics.
+	 *
+	 * @param player true for the user's shots, false for the AI's.
+	 * @param cells  The tile indices of the shots.
+	 *
+	 * @return an integer array having the tile indices of the shots which sunk a ship.
+	 *         Unused elements are <code>Cell.NONE</code>.
+	 */
+	private int[] mark(boolean player, int[] cells) {
+		Board board = player ? this.AIBoard : this.PlayerBoard;
+		int[] stats = player ? this.PlayerStats : this.AIStats;
+		int[] shotsSunk = {Cell.NONE, Cell.NONE, Cell.NONE, Cell.NONE}; // Tiles of the shots which sunk a ship.
+		int sunk = 0;
+
+		for (int cell : cells) {                     // Marks the locations and updates statistics.
+			board.markShot(cell);
+			stats[0]++;
+
+			boolean hit = board.isHit(cell);
+			for (Listener listener : this.listeners) {
+				listener.shot(player, cell, hit);
+			}
+			if (!hit) {
+				continue;
+			}
+
+			stats[1]++;
+			Ship ship = board.getShip(cell);           // The ship that was hit.
+			ship.sectionHit(cell);                     // Marks the section as hit.
+			if (ship.isSunk()) {                       // Checks if the ship was sunk due to this shot.
+				if (sunk < shotsSunk.length) {
+					shotsSunk[sunk++] = cell;
+				}
+				for (Listener listener : this.listeners) {
+					listener.sunk(player, ship);
+				}
+
+				if (board.allSunk()) {                   // Checks if the match was won (allows 100% accuracy scores).
+					break;
+				}
+			}
+		}
+
+		return shotsSunk;
+	}
+
+	/**
+	 * Ends the match.
+	 *
+	 * @param status <code>GameEngine.WIN</code>, <code>GameEngine.LOSE</code>, or <code>GameEngine.ABANDONED</code>.
+	 */
+	private void end(int status) {
+		int rounds = this.roundNo;
+		this.status = status;
+		this.roundNo = GameEngine.END;
+
+		for (Listener listener : this.listeners) {
+			listener.ended(status, rounds);
+		}
+	}
+
+	/**
+	 * Reports a ship that wasn't placed.
+	 *
+	 * @param reason  The reason
+	 * @param section The section of the ship where the problem is, from '1' onwards. '0' if it isn't at a section.
+	 */
+	private void reject(Rejection reason, int section) {
+		for (Listener listener : this.listeners) {
+			listener.rejected(reason, section);
+		}
+	}
+
+	/**
+	 * Checks that the match is in the given round.
+	 *
+	 * @param round The round
+	 *
+	 * @throws IllegalStateException if it isn't.
+	 */
+	private void checkRound(int round) {
+		if (this.roundNo != round) {
+			throw new IllegalStateException("Not in round " + round + ": " + this.roundNo);
+		}
+	}
+
+	/**
+	 * Checks that the match is in a firing round.
+	 *
+	 * @throws IllegalStateException if it isn't.
+	 */
+	private void checkFiring() {
+		if (this.roundNo <= GameEngine.PLACE) {
+			throw new IllegalStateException("Not in a firing round: " + this.roundNo);
+		}
+	}
+
+	/**
+	 * A getter for the Initialization Variables.
+	 *
+	 * @return initVars Initialization Variables
+	 */
+	public boolean[] getInitVars() {
+		return this.initVars.clone();
+	}
+
+	/**
+	 * A getter for the Game Mode.
+	 *
+	 * @return mode "C" for Classic, "S" for Salvo.
+	 */
+	public String getMode() {
+		return this.mode;
+	}
+
+	/**
+	 * A getter for the length of the grid.
+	 *
+	 * @return gridSize the length of the grid.
+	 */
+	public int getGridSize() {
+		return this.gridSize;
+	}
+
+	/**
+	 * A getter for the number of ships in each fleet.
+	 *
+	 * @return shipNos the number of ships.
+	 */
+	public int getShipNos() {
+		return this.shipNos;
+	}
+
+	/**
+	 * A getter for the AI strategy.
+	 *
+	 * @return strategy the AI strategy.
+	 */
+	public Strategy getStrategy() {
+		return this.strategy;
+	}
+
+	/**
+	 * A getter for the AI's time budget.
+	 *
+	 * @return budget the time budget of each of the AI's moves, in milliseconds.
+	 */
+	public long getBudget() {
+		return this.budget;
+	}
+
+	/**
+	 * A getter for the seed of the match's random number generator.
+	 *
+	 * @return seed the seed.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * A getter for the Player's Board.
+	 *
+	 * @return PlayerBoard the user's grid.
+	 */
+	public Board getPlayerBoard() {
+		return this.PlayerBoard;
+	}
+
+	/**
+	 * A getter for the AI's Board.
+	 *
+	 * @return AIBoard the AI's grid. A placeholder without ships until the match starts.
+	 */
+	public Board getAIBoard() {
+		return this.AIBoard;
+	}
+
+	/**
+	 * A getter for the Player's Statistics.
+	 *
+	 * @return a copy of PlayerStats.
+	 */
+	public int[] getPlayerStats() {
+		return this.PlayerStats.clone();
+	}
+
+	/**
+	 * A getter for the AI's Statistics.
+	 *
+	 * @return a copy of AIStats.
+	 */
+	public int[] getAIStats() {
+		return this.AIStats.clone();
+	}
+
+	/**
+	 * A getter for the round counter.
+	 *
+	 * @return roundNo the current round, <code>GameEngine.PLACE</code> or <code>GameEngine.END</code>.
+	 */
+	public int getRound() {
+		return this.roundNo;
+	}
+
+	/**
+	 * A getter for the outcome of the match.
+	 *
+	 * @return status <code>GameEngine.WIN</code>, <code>GameEngine.LOSE</code>, <code>GameEngine.ABANDONED</code>, or
+	 *         <code>GameEngine.PLAYING</code>.
+	 */
+	public int getStatus() {
+		return this.status;
+	}
+
+}
@@ -0,0 +1,545 @@
+package game;
+
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Ship;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Records a match as a compact binary log, from which it can be replayed exactly.
+ *
+ * A ReplayLog listens to a <code>GameEngine</code>, and encodes each event on the engine's thread into a small buffer.
+ * The buffer is handed to a single background thread that appends it to the log file, at the end of each turn, so
+ * that the match is never held up by the disk. Failing to write the log is reported once, and never ends the match.
+ *
+ * The log is laid out as follows. Numbers are big-endian, and "varint" numbers are unsigned LEB128 (7 bits per byte,
+ * lowest first, with the high bit set on every byte but the last):
+ * <pre>
+ * int    Magic number, <code>ReplayLog.MAGIC</code>
+ * byte   Version, <code>ReplayLog.VERSION</code>
+ * byte   Initialization Variables. Bit i is set if Initialization Variable i is true.
+ * byte   Game Mode, 'C' or 'S'
+ * byte   Length of the AI strategy's ID, followed by the ID in UTF-8
+ * long   Seed of the match's random number generator (<code>GameEngine.getSeed()</code>)
+ * For the Player's fleet, then the AI's, in fleet order:
+ *   varint (Tile index of the start of the ship &lt;&lt; 1) | (1 if vertical)
+ * For each shot, in the order they were fired:
+ *   varint (ZigZag(Tile index - Tile index of the side's previous shot) &lt;&lt; 1) | (1 if fired by the AI)
+ *          The previous shot is taken as '-1' for each side's 1st shot, so that no shot is encoded as '0'.
+ * varint '0', ending the shots
+ * byte   Outcome, <code>GameEngine.WIN</code>, <code>GameEngine.LOSE</code>, or <code>GameEngine.ABANDONED</code>
+ * </pre>
+ * Shots close to the side's previous shot, which is most of them once a ship is hit, take a single byte. A match
+ * abandoned with <code>GameEngine.quit()</code> still ends its log, so that every log can be read, and its file is
+ * closed.
+ *
+ * @author blackk100
+ */
+public final class ReplayLog implements GameEngine.Listener {
+
+	/**
+	 * Magic number starting a log ("JSRL").
+	 */
+	public static final int MAGIC = 0x4A53524C;
+
+	/**
+	 * Version of the log format.
+	 */
+	public static final byte VERSION = 1;
+
+	/**
+	 * File extension of the logs.
+	 */
+	public static final String EXTENSION = ".jsr";
+
+	/**
+	 * Background thread writing the logs. A daemon thread, so that it never keeps the application open.
+	 */
+	private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+		Thread thread = new Thread(task, "JShip Replay");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * The match being recorded.
+	 */
+	private final GameEngine engine;
+
+	/**
+	 * The log file.
+	 */
+	private final Path path;
+
+	/**
+	 * The events encoded since the last hand-off to the writer thread.
+	 */
+	private byte[] buffer = new byte[64];
+
+	/**
+	 * The number of bytes used in <code>this.buffer</code>.
+	 */
+	private int size = 0;
+
+	/**
+	 * The tile index of the previous shot of the user (index 0) and the AI (index 1).
+	 */
+	private final int[] previous = {Cell.NONE, Cell.NONE};
+
+	/**
+	 * Whether or not the latest shot was fired by the AI.
+	 */
+	private boolean aiTurn = false;
+
+	/**
+	 * The log file, once it has been opened. Only used by the writer thread.
+	 */
+	private FileChannel channel;
+
+	/**
+	 * Whether or not writing the log failed. Only used by the writer thread.
+	 */
+	private boolean failed = false;
+
+	/**
+	 * Constructor for the ReplayLog class.
+	 *
+	 * @param engine The match to record
+	 * @param path   The log file. Must not exist yet.
+	 */
+	public ReplayLog(GameEngine engine, Path path) {
+		this.engine = engine;
+		this.path = path;
+	}
+
+	/**
+	 * Starts recording a match into a new log file in the given directory, named after the time it was created.
+	 * Must be called before the match starts.
+	 *
+	 * @param engine    The match to record
+	 * @param directory The directory of the logs. Created if needed.
+	 *
+	 * @return the log.
+	 */
+	public static ReplayLog record(GameEngine engine, Path directory) {
+		ReplayLog log = new ReplayLog(engine, directory.resolve("replay-" + System.currentTimeMillis() + "-" + System.identityHashCode(engine) + ReplayLog.EXTENSION));
+		engine.addListener(log);
+		return log;
+	}
+
+	/**
+	 * Returns the default directory of the logs: the <code>jship.replays</code> system property if it's set, or else
+	 * <code>.jship/replays</code> in the user's home directory.
+	 *
+	 * @return the directory.
+	 */
+	public static Path directory() {
+		String directory = System.getProperty("jship.replays");
+		return (directory != null) ? Paths.get(directory) : Paths.get(System.getProperty("user.home"), ".jship", "replays");
+	}
+
+	/**
+	 * A getter for the log file.
+	 *
+	 * @return path the log file.
+	 */
+	public Path getPath() {
+		return this.path;
+	}
+
+	@Override
+	public void started() {
+		boolean[] initVars = this.engine.getInitVars();
+		int flags = 0;
+		for (int var = 0; var < initVars.length; var++) {
+			flags |= initVars[var] ? 1 << var : 0;
+		}
+		byte[] strategy = this.engine.getStrategy().id().getBytes(StandardCharsets.UTF_8);
+
+		this.writeInt(ReplayLog.MAGIC);
+		this.writeByte(ReplayLog.VERSION);
+		this.writeByte(flags);
+		this.writeByte(this.engine.getMode().charAt(0));
+		this.writeByte(strategy.length);
+		for (byte b : strategy) {
+			this.writeByte(b);
+		}
+		this.writeLong(this.engine.getSeed());
+
+		this.writeFleet(this.engine.getPlayerBoard());
+		this.writeFleet(this.engine.getAIBoard());
+		this.flush(false);
+	}
+
+	@Override
+	public void shot(boolean player, int cell, boolean hit) {
+		boolean ai = !player;
+		if (ai != this.aiTurn) { // The other side's turn ended.
+			this.flush(false);
+			this.aiTurn = ai;
+		}
+
+		int side = ai ? 1 : 0;
+		int delta = cell - this.previous[side];
+		this.previous[side] = cell;
+		this.writeVarint((((delta << 1) ^ (delta >> 31)) << 1) | side); // ZigZag, so that small negative deltas stay small.
+	}
+
+	@Override
+	public void ended(int status, int rounds) {
+		this.writeVarint(0);
+		this.writeByte(status);
+		this.flush(true);
+	}
+
+	/**
+	 * Encodes the placement of each ship of a fleet.
+	 *
+	 * @param board The board of the fleet
+	 */
+	private void writeFleet(Board board) {
+		for (Ship ship : board.getShips()) {
+			this.writeVarint((ship.getStartCell() << 1) | (ship.getDirection() ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Hands the events encoded so far to the writer thread.
+	 *
+	 * @param close true to close the log file once they're written, else false.
+	 */
+	private void flush(boolean close) {
+		byte[] chunk = Arrays.copyOf(this.buffer, this.size);
+		this.size = 0;
+		ReplayLog.WRITER.execute(() -> this.append(chunk, close));
+	}
+
+	/**
+	 * Appends bytes to the log file, opening it on the first call. Runs on the writer thread.
+	 *
+	 * @param chunk The bytes
+	 * @param close true to close the log file afterwards, else false.
+	 */
+	private void append(byte[] chunk, boolean close) {
+		if (this.failed) {
+			return;
+		}
+
+		try {
+			if (this.channel == null) {
+				Files.createDirectories(this.path.getParent());
+				this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			}
+
+			ByteBuffer bytes = ByteBuffer.wrap(chunk);
+			while (bytes.hasRemaining()) {
+				this.channel.write(bytes);
+			}
+			if (close) {
+				this.channel.close();
+			}
+		} catch (IOException e) {
+			System.err.println("Replay not recorded: " + e);
+			this.failed = true;
+			try {
+				if (this.channel != null) {
+					this.channel.close();
+				}
+			} catch (IOException ignored) { // Already reported.
+			}
+		}
+	}
+
+	/**
+	 * Encodes a byte.
+	 *
+	 * @param value The byte, in the lowest 8 bits.
+	 */
+	private void writeByte(int value) {
+		if (this.size == this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, 2 * this.buffer.length);
+		}
+		this.buffer[this.size++] = (byte) value;
+	}
+
+	/**
+	 * Encodes an int, big-endian.
+	 *
+	 * @param value The int
+	 */
+	private void writeInt(int value) {
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			this.writeByte(value >>> shift);
+		}
+	}
+
+	/**
+	 * Encodes a long, big-endian.
+	 *
+	 * @param value The long
+	 */
+	private void writeLong(long value) {
+		this.writeInt((int) (value >>> 32));
+		this.writeInt((int) value);
+	}
+
+	/**
+	 * Encodes an unsigned varint.
+	 *
+	 * @param value The value, treated as unsigned.
+	 */
+	private void writeVarint(int value) {
+		while ((value & ~0x7F) != 0) {
+			this.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		this.writeByte(value);
+	}
+
+	/**
+	 * Reads a log.
+	 *
+	 * @param in The log. Read up to the end of the log, and not closed.
+	 *
+	 * @return the recorded match.
+	 *
+	 * @throws IOException if the log can't be read, is cut short, or isn't a log of this version.
+	 */
+	public static Replay read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if ((data.readInt() != ReplayLog.MAGIC) || (data.readByte() != ReplayLog.VERSION)) {
+			throw new IOException("Not a replay log of version " + ReplayLog.VERSION);
+		}
+
+		int flags = data.readUnsignedByte();
+		boolean[] initVars = new boolean[5];
+		for (int var = 0; var < initVars.length; var++) {
+			initVars[var] = (flags & (1 << var)) != 0;
+		}
+		String mode = Character.toString((char) data.readUnsignedByte());
+		byte[] strategy = new byte[data.readUnsignedByte()];
+		data.readFully(strategy);
+		long seed = data.readLong();
+
+		int ships = Board.shipLengths(initVars).length;
+		int[][] fleets = new int[2][ships];
+		boolean[][] directions = new boolean[2][ships];
+		for (int side = 0; side < 2; side++) {
+			for (int ship = 0; ship < ships; ship++) {
+				int placement = ReplayLog.readVarint(data);
+				fleets[side][ship] = placement >>> 1;
+				directions[side][ship] = (placement & 1) != 0;
+			}
+		}
+
+		int[] cells = new int[64];
+		boolean[] ai = new boolean[64];
+		int shots = 0;
+		int[] previous = {Cell.NONE, Cell.NONE};
+		for (int shot = ReplayLog.readVarint(data); shot != 0; shot = ReplayLog.readVarint(data)) {
+			if (shots == cells.length) {
+				cells = Arrays.copyOf(cells, 2 * shots);
+				ai = Arrays.copyOf(ai, 2 * shots);
+			}
+
+			int side = shot & 1;
+			int zigzag = shot >>> 1;
+			previous[side] += (zigzag >>> 1) ^ -(zigzag & 1);
+			cells[shots] = previous[side];
+			ai[shots++] = side == 1;
+		}
+		int status = data.readUnsignedByte();
+
+		return new Replay(initVars, mode, new String(strategy, StandardCharsets.UTF_8), seed, fleets, directions, Arrays.copyOf(cells, shots), Arrays.copyOf(ai, shots), status);
+	}
+
+	/**
+	 * Reads an unsigned varint.
+	 *
+	 * @param data The log
+	 *
+	 * @return the value.
+	 *
+	 * @throws IOException if the log can't be read, or is cut short.
+	 */
+	private static int readVarint(DataInputStream data) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = data.read();
+			if (b == -1) {
+				throw new EOFException("Replay log cut short");
+			}
+
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Malformed varint");
+	}
+
+	/**
+	 * Prints a log as text.
+	 *
+	 * @param args The path of the log.
+	 *
+	 * @throws IOException if the log can't be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: java game.ReplayLog <replay" + ReplayLog.EXTENSION + ">");
+			System.exit(1);
+			return;
+		}
+
+		Replay replay;
+		try (InputStream in = Files.newInputStream(Paths.get(args[0]))) {
+			replay = ReplayLog.read(in);
+		}
+		System.out.println(replay);
+	}
+
+	/**
+	 * A match read back from a log.
+	 */
+	public static final class Replay {
+
+		/**
+		 * Initialization Variables
+		 */
+		public final boolean[] initVars;
+
+		/**
+		 * Game Mode
+		 */
+		public final String mode;
+
+		/**
+		 * The ID of the AI strategy.
+		 */
+		public final String strategy;
+
+		/**
+		 * Seed of the match's random number generator.
+		 */
+		public final long seed;
+
+		/**
+		 * The tile index of the start of each ship of the user (index 0) and the AI (index 1), in fleet order.
+		 */
+		public final int[][] fleets;
+
+		/**
+		 * The orientation of each ship of the user (index 0) and the AI (index 1). true: Vertical ; false: Horizontal
+		 */
+		public final boolean[][] directions;
+
+		/**
+		 * The tile index of each shot, in the order they were fired.
+		 */
+		public final int[] cells;
+
+		/**
+		 * Whether each shot was fired by the AI.
+		 */
+		public final boolean[] ai;
+
+		/**
+		 * The outcome, <code>GameEngine.WIN</code>, <code>GameEngine.LOSE</code>, or <code>GameEngine.ABANDONED</code>.
+		 */
+		public final int status;
+
+		/**
+		 * Constructor for the Replay class.
+		 *
+		 * @param initVars   Initialization Variables
+		 * @param mode       Game Mode
+		 * @param strategy   The ID of the AI strategy.
+		 * @param seed       Seed of the match's random number generator.
+		 * @param fleets     The tile index of the start of each ship of each side.
+		 * @param directions The orientation of each ship of each side.
+		 * @param cells      The tile index of each shot.
+		 * @param ai         Whether each shot was fired by the AI.
+		 * @param status     The outcome
+		 */
+		Replay(boolean[] initVars, String mode, String strategy, long seed, int[][] fleets, boolean[][] directions, int[] cells, boolean[] ai, int status) {
+			this.initVars = initVars;
+			this.mode = mode;
+			this.strategy = strategy;
+			this.seed = seed;
+			this.fleets = fleets;
+			this.directions = directions;
+			this.cells = cells;
+			this.ai = ai;
+			this.status = status;
+		}
+
+		/**
+		 * Places a side's fleet on a new board, as it was in the match.
+		 *
+		 * @param ai false for the user's fleet, true for the AI's.
+		 *
+		 * @return the board.
+		 */
+		public Board board(boolean ai) {
+			int side = ai ? 1 : 0;
+			Board board = new Board(this.initVars);
+			Ship[] ships = board.getShips();
+			for (int ship = 0; ship < ships.length; ship++) {
+				ships[ship].add(this.fleets[side][ship], this.directions[side][ship]);
+			}
+
+			return board;
+		}
+
+		@Override
+		public String toString() {
+			int gridSize = this.initVars[0] ? 15 : 10;
+			StringBuilder text = new StringBuilder();
+			text.append("Grid: ").append(gridSize).append(" x ").append(gridSize);
+			text.append(", Ships: ").append(Arrays.toString(Board.shipLengths(this.initVars)));
+			text.append(", Mode: ").append(this.mode.equals("C") ? "Classic" : "Salvo");
+			text.append(", AI: ").append(this.strategy);
+			text.append(", Seed: ").append(this.seed).append('\n');
+
+			for (int side = 0; side < 2; side++) {
+				text.append((side == 0) ? "Player's fleet:" : "AI's fleet:    ");
+				for (int ship = 0; ship < this.fleets[side].length; ship++) {
+					text.append(' ').append(Cell.x(this.fleets[side][ship], gridSize)).append(',').append(Cell.y(this.fleets[side][ship], gridSize));
+					text.append(this.directions[side][ship] ? 'V' : 'H');
+				}
+				text.append('\n');
+			}
+
+			Board[] boards = {this.board(true), this.board(false)}; // The boards each side fires at.
+			for (int shot = 0; shot < this.cells.length; shot++) {
+				if ((shot == 0) || (this.ai[shot] != this.ai[shot - 1])) {
+					text.append((shot == 0) ? "" : "\n").append(this.ai[shot] ? "AI:    " : "Player:");
+				}
+				Board board = boards[this.ai[shot] ? 1 : 0];
+				text.append(' ').append(Cell.x(this.cells[shot], gridSize)).append(',').append(Cell.y(this.cells[shot], gridSize));
+				text.append(board.hasShip(this.cells[shot]) ? '*' : '.');
+			}
+			text.append('\n').append((this.status == GameEngine.WIN) ? "Player won" : (this.status == GameEngine.LOSE) ? "AI won" : "Abandoned");
+
+			return text.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,561 @@
+package game;
+
+import game.ai.AI;
+import game.ai.Referee;
+import game.ai.Strategies;
+import game.ai.Strategy;
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Ship;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Command-line batch mode playing AI strategies against each other, for calibrating the difficulty levels.
+ *
+ * Every ordered pair of the chosen strategies plays the given number of matches in every chosen configuration (grid
+ * size, fleet, and game mode). Seat 'A' takes the user's side of a <code>GameEngine</code>, firing first, and seat 'B'
+ * the AI's side. The matches are spread across a work-stealing pool, and each configuration reports:
+ * <pre>
+ * Matches - Matches played
+ * A Wins  - Win rate of seat A
+ * Shots   - Mean, median and 90th percentile of the shots fired by the winner
+ * Rounds  - Mean, median and 90th percentile of the rounds played
+ * </pre>
+ * The results are tab-separated. With <code>-distribution</code>, each configuration is followed by the number of
+ * matches that lasted each number of rounds.
+ *
+ * Each match is seeded from a random number generator seeded by <code>-seed</code>, split per task, so the same options
+ * play the same matches however the pool spreads them. Runs are only fully reproducible without a time budget, since
+ * a move cut short by its budget depends on the machine.
+ *
+ * Usage: <code>java game.Tournament [options]</code>
+ * <pre>
+ * -games N          Matches per pairing and configuration. Default 100.
+ * -strategies S,R   IDs of the strategies to pair up. Default all registered strategies.
+ * -grids 10,15      Grid sizes. Default both.
+ * -fleets 15        Fleets, as bitmasks of the ship types (1 Battleship, 2 Cruiser, 4 Destroyer, 8 Corvette).
+ *                   Default all 15.
+ * -modes C,S        Game modes. Default both.
+ * -budget MS        Time budget of each move, in milliseconds. Default unlimited.
+ * -threads N        Threads playing the matches. Default the number of cores.
+ * -seed N           Seed of the random number generator. Default drawn at random.
+ * -distribution     Also prints the distribution of the rounds played.
+ * </pre>
+ *
+ * @author blackk100
+ */
+public final class Tournament {
+
+	/**
+	 * Number of matches played by a single task, before the range of matches is split.
+	 */
+	private static final int BATCH = 4;
+
+	/**
+	 * Private constructor. This class only has static members.
+	 */
+	private Tournament() {
+	}
+
+	/**
+	 * Runs the tournament.
+	 *
+	 * @param args The options. See the class description.
+	 */
+	public static void main(String[] args) {
+		int games = 100;
+		List<Strategy> strategies = Strategies.all();
+		int[] grids = {10, 15};
+		int[] fleets = new int[15];
+		for (int fleet = 0; fleet < fleets.length; fleet++) {
+			fleets[fleet] = fleet + 1;
+		}
+		String[] modes = {"C", "S"};
+		long budget = Referee.UNLIMITED;
+		int threads = Runtime.getRuntime().availableProcessors();
+		long seed = new SplittableRandom().nextLong();
+		boolean distribution = false;
+
+		try {
+			for (int arg = 0; arg < args.length; arg++) {
+				switch (args[arg]) {
+					case "-games":
+						games = Integer.parseInt(args[++arg]);
+						break;
+					case "-strategies":
+						strategies = new ArrayList<>();
+						for (String id : args[++arg].split(",")) {
+							strategies.add(Strategies.get(id));
+						}
+						break;
+					case "-grids":
+						grids = Tournament.parseInts(args[++arg]);
+						break;
+					case "-fleets":
+						fleets = Tournament.parseInts(args[++arg]);
+						break;
+					case "-modes":
+						modes = args[++arg].split(",");
+						break;
+					case "-budget":
+						budget = Long.parseLong(args[++arg]);
+						break;
+					case "-threads":
+						threads = Integer.parseInt(args[++arg]);
+						break;
+					case "-seed":
+						seed = Long.parseLong(args[++arg]);
+						break;
+					case "-distribution":
+						distribution = true;
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown option: " + args[arg]);
+				}
+			}
+			for (int grid : grids) {
+				if ((grid != 10) && (grid != 15)) {
+					throw new IllegalArgumentException("Invalid grid size: " + grid);
+				}
+			}
+			for (int fleet : fleets) {
+				if ((fleet < 1) || (fleet > 15)) {
+					throw new IllegalArgumentException("Invalid fleet: " + fleet);
+				}
+			}
+			for (String mode : modes) {
+				if (!mode.equals("C") && !mode.equals("S")) {
+					throw new IllegalArgumentException("Invalid game mode: " + mode);
+				}
+			}
+			if ((games < 1) || (threads < 1) || (budget < 0)) {
+				throw new IllegalArgumentException("Counts must be positive");
+			}
+		} catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) { // Includes NumberFormatException
+			System.err.println((e instanceof ArrayIndexOutOfBoundsException) ? "Missing option value" : e.getMessage());
+			System.err.println("Usage: java game.Tournament [-games N] [-strategies S,R,B] [-grids 10,15] [-fleets 1,...,15] [-modes C,S] [-budget MS] [-threads N] [-seed N] [-distribution]");
+			System.exit(1);
+			return;
+		}
+
+		List<Batch> batches = new ArrayList<>();
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int grid : grids) {
+			for (int fleet : fleets) {
+				boolean[] initVars = {grid == 15, (fleet & 1) != 0, (fleet & 2) != 0, (fleet & 4) != 0, (fleet & 8) != 0};
+				for (String mode : modes) {
+					for (Strategy a : strategies) {
+						for (Strategy b : strategies) {
+							batches.add(new Batch(new Pairing(initVars, mode, a, b, budget), 0, games, random.split()));
+						}
+					}
+				}
+			}
+		}
+
+		System.out.println("# Seed " + seed + ", " + games + " matches per line, " + threads + " threads");
+		System.out.println("Grid\tFleet\tMode\tA\tB\tMatches\tA Wins\tShots Mean\tShots Median\tShots P90\tRounds Mean\tRounds Median\tRounds P90");
+
+		long start = System.nanoTime();
+		long matches = 0;
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			for (Batch batch : batches) {
+				pool.execute(batch); // Queued up front, so that idle threads can steal from any pairing.
+			}
+			for (Batch batch : batches) {
+				Results results = batch.join();
+				Pairing pairing = batch.pairing;
+				System.out.println(pairing + "\t" + results);
+				if (distribution) {
+					System.out.println("#\tRounds\t" + results.distribution());
+				}
+				matches += results.matches;
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format(Locale.ROOT, "# %d matches in %.1f s (%.0f matches/s)", matches, seconds, matches / seconds));
+	}
+
+	/**
+	 * Parses a comma-separated list of integers.
+	 *
+	 * @param list The list
+	 *
+	 * @return the integers.
+	 *
+	 * @throws NumberFormatException if an entry isn't an integer.
+	 */
+	private static int[] parseInts(String list) {
+		String[] entries = list.split(",");
+		int[] values = new int[entries.length];
+		for (int entry = 0; entry < entries.length; entry++) {
+			values[entry] = Integer.parseInt(entries[entry].trim());
+		}
+
+		return values;
+	}
+
+	/**
+	 * Plays a match.
+	 *
+	 * @param pairing The configuration and strategies
+	 * @param random  Random number generator
+	 * @param results The results receiving the outcome.
+	 */
+	static void play(Pairing pairing, SplittableRandom random, Results results) {
+		GameEngine engine = new GameEngine(pairing.initVars, pairing.mode, pairing.b, pairing.budget, random.nextLong());
+		Seat seat = new Seat();
+		engine.addListener(seat);
+
+		engine.placeFleet();
+		engine.start();
+
+		Board PlayerBoard = engine.getPlayerBoard();
+		Board AIBoard = engine.getAIBoard();
+		AI a = pairing.a.create(pairing.initVars, AIBoard, random.split());
+		a.updateGridSelf(PlayerBoard);
+		a.updateShipsSelf(PlayerBoard.getShips());
+		Referee referee = new Referee(a, Strategies.fallback().create(pairing.initVars, AIBoard, random.split()), pairing.budget);
+
+		while (engine.getRound() != GameEngine.END) {
+			Arrays.fill(seat.shotsSunk, Cell.NONE);
+			seat.sunk = 0;
+			if (engine.playerFires(referee.fireCells(engine.getPlayerShots()))) {
+				break;
+			}
+
+			referee.updateShotsSunk(seat.shotsSunk.clone()); // Fed to seat A the way GameEngine feeds seat B.
+			referee.updateShipsOpp(AIBoard.getShips());
+			referee.updateGridOpp(AIBoard);
+			if (engine.aiFires(engine.chooseAIShots())) {
+				break;
+			}
+			referee.updateGridSelf(PlayerBoard);
+		}
+
+		boolean won = engine.getStatus() == GameEngine.WIN;
+		results.add(won, (won ? engine.getPlayerStats() : engine.getAIStats())[0], seat.rounds);
+	}
+
+	/**
+	 * A configuration, and the strategies of both seats.
+	 */
+	static final class Pairing {
+
+		/**
+		 * Initialization Variables
+		 */
+		final boolean[] initVars;
+
+		/**
+		 * Game Mode
+		 */
+		final String mode;
+
+		/**
+		 * The strategy of seat A, firing first.
+		 */
+		final Strategy a;
+
+		/**
+		 * The strategy of seat B.
+		 */
+		final Strategy b;
+
+		/**
+		 * The time budget of each move, in milliseconds, or <code>Referee.UNLIMITED</code>.
+		 */
+		final long budget;
+
+		/**
+		 * Constructor for the Pairing class.
+		 *
+		 * @param initVars Initialization Variables
+		 * @param mode     Game Mode
+		 * @param a        The strategy of seat A, firing first.
+		 * @param b        The strategy of seat B.
+		 * @param budget   The time budget of each move, in milliseconds, or <code>Referee.UNLIMITED</code>.
+		 */
+		Pairing(boolean[] initVars, String mode, Strategy a, Strategy b, long budget) {
+			this.initVars = initVars;
+			this.mode = mode;
+			this.a = a;
+			this.b = b;
+			this.budget = budget;
+		}
+
+		@Override
+		public String toString() {
+			int fleet = 0;
+			for (int type = 1; type < 5; type++) {
+				if (this.initVars[type]) {
+					fleet |= 1 << (type - 1);
+				}
+			}
+
+			return (this.initVars[0] ? 15 : 10) + "\t" + fleet + "\t" + this.mode + "\t" + this.a.id() + "\t" + this.b.id();
+		}
+
+	}
+
+	/**
+	 * The outcomes of the matches of a pairing.
+	 */
+	static final class Results {
+
+		/**
+		 * Number of matches played.
+		 */
+		long matches;
+
+		/**
+		 * Number of matches won by seat A.
+		 */
+		long wins;
+
+		/**
+		 * Number of matches won with each number of shots.
+		 */
+		final long[] shots;
+
+		/**
+		 * Number of matches lasting each number of rounds.
+		 */
+		final long[] rounds;
+
+		/**
+		 * Constructor for the Results class.
+		 *
+		 * @param cells The number of tiles of the grid, which bounds both the shots and the rounds.
+		 */
+		Results(int cells) {
+			this.shots = new long[cells + 1];
+			this.rounds = new long[cells + 1];
+		}
+
+		/**
+		 * Adds the outcome of a match.
+		 *
+		 * @param won    true if seat A won, else false.
+		 * @param shots  The number of shots fired by the winner.
+		 * @param rounds The number of rounds played.
+		 */
+		void add(boolean won, int shots, int rounds) {
+			this.matches++;
+			if (won) {
+				this.wins++;
+			}
+			this.shots[shots]++;
+			this.rounds[rounds]++;
+		}
+
+		/**
+		 * Adds the outcomes of other matches of the same pairing.
+		 *
+		 * @param other The results of the other matches.
+		 */
+		void merge(Results other) {
+			this.matches += other.matches;
+			this.wins += other.wins;
+			for (int count = 0; count < this.shots.length; count++) {
+				this.shots[count] += other.shots[count];
+				this.rounds[count] += other.rounds[count];
+			}
+		}
+
+		/**
+		 * Lists the number of matches lasting each number of rounds, from the shortest to the longest match.
+		 *
+		 * @return the tab-separated list of "rounds:matches" entries.
+		 */
+		String distribution() {
+			StringBuilder list = new StringBuilder();
+			for (int round = 0; round < this.rounds.length; round++) {
+				if (this.rounds[round] != 0) {
+					list.append((list.length() == 0) ? "" : "\t").append(round).append(':').append(this.rounds[round]);
+				}
+			}
+
+			return list.toString();
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%d\t%.2f %%\t%.2f\t%d\t%d\t%.2f\t%d\t%d", this.matches, this.wins * 100.0 / this.matches,
+					Results.mean(this.shots), Results.quantile(this.shots, 0.5), Results.quantile(this.shots, 0.9),
+					Results.mean(this.rounds), Results.quantile(this.rounds, 0.5), Results.quantile(this.rounds, 0.9));
+		}
+
+		/**
+		 * Finds the mean of a histogram.
+		 *
+		 * @param histogram The number of matches with each value
+		 *
+		 * @return the mean value.
+		 */
+		private static double mean(long[] histogram) {
+			long total = 0;
+			long sum = 0;
+			for (int value = 0; value < histogram.length; value++) {
+				total += histogram[value];
+				sum += value * histogram[value];
+			}
+
+			return (double) sum / total;
+		}
+
+		/**
+		 * Finds a quantile of a histogram.
+		 *
+		 * @param histogram The number of matches with each value
+		 * @param quantile  The quantile, from '0' to '1'.
+		 *
+		 * @return the smallest value that at least the given fraction of the matches don't exceed.
+		 */
+		private static int quantile(long[] histogram, double quantile) {
+			long total = 0;
+			for (long count : histogram) {
+				total += count;
+			}
+
+			long seen = 0;
+			for (int value = 0; value < histogram.length; value++) {
+				seen += histogram[value];
+				if (seen >= quantile * total) {
+					return value;
+				}
+			}
+
+			return histogram.length - 1;
+		}
+
+	}
+
+	/**
+	 * Listens to a match for seat A: tracks which of its shots sunk a ship, and how many rounds were played.
+	 */
+	private static final class Seat implements GameEngine.Listener {
+
+		/**
+		 * The tile indices of seat A's shots this round which sunk a ship. Unused elements are <code>Cell.NONE</code>.
+		 */
+		final int[] shotsSunk = {Cell.NONE, Cell.NONE, Cell.NONE, Cell.NONE};
+
+		/**
+		 * The number of entries of <code>shotsSunk</code> used.
+		 */
+		int sunk;
+
+		/**
+		 * The tile index of seat A's latest shot.
+		 */
+		private int last = Cell.NONE;
+
+		/**
+		 * The number of rounds played, once the match ends.
+		 */
+		int rounds;
+
+		@Override
+		public void shot(boolean player, int cell, boolean hit) {
+			if (player) {
+				this.last = cell;
+			}
+		}
+
+		@Override
+		public void sunk(boolean player, Ship ship) {
+			if (player && (this.sunk < this.shotsSunk.length)) { // Reported right after the shot which sunk it.
+				this.shotsSunk[this.sunk++] = this.last;
+			}
+		}
+
+		@Override
+		public void ended(int status, int rounds) {
+			this.rounds = rounds;
+		}
+
+	}
+
+	/**
+	 * Fork/join task playing a range of matches of a pairing.
+	 * Each half of a split gets its own split of the random number generator, so the fleets drawn don't depend on
+	 * which thread plays which match.
+	 */
+	private static final class Batch extends RecursiveTask<Results> {
+
+		/**
+		 * Serial Version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The configuration and strategies.
+		 */
+		private final Pairing pairing;
+
+		/**
+		 * The 1st match to play.
+		 */
+		private final int from;
+
+		/**
+		 * The match after the last one to play.
+		 */
+		private final int to;
+
+		/**
+		 * Random number generator of this range.
+		 */
+		private final SplittableRandom random;
+
+		/**
+		 * Constructor for the Batch class.
+		 *
+		 * @param pairing The configuration and strategies
+		 * @param from    The 1st match to play.
+		 * @param to      The match after the last one to play.
+		 * @param random  Random number generator of this range.
+		 */
+		Batch(Pairing pairing, int from, int to, SplittableRandom random) {
+			this.pairing = pairing;
+			this.from = from;
+			this.to = to;
+			this.random = random;
+		}
+
+		@Override
+		protected Results compute() {
+			if (this.to - this.from <= Tournament.BATCH) {
+				int gridSize = this.pairing.initVars[0] ? 15 : 10;
+				Results results = new Results(gridSize * gridSize);
+				for (int match = this.from; match < this.to; match++) {
+					Tournament.play(this.pairing, this.random, results);
+				}
+
+				return results;
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+			Batch left = new Batch(this.pairing, this.from, middle, this.random.split());
+			Batch right = new Batch(this.pairing, middle, this.to, this.random);
+			left.fork();
+			Results results = right.compute();
+			results.merge(left.join());
+			return results;
+		}
+
+	}
+
+}
@@ -1,8 +1,11 @@
 package game.ai;
 
-import game.grid.Location;
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Placer;
 import game.grid.Ship;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 
 /**
@@ -18,14 +21,14 @@ import java.util.Random;
 public class AI {
 
 	/**
-	 * 2-Dimensional Location Grid representing the AI's grid
+	 * Board representing the AI's grid
 	 */
-	Location[][] gridSelf;
+	Board gridSelf;
 
 	/**
-	 * 2-Dimensional Location Grid representing the user's grid
+	 * Board representing the user's grid
 	 */
-	Location[][] gridOpp;
+	Board gridOpp;
 
 	/**
 	 * An array storing the ships of the AI.
@@ -68,58 +71,78 @@ public class AI {
 	boolean[] initVars;
 
 	/**
-	 * The coordinates of shots that sunk a ship.
+	 * The tile indices of shots that sunk a ship. Unused entries are <code>Cell.NONE</code>.
 	 * The maximum number of ships that can be sunk in 1 round when playing with all ships enabled is 4.
 	 * Only used by the Regular AI.
 	 */
-	int[][] shotsSunk = new int[4][2];
+	int[] shotsSunk = {Cell.NONE, Cell.NONE, Cell.NONE, Cell.NONE};
+
+	/**
+	 * Random number generator for all of the AI's decisions, including the placement of its fleet.
+	 */
+	final SplittableRandom random;
+
+	/**
+	 * Tiles of gridOpp that haven't been shot at, or chosen as a target, yet.
+	 * Null until the first shot is chosen.
+	 */
+	CellSet unguessed;
+
+	/**
+	 * Tiles of <code>unguessed</code> that don't share an edge with a hit. Random shots are drawn from here.
+	 * Null until the first shot is chosen.
+	 */
+	CellSet eligible;
+
+	/**
+	 * The number of entries of gridOpp's shot log that were already applied to <code>unguessed</code> and
+	 * <code>eligible</code>.
+	 */
+	private int synced;
+
+	/**
+	 * The <code>System.nanoTime()</code> by which the current move should be chosen, or <code>Long.MAX_VALUE</code>
+	 * if the move has no time budget.
+	 */
+	private volatile long deadline = Long.MAX_VALUE;
+
+	/**
+	 * Whether or not the current move was abandoned.
+	 */
+	private volatile boolean stopped = false;
+
+	/**
+	 * The opening shots of this game, from the <code>OpeningBook</code>. Only fired while every shot so far missed.
+	 * Null if the AI plays its own strategy from the start.
+	 */
+	int[] opening;
+
+	/**
+	 * The solver finishing the game once few layouts of the Player's fleet are left.
+	 * Null if the AI plays its own strategy to the end.
+	 */
+	Endgame endgame;
 
 	/**
 	 * Constructor for the AI.
 	 *
-	 * @param initVars Initialization VariablesW
-	 * @param gridOpp  Enemy's 2-Dimensional Location Grid
-	 * @param shipsOpp Enemy Ships
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy's Board
+	 * @param random   Random number generator for all of the AI's decisions. A seeded one makes the AI's play
+	 *                 reproducible, as long as its moves aren't cut short by a time budget.
+	 *
+	 * @throws IllegalStateException if the AI's fleet can't be placed on its grid.
 	 */
-	AI(boolean[] initVars, Location[][] gridOpp, Ship[] shipsOpp) {
+	protected AI(boolean[] initVars, Board gridOpp, SplittableRandom random) {
 		this.initVars = initVars;
+		this.random = random;
 		this.gridSize = initVars[0] ? 15 : 10;
 		this.gridOpp = gridOpp;
-		this.shipsOpp = shipsOpp;
+		this.shipsOpp = gridOpp.getShips();
 
-		this.gridSelf = new Location[this.gridSize][this.gridSize];
-		for (int y = 0; y < this.gridSize; y++) {
-			for (int x = 0; x < this.gridSize; x++) {
-				this.gridSelf[y][x] = new Location();
-			}
-		}
-
-		this.shipNos = (initVars[1] ? 1 : 0) + (initVars[2] ? 2 : 0) + (initVars[3] ? 2 : 0) + (initVars[4] ? 4 : 0);
-		int shipNo = 0;    // Temporary variable storing the ship number being initialized.
-		this.shipsSelf = new Ship[this.shipNos];
-		if (initVars[1]) { // Battleships
-			for (int i = shipNo; i < shipNo + 1; i++) {
-				this.shipsSelf[i] = new Ship(5);
-			}
-			shipNo += 1;
-		}
-		if (initVars[2]) { // Cruisers
-			for (int i = shipNo; i < shipNo + 2; i++) {
-				this.shipsSelf[i] = new Ship(4);
-			}
-			shipNo += 2;
-		}
-		if (initVars[3]) { // Destroyers
-			for (int i = shipNo; i < shipNo + 2; i++) {
-				this.shipsSelf[i] = new Ship(3);
-			}
-			shipNo += 2;
-		}
-		if (initVars[4]) { // Corvettes
-			for (int i = shipNo; i < shipNo + 4; i++) {
-				this.shipsSelf[i] = new Ship(2);
-			}
-		}
+		this.gridSelf = new Board(initVars);
+		this.shipsSelf = this.gridSelf.getShips();
+		this.shipNos = this.shipsSelf.length;
 
 		this.place();
 	}
@@ -127,18 +150,22 @@ public class AI {
 	/**
 	 * A setter for <code>this.gridSelf</code>.
 	 *
-	 * @param gridSelf Location Grid of the AI
+	 * @param gridSelf Board of the AI
 	 */
-	public void updateGridSelf(Location[][] gridSelf) {
+	public void updateGridSelf(Board gridSelf) {
 		this.gridSelf = gridSelf;
 	}
 
 	/**
 	 * A setter for <code>this.gridOpp</code>.
 	 *
-	 * @param gridOpp Location Grid of the Player
+	 * @param gridOpp Board of the Player
 	 */
-	public void updateGridOpp(Location[][] gridOpp) {
+	public void updateGridOpp(Board gridOpp) {
+		if (gridOpp != this.gridOpp) { // A different board. Rebuilds the tile sets on the next shot.
+			this.unguessed = null;
+			this.eligible = null;
+		}
 		this.gridOpp = gridOpp;
 	}
 
@@ -163,9 +190,9 @@ public class AI {
 	/**
 	 * A setter for <code>this.shotsSunk</code>.
 	 *
-	 * @param shotsSunk the coordinates of the shots that sunk a ship in the previous round
+	 * @param shotsSunk the tile indices of the shots that sunk a ship in the previous round
 	 */
-	public void updateShotsSunk(int[][] shotsSunk) {
+	public void updateShotsSunk(int[] shotsSunk) {
 		this.shotsSunk = shotsSunk;
 	}
 
@@ -174,7 +201,7 @@ public class AI {
 	 *
 	 * @return gridSelf Self Grid
 	 */
-	public Location[][] getGridSelf() {
+	public Board getGridSelf() {
 		return this.gridSelf;
 	}
 
@@ -188,96 +215,315 @@ public class AI {
 	}
 
 	/**
-	 * Placeholder function for the AI to fire at the player's ships.
+	 * Function for the AI to fire at the player's ships.
+	 * Adapter for <code>fireCells(int)</code>.
 	 *
 	 * @return A 1-Dimensional array storing the X- and Y-Coordinates.
-	 *         1st Integer is the Y-Coordinate. 2nd Integer is the X-Coordinate
+	 *         1st Integer is the X-Coordinate. 2nd Integer is the Y-Coordinate
 	 */
-	public int[] fire() {
-		return new int[] {-1, -1};
+	public final int[] fire() {
+		int[] cells = this.fireCells(1);
+		return Cell.toArray((cells.length == 0) ? Cell.NONE : cells[0], this.gridSize);
 	}
 
 	/**
-	 * Places ships in gridSelf.
+	 * Function for the AI to fire a Salvo at the player's ships.
+	 * Adapter for <code>fireCells(int)</code>.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return A 2-Dimensional array storing the X- and Y-Coordinates of each shot, as returned by <code>fire()</code>.
 	 */
-	private void place() {
-		int shipLength;
-		boolean direction;
-		Random random = new Random();
-		for (int i = 0; i < this.shipNos; i++) {
-			shipLength = this.shipsSelf[i].length;
-			direction = random.nextBoolean();
-			System.out.println("AI Ship no. " + i + ": " + shipLength + (direction ? " Vertical" : " Horizontal"));
-
-			int[] xy = this.random(shipLength); // Starting Coordinates
-
-			intersect:
-			while (true) {     // Checks for any intersections
-				for (int l = 0; l < shipLength; l++) {
-					// Checks if the ship will intersect any other ship
-					if (this.gridSelf[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)].hasShip()) {
-						System.out.println("AI - Ship exists at position: " + (l + 1));
-						xy = this.random(shipLength);
-						continue intersect;
-					}
+	public final int[][] fire(int n) {
+		int[] cells = this.fireCells(n);
+		int[][] coordinates = new int[cells.length][];
+		for (int shot = 0; shot < cells.length; shot++) {
+			coordinates[shot] = Cell.toArray(cells[shot], this.gridSize);
+		}
 
-					// Checks if the ship will border any other ship
-					if (this.gridSelf[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)].isBorder()) {
-						System.out.println("AI - Bordering another ship at position: " + (l + 1));
-						xy = this.random(shipLength);
-						continue intersect;
-					}
+		return coordinates;
+	}
+
+	/**
+	 * Placeholder function for the AI to fire at the player's ships.
+	 *
+	 * @return the tile index to fire at, or <code>Cell.NONE</code>.
+	 */
+	public int fireCell() {
+		return Cell.NONE;
+	}
+
+	/**
+	 * Function for the AI to fire a Salvo at the player's ships.
+	 *
+	 * Takes the Salvo from <code>this.opening</code> while the game follows it, leaves it to <code>this.endgame</code>
+	 * once that applies, and to <code>chooseCells(int)</code> otherwise.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the distinct tile indices to fire at. Shorter than <code>n</code> if every tile was already chosen.
+	 */
+	public final int[] fireCells(int n) {
+		if (this.opening != null) {
+			int[] cells = this.fireOpening(n);
+			if (cells != null) {
+				return cells;
+			}
+		}
+		if (this.endgame != null) {
+			int[] cells = this.endgame.fireCells(n);
+			if (cells != null) {
+				return cells;
+			}
+		}
+
+		return this.chooseCells(n);
+	}
+
+	/**
+	 * Takes the next shots of <code>this.opening</code>, and reserves them.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the tile indices to fire at, or null if the game left the opening, or the opening is too short.
+	 */
+	private int[] fireOpening(int n) {
+		int shots = this.gridOpp.getShots();
+		if (shots + n > this.opening.length) {
+			return null;
+		}
+		for (int shot = 0; shot < shots; shot++) { // Every shot so far must be a miss of the opening.
+			if (!this.gridOpp.isMiss(this.opening[shot])) {
+				return null;
+			}
+		}
+
+		this.sync();
+		int[] cells = Arrays.copyOfRange(this.opening, shots, shots + n);
+		for (int cell : cells) {
+			this.reserve(cell);
+		}
+
+		return cells;
+	}
+
+	/**
+	 * Chooses a Salvo using the AI's own strategy.
+	 *
+	 * Calls <code>fireCell()</code> once per shot. Overridden by AIs that can choose every shot in a single pass.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the distinct tile indices to fire at. Shorter than <code>n</code> if every tile was already chosen.
+	 */
+	protected int[] chooseCells(int n) {
+		int[] cells = new int[n];
+		int shots = 0;
+		while (shots < n) {
+			int cell = this.fireCell();
+			if (cell == Cell.NONE) { // Every tile was already chosen.
+				break;
+			}
+			cells[shots++] = cell;
+		}
+
+		return (shots == n) ? cells : Arrays.copyOf(cells, shots);
+	}
+
+	/**
+	 * Chooses the unguessed tiles with the highest scores, and reserves them.
+	 *
+	 * Each shot takes the highest-scoring tile not chosen yet, breaking ties (pseudo-)randomly. Once no tile with a
+	 * score above '0' is left, the remaining shots are drawn by <code>randomFire()</code>.
+	 *
+	 * @param n      The number of shots.
+	 * @param scores The score of every tile of gridOpp.
+	 *
+	 * @return the distinct tile indices to fire at. Shorter than <code>n</code> if every tile was already chosen.
+	 */
+	protected int[] fireBest(int n, long[] scores) {
+		this.sync();
+
+		int[] cells = new int[Math.min(n, this.unguessed.size())];
+		for (int shot = 0; shot < cells.length; shot++) {
+			int cell = Cell.NONE;
+			long best = 0; // Highest score so far
+			int ties = 0;  // Number of tiles having the highest score so far
+			for (int member = 0; member < this.unguessed.size(); member++) {
+				int tile = this.unguessed.get(member);
+				long score = scores[tile];
+
+				if (score > best) {
+					best = score;
+					cell = tile;
+					ties = 1;
+				} else if ((score == best) && (score > 0) && (this.random.nextInt(++ties) == 0)) {
+					cell = tile;
 				}
+			}
 
-				break intersect; // No intersections. Continue to placement.
+			if (cell == Cell.NONE) { // No tile scores above '0'.
+				cell = this.randomFire();
+			} else {
+				this.reserve(cell);
 			}
+			cells[shot] = cell;
+		}
 
-			// Sets the location values
-			for (int l = 0; l < shipLength; l++) {
-				this.gridSelf[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)].shipPresent();
+		return cells;
+	}
+
+	/**
+	 * Draws a (pseudo-)random tile to fire at, and reserves it.
+	 *
+	 * Tiles that share an edge with a hit are skipped, unless there aren't any other tiles left.
+	 *
+	 * @return the tile index to fire at, or <code>Cell.NONE</code> if every tile was already chosen.
+	 */
+	protected int randomFire() {
+		this.sync();
+
+		CellSet from = this.eligible.isEmpty() ? this.unguessed : this.eligible;
+		if (from.isEmpty()) {
+			return Cell.NONE;
+		}
+
+		int cell = from.random(this.random);
+		this.reserve(cell);
+		return cell;
+	}
 
-				// Sets the borders at the terminal positions of the ship.
-				if ((l == 0) && (xy[direction ? 1 : 0] != 0)) {                                                      // Checks if the 1st tile isn't at the edge of the Board
-					this.gridSelf[xy[1] - (direction ? 1 : 0)][xy[0] - (direction ? 0 : 1)].bordersShip();
-				} else if ((l == shipLength - 1) && (xy[direction ? 1 : 0] + shipLength - 1 != this.gridSize - 1)) { // Checks if the last tile isn't at the edge of the Board
-					this.gridSelf[xy[1] + (direction ? shipLength : 0)][xy[0] + (direction ? 0 : shipLength)].bordersShip();
+	/**
+	 * Removes a tile chosen as a target from the tile sets, so that it isn't chosen again in the same round (Salvo).
+	 *
+	 * @param cell The tile index
+	 */
+	protected void reserve(int cell) {
+		this.unguessed.remove(cell);
+		this.eligible.remove(cell);
+	}
+
+	/**
+	 * Brings <code>unguessed</code> and <code>eligible</code> up to date with gridOpp.
+	 * Builds them on the first call. After that, only the shots made since the last call are applied.
+	 */
+	void sync() {
+		if (this.unguessed == null) {
+			this.unguessed = new CellSet(this.gridOpp.cells);
+			this.eligible = new CellSet(this.gridOpp.cells);
+			for (int cell = 0; cell < this.gridOpp.cells; cell++) {
+				if (this.gridOpp.isUnguessed(cell)) {
+					this.unguessed.add(cell);
+					if (this.isEligible(cell)) {
+						this.eligible.add(cell);
+					}
 				}
-				// Sets the borders along the length of the ship
-				if (xy[direction ? 0 : 1] == 0) {                        // At the Top/Left edge
-					this.gridSelf[xy[1] + (direction ? l : 1)][xy[0] + (direction ? 1 : l)].bordersShip();
-				} else if (xy[direction ? 0 : 1] == this.gridSize - 1) { // At the Bottom/Right edge
-					this.gridSelf[xy[1] + (direction ? l : -1)][xy[0] + (direction ? -1 : l)].bordersShip();
-				} else {                                                 // Not at the edges
-					this.gridSelf[xy[1] + (direction ? l : -1)][xy[0] + (direction ? -1 : l)].bordersShip();
-					this.gridSelf[xy[1] + (direction ? l : 1)][xy[0] + (direction ? 1 : l)].bordersShip();
+			}
+			for (int cell = 0; cell < this.gridOpp.cells; cell++) {
+				if (this.gridOpp.isHit(cell)) {
+					this.removeNeighbours(cell);
 				}
 			}
-			this.shipsSelf[i].add(xy, direction);
-			System.out.println("Ship " + i + " placed");
+			this.synced = this.gridOpp.getShots();
+			return;
+		}
 
+		while (this.synced < this.gridOpp.getShots()) {
+			int cell = this.gridOpp.getShot(this.synced++);
+			this.reserve(cell);
+			if (this.gridOpp.isHit(cell)) {
+				this.removeNeighbours(cell);
+			}
 		}
+	}
 
-		System.out.println("All ships placed");
+	/**
+	 * Checks if a tile may be drawn by <code>randomFire()</code>, apart from sharing an edge with a hit.
+	 * Only checked when the tile sets are built.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true. Overridden by AIs that rule out more tiles.
+	 */
+	protected boolean isEligible(int cell) {
+		return true;
+	}
 
+	/**
+	 * Removes the tiles sharing an edge with the given tile from <code>eligible</code>.
+	 *
+	 * @param cell The tile index
+	 */
+	private void removeNeighbours(int cell) {
+		int x = Cell.x(cell, this.gridSize);
+		int y = Cell.y(cell, this.gridSize);
+
+		if (x > 0) {                   // Left
+			this.eligible.remove(cell - 1);
+		}
+		if (x < this.gridSize - 1) {   // Right
+			this.eligible.remove(cell + 1);
+		}
+		if (y > 0) {                   // Top
+			this.eligible.remove(cell - this.gridSize);
+		}
+		if (y < this.gridSize - 1) {   // Bottom
+			this.eligible.remove(cell + this.gridSize);
+		}
 	}
 
 	/**
-	 * (Psuedo-)Randomiser for the <code>place()</code> function
+	 * Starts the time budget of the next move.
 	 *
-	 * @param length Length of the Ship
+	 * @param budget The time budget, in nanoseconds.
+	 */
+	protected void startMove(long budget) {
+		this.stopped = false;
+		this.deadline = System.nanoTime() + budget;
+	}
+
+	/**
+	 * Asks the current move to stop as soon as it can. Its shots will be discarded.
+	 */
+	void stop() {
+		this.stopped = true;
+	}
+
+	/**
+	 * Checks if the current move ran out of time, or was abandoned.
+	 * Strategies declaring <code>Strategy.Capability.STOPPABLE</code> check this while searching.
 	 *
-	 * @return A 1-Dimensional array storing the X- and Y-Coordinates.
-	 *         1st Integer is the X-Coordinate. 2nd Integer is the Y-Coordinate
+	 * @return true if the move should be wrapped up, else false.
 	 */
-	private int[] random(int length) {
-		int[] out = new int[2];
-		Random rand = new Random();
+	protected boolean outOfTime() {
+		long deadline = this.deadline;
+		return this.stopped || ((deadline != Long.MAX_VALUE) && (System.nanoTime() - deadline >= 0));
+	}
 
-		for (int i = 0; i < 2; i++) {
-			out[i] = rand.nextInt(this.initVars[0] ? 16 - length : 11 - length);
-		}
+	/**
+	 * Makes the AI usable again after an abandoned move.
+	 * Tiles reserved by the abandoned move were never fired at, and it may have read gridOpp while the shots after it
+	 * were marked, so the tile sets are rebuilt on the next shot. AIs keeping other state drawn from gridOpp rebuild it
+	 * too.
+	 */
+	protected void recover() {
+		this.stopped = false;
+		this.deadline = Long.MAX_VALUE;
+		this.unguessed = null;
+		this.eligible = null;
+	}
 
-		return out;
+	/**
+	 * Places ships in gridSelf.
+	 *
+	 * Each ship is placed at a (pseudo-)random legal placement, backtracking if the remaining ships can't fit anymore.
+	 *
+	 * @throws IllegalStateException if the fleet can't be placed on the grid.
+	 */
+	private void place() {
+		if (!Placer.place(this.gridSelf, this.random)) {
+			throw new IllegalStateException("The fleet can't be placed on a " + this.gridSize + " x " + this.gridSize + " grid");
+		}
 	}
 
 }
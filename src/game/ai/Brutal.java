@@ -1,8 +1,10 @@
 package game.ai;
 
-import game.grid.Location;
+import game.grid.Board;
 import game.grid.Ship;
-import java.util.Random;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
 
 
 /**
@@ -24,28 +26,35 @@ public final class Brutal extends AI {
 	 *
 	 * @param initVars Initialization Variables
 	 * @param gridOpp  Enemy Grid
-	 * @param shipsOpp Enemy Ships
 	 */
-	public Brutal(boolean[] initVars, Location[][] gridOpp, Ship[] shipsOpp) {
-		super(initVars, gridOpp, shipsOpp);
+	public Brutal(boolean[] initVars, Board gridOpp) {
+		this(initVars, gridOpp, new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for the Brutal AI, with the given random number generator.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param random   Random number generator
+	 */
+	public Brutal(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+		super(initVars, gridOpp, random);
 	}
 
 	/**
 	 * A setter for gridSelf.
 	 * Also updates <code>this.hit</code>.
 	 *
-	 * @param gridSelf Location Grid of the AI
+	 * @param gridSelf Board of the AI
 	 */
 	@Override
-	public void updateGridSelf(Location[][] gridSelf) {
+	public void updateGridSelf(Board gridSelf) {
 		this.gridSelf = gridSelf;
-
-		for (int y = 0; y < gridSelf.length; y++) {
-			for (int x = 0; x < gridSelf.length; x++) {
-				if (gridSelf[y][x].isHit()) { // Checks if this location has a ship and was hit.
-					this.hit = true;
-				}
-			}
+		if (!this.hit && (gridSelf.getHits() > 0)) { // Checks if any ship part of the AI was hit.
+			this.hit = true;
+			this.unguessed = null;                     // Ship parts may be drawn from now on. Rebuilds the tile sets.
+			this.eligible = null;
 		}
 	}
 
@@ -66,125 +75,60 @@ public final class Brutal extends AI {
 	 *
 	 * The AI fires at random coordinates where no ships are located, until one of it's ship is hit,
 	 * or no more coordinates remain.
-	 * Then, the AI is guaranteed to hit a ship (however, these coordinates are selected randomly again).
+	 * Then, the AI fires at random coordinates, ship parts included.
 	 *
 	 * TODO: Make it slightly easier by randomizing whether the shot lands or not by weighing in
 	 * how many of the AI's ships aren't sunk.
 	 *
-	 * @return an integer array. The 1st value is the X-Coordinate. The 2nd value is the Y-Coordinate
+	 * @return the tile index to fire at.
+	 */
+	@Override
+	public int fireCell() {
+		return this.randomFire(); // Falls back to every unguessed tile once only ship parts are left.
+	}
+
+	/**
+	 * Ship parts are never drawn at random until one of the AI's ships is hit.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if the AI was hit or the tile doesn't have a ship part, else false.
 	 */
 	@Override
-	public int[] fire() {
-		int[] xy = this.randomFire();
+	protected boolean isEligible(int cell) {
+		return this.hit || !this.gridOpp.hasShip(cell);
+	}
 
-		int left = 0;
-		int occupied = 0;
-		for (int ship = 0; ship < this.shipNos; ship++) {
-			occupied += this.shipsOpp[ship].length;
+	/**
+	 * Registers the Brutal AI as the "B" strategy.
+	 */
+	public static final class Provider implements Strategy {
+
+		@Override
+		public String id() {
+			return "B";
 		}
-		for (int y = 0; y < this.gridSize; y++) {
-			for (int x = 0; x < this.gridSize; x++) {
-				if (this.gridOpp[y][x].isUnguessed()) {
-					left++;
-				}
-			}
+
+		@Override
+		public String name() {
+			return "Brutal";
 		}
 
-		if (left == occupied || this.hit) {          // Checks if there aren't anymore "black" tiles, or if any AI ship has been hit.
-			for (int s = this.shipNos; s <= 0; s--) {  // Starts from the largest ships 1st to decrease difficulty in Salvo. Figure out why the order is inverted.
-				Ship ship = this.shipsOpp[s];            // The current ship.
-				boolean direction = ship.getDirection(); // Direction
-				int length = ship.length;                // Length
-
-				if (!ship.isSunk()) {                    // Checks if the ship wasn't sunk.
-					for (int l = 0; l < length; l++) {
-						if (!ship.isHit(l)) {                // Checks if the current position wasn't already hit.
-							xy = new int[] {ship.getStart()[0] + (direction ? 0 : l), ship.getStart()[1] + (direction ? l : 0)};
-						}
-					}
-				}
-			}
-		} else {
-			while (this.gridOpp[xy[1]][xy[0]].hasShip()) { // Checks if xy isn't a ship part.
-				xy = this.randomFire();
-			}
+		@Override
+		public Set<Capability> capabilities() {
+			return EnumSet.of(Capability.PEEKS);
 		}
 
-		return xy;
-	}
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp) {
+			return new Brutal(initVars, gridOpp);
+		}
+
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+			return new Brutal(initVars, gridOpp, random);
+		}
 
-	/**
-	 * Support function 1 for the AI to fire at the player's ships.
-	 * The coordinates are always (psuedo-)randomly generated.
-	 *
-	 * Is identical to <code>Sandbox.fire()</code>.
-	 *
-	 * @return an integer array. The 1st value is the X-Coordinate, 2nd value is the Y-Coordinate.
-	 */
-	private int[] randomFire() {
-		int[] xy = new int[2];        // Firing coordinates.
-		int[] temp = new int[2];      // Temporary variable to store coordinates if xy refers to a guessed position.
-		Random random = new Random(); // Random data type generator (built-in class).
-
-		// If xy refers to a guessed coordinate, or a location that borders a ship tile that has been guessed, regenerate it.
-		do { // Do initializes xy.
-			for (int i = 0; i < 2; i++) {
-				temp[i] = random.nextInt(this.gridSize);
-			}
-			xy = temp;
-
-			if (!this.gridOpp[xy[1]][xy[0]].isUnguessed()) { // Checks if the current location has been guessed.
-				continue;
-			} else {                                         // Checks if the current location borders any known ship.
-				if ((xy[0] > 0) && (xy[0] < this.gridSize - 1) && (xy[1] > 0) && (xy[1] < this.gridSize - 1)) { // Not at edges
-					if (this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1]][xy[0] + 1].isHit()) {
-						continue;
-					}
-				} else {                                     // At the Edges
-					if (xy[1] == 0) {                          // Top edge
-						if (xy[0] == 0) {                        // Top-Left Corner
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else if (xy[0] == this.gridSize - 1) { // Top-Right Corner
-							if (this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else {                                 // Top Edge (excluding Corners)
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						}
-					} else if (xy[1] == this.gridSize - 1) {   // Bottom Edge
-						if (xy[0] == 0) {                        // Bottom-Left Corner
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else if (xy[0] == this.gridSize - 1) { // Bottom-Right Corner
-							if (this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else {                                 // Bottom Edge (excluding Corners)
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						}
-					} else if (xy[0] == 0) {                   // Left Edge (excluding Corners)
-						if (this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] + 1].isHit()) {
-							continue;
-						}
-					} else {                                   // Rght Edge (ecluding Corners)
-						if (this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit()) {
-							continue;
-						}
-					}
-				}
-			}
-
-			break;
-		} while (true);
-
-		return xy;
 	}
 
 }
@@ -0,0 +1,117 @@
+package game.ai;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * A set of tile indices supporting constant time adds, removes, membership checks and uniformly random picks.
+ *
+ * The members are kept packed at the front of a dense array. Removing a member moves the last member into its slot
+ * ("swap-remove"), and a second array maps every tile to its slot.
+ *
+ * @author blackk100
+ */
+final class CellSet {
+
+	/**
+	 * The members, packed in <code>members[0]</code> to <code>members[size - 1]</code>.
+	 */
+	private final int[] members;
+
+	/**
+	 * The slot of each tile in <code>members</code>, or '-1' if the tile isn't a member.
+	 */
+	private final int[] slot;
+
+	/**
+	 * The number of members.
+	 */
+	private int size = 0;
+
+	/**
+	 * Constructor for the CellSet class. The set starts empty.
+	 *
+	 * @param cells The number of tiles on the board.
+	 */
+	CellSet(int cells) {
+		this.members = new int[cells];
+		this.slot = new int[cells];
+		Arrays.fill(this.slot, -1);
+	}
+
+	/**
+	 * Adds a tile to the set. Has no effect if it's already a member.
+	 *
+	 * @param cell The tile index
+	 */
+	void add(int cell) {
+		if (this.slot[cell] == -1) {
+			this.members[this.size] = cell;
+			this.slot[cell] = this.size++;
+		}
+	}
+
+	/**
+	 * Removes a tile from the set. Has no effect if it isn't a member.
+	 *
+	 * @param cell The tile index
+	 */
+	void remove(int cell) {
+		int index = this.slot[cell];
+		if (index != -1) {
+			int last = this.members[--this.size]; // Moves the last member into the freed slot.
+			this.members[index] = last;
+			this.slot[last] = index;
+			this.slot[cell] = -1;
+		}
+	}
+
+	/**
+	 * Checks if a tile is a member.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if a member, else false.
+	 */
+	boolean contains(int cell) {
+		return this.slot[cell] != -1;
+	}
+
+	/**
+	 * @return the number of members.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return true if the set has no members, else false.
+	 */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Returns the member in the given slot. Slots are reordered by <code>remove()</code>.
+	 *
+	 * @param index The slot, between '0' and <code>size() - 1</code>.
+	 *
+	 * @return the tile index.
+	 */
+	int get(int index) {
+		return this.members[index];
+	}
+
+	/**
+	 * Picks a member uniformly at random.
+	 *
+	 * @param random Random number generator
+	 *
+	 * @return the tile index.
+	 */
+	int random(SplittableRandom random) {
+		return this.members[random.nextInt(this.size)];
+	}
+
+}
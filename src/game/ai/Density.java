@@ -0,0 +1,464 @@
+package game.ai;
+
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Placements;
+import game.grid.Ship;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+
+/**
+ * The Density AI.
+ * Fires at the tile covered by the most legal placements of the Player's ships that are still afloat.
+ *
+ * Every placement of every remaining ship length is kept either "alive" (consistent with everything known about the
+ * Player's board) or dead. A placement dies once its footprint covers a miss, a tile of a sunk ship or a tile beside
+ * a sunk ship, or once it's touching a hit which it doesn't cover (ships never share an edge). For each length, 2
+ * counts are kept per tile:
+ * <pre>
+ * cover  - The number of live placements covering the tile.
+ * target - The same, with each placement weighted by the number of unsunk hits it covers.
+ * </pre>
+ * While there are unsunk hits, the tile with the highest <code>target</code> score is fired at ('target' mode).
+ * Otherwise, the tile with the highest <code>cover</code> score is fired at ('hunt' mode). Scores add up the counts of
+ * each length, weighted by the number of ships of that length still afloat. Ties in 'target' mode are broken by the
+ * <code>cover</code> score, and then (pseudo-)randomly.
+ *
+ * The counts are built once per board. After that, each shot only visits the few placements that cover the tile shot
+ * at or its neighbours, instead of recounting every placement.
+ *
+ * Opens with the <code>OpeningBook</code>. Once few layouts of the Player's fleet are left, the <code>Endgame</code>
+ * solver takes over.
+ *
+ * @author blackk100
+ */
+public final class Density extends AI {
+
+	/**
+	 * The distinct ship lengths of the Player's fleet, largest first.
+	 */
+	private final int[] lengths;
+
+	/**
+	 * The placement table of each length.
+	 */
+	private final Placements[] tables;
+
+	/**
+	 * The number of ships of each length that are still afloat.
+	 */
+	private final int[] afloat;
+
+	/**
+	 * Whether each placement of each length is still alive.
+	 */
+	private final boolean[][] alive;
+
+	/**
+	 * The number of unsunk hits covered by each placement of each length.
+	 */
+	private final int[][] struck;
+
+	/**
+	 * The number of live placements of each length covering each tile.
+	 */
+	private final int[][] cover;
+
+	/**
+	 * The number of unsunk hits covered by the live placements of each length covering each tile.
+	 */
+	private final int[][] target;
+
+	/**
+	 * Whether each of the Player's ships was already applied to the counts as sunk.
+	 */
+	private final boolean[] sunk;
+
+	/**
+	 * Scratch space for the placements covering a tile.
+	 */
+	private final int[] covering;
+
+	/**
+	 * The board the counts were built for. Null until the first shot is chosen, and after an abandoned move.
+	 */
+	private Board counted;
+
+	/**
+	 * The number of entries of gridOpp's shot log that were already applied to the counts.
+	 */
+	private int applied;
+
+	/**
+	 * The number of hits on ships that weren't sunk yet.
+	 */
+	private int open;
+
+	/**
+	 * Constructor for the Density AI.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 */
+	public Density(boolean[] initVars, Board gridOpp) {
+		this(initVars, gridOpp, new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for the Density AI, with the given random number generator.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param random   Random number generator
+	 */
+	public Density(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+		super(initVars, gridOpp, random);
+
+		int[] fleet = Board.shipLengths(initVars); // Ordered largest first, so equal lengths are adjacent.
+		int distinct = 0;
+		for (int ship = 0; ship < fleet.length; ship++) {
+			if ((ship == 0) || (fleet[ship] != fleet[ship - 1])) {
+				distinct++;
+			}
+		}
+
+		this.lengths = new int[distinct];
+		this.tables = new Placements[distinct];
+		this.afloat = new int[distinct];
+		this.alive = new boolean[distinct][];
+		this.struck = new int[distinct][];
+		this.cover = new int[distinct][this.gridSize * this.gridSize];
+		this.target = new int[distinct][this.gridSize * this.gridSize];
+		this.sunk = new boolean[fleet.length];
+		this.covering = new int[2 * (fleet.length == 0 ? 0 : fleet[0])];
+
+		for (int ship = 0, len = -1; ship < fleet.length; ship++) {
+			if ((ship == 0) || (fleet[ship] != fleet[ship - 1])) {
+				len++;
+				this.lengths[len] = fleet[ship];
+				this.tables[len] = Placements.of(this.gridSize, fleet[ship]);
+				this.alive[len] = new boolean[this.tables[len].count];
+				this.struck[len] = new int[this.tables[len].count];
+			}
+		}
+
+		this.opening = OpeningBook.shared().line(initVars, this.random);
+		this.endgame = new Endgame(this);
+	}
+
+	/**
+	 * Function for the AI to fire at the player's ships.
+	 *
+	 * @return the tile index to fire at.
+	 */
+	@Override
+	public int fireCell() {
+		int[] cells = this.fireCells(1);
+		return (cells.length == 0) ? Cell.NONE : cells[0];
+	}
+
+	/**
+	 * Chooses a Salvo from the counts.
+	 *
+	 * Fires at the unguessed tiles with the highest 'target' scores while there are unsunk hits, then at those with
+	 * the highest 'hunt' scores. Falls back to random tiles once no live placement covers any unguessed tile.
+	 * The counts are brought up to date once for the whole Salvo.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the distinct tile indices to fire at.
+	 */
+	@Override
+	protected int[] chooseCells(int n) {
+		this.sync();
+		this.count();
+
+		long[] hunt = this.score(this.cover);
+		if (this.open == 0) {        // 'Hunt' mode
+			return this.fireBest(n, hunt);
+		}
+
+		long[] target = this.score(this.target);
+		long most = 0;              // Highest 'hunt' score
+		for (long score : hunt) {
+			most = Math.max(most, score);
+		}
+		for (int cell = 0; cell < target.length; cell++) { // 'Target' mode. 'Hunt' scores only break ties.
+			target[cell] = target[cell] * (most + 1) + hunt[cell];
+		}
+
+		return this.fireBest(n, target);
+	}
+
+	/**
+	 * Makes the AI usable again after an abandoned move.
+	 * The abandoned move may have read gridOpp while the shots after it were marked, and applied a shot before its
+	 * result was set. The counts are built again on the next move.
+	 */
+	@Override
+	protected void recover() {
+		super.recover();
+
+		this.counted = null;
+	}
+
+	/**
+	 * Returns the score of every tile.
+	 *
+	 * @param counts The counts of each length to score the tiles with.
+	 *
+	 * @return the counts of each tile, added up over the lengths and weighted by the number of ships still afloat.
+	 */
+	private long[] score(int[][] counts) {
+		long[] scores = new long[this.gridSize * this.gridSize];
+		for (int len = 0; len < this.lengths.length; len++) {
+			if (this.afloat[len] != 0) {
+				for (int cell = 0; cell < scores.length; cell++) {
+					scores[cell] += (long) this.afloat[len] * counts[len][cell];
+				}
+			}
+		}
+
+		return scores;
+	}
+
+	/**
+	 * Brings the counts up to date with gridOpp.
+	 * Builds them on the first call, and again whenever gridOpp is a different board. After that, only the shots made
+	 * and the ships sunk since the last call are applied.
+	 */
+	private void count() {
+		if (this.counted != this.gridOpp) {
+			this.build();
+		}
+
+		while (this.applied < this.gridOpp.getShots()) {
+			int cell = this.gridOpp.getShot(this.applied++);
+			if (this.gridOpp.isHit(cell)) {
+				this.hit(cell);
+			} else {
+				this.block(cell);
+			}
+		}
+
+		Ship[] fleet = this.gridOpp.getShips();
+		for (int ship = 0; ship < fleet.length; ship++) {
+			if (!this.sunk[ship] && fleet[ship].isSunk()) {
+				this.sunk[ship] = true;
+				this.sink(fleet[ship]);
+			}
+		}
+	}
+
+	/**
+	 * Resets the counts to those of an empty board, with every placement alive and every ship afloat.
+	 */
+	private void build() {
+		this.counted = this.gridOpp;
+		this.applied = 0;
+		this.open = 0;
+		Arrays.fill(this.sunk, false);
+
+		for (int len = 0; len < this.lengths.length; len++) {
+			Arrays.fill(this.alive[len], true);
+			Arrays.fill(this.struck[len], 0);
+			Arrays.fill(this.cover[len], 0);
+			Arrays.fill(this.target[len], 0);
+			this.afloat[len] = 0;
+
+			for (int placement = 0; placement < this.tables[len].count; placement++) {
+				for (int l = 0; l < this.lengths[len]; l++) {
+					this.cover[len][this.tables[len].cell(placement, l)]++;
+				}
+			}
+		}
+
+		for (Ship ship : this.gridOpp.getShips()) {
+			this.afloat[this.lengthIndex(ship.length)]++;
+		}
+	}
+
+	/**
+	 * Applies a hit on the given tile.
+	 * Placements covering it now cover another hit. Placements touching it without covering it die.
+	 *
+	 * @param cell The tile index
+	 */
+	private void hit(int cell) {
+		this.open++;
+
+		for (int len = 0; len < this.lengths.length; len++) {
+			int found = this.tables[len].covering(cell, this.covering);
+			for (int c = 0; c < found; c++) {
+				int placement = this.covering[c];
+				if (this.alive[len][placement]) {
+					this.struck[len][placement]++;
+					for (int l = 0; l < this.lengths[len]; l++) {
+						this.target[len][this.tables[len].cell(placement, l)]++;
+					}
+				}
+			}
+		}
+
+		int x = Cell.x(cell, this.gridSize);
+		int y = Cell.y(cell, this.gridSize);
+		if (x > 0) {                   // Left
+			this.blockExcept(cell - 1, cell);
+		}
+		if (x < this.gridSize - 1) {   // Right
+			this.blockExcept(cell + 1, cell);
+		}
+		if (y > 0) {                   // Top
+			this.blockExcept(cell - this.gridSize, cell);
+		}
+		if (y < this.gridSize - 1) {   // Bottom
+			this.blockExcept(cell + this.gridSize, cell);
+		}
+	}
+
+	/**
+	 * Applies a sunk ship. Its tiles and the tiles beside it can't hold any other ship.
+	 *
+	 * @param ship The sunk ship
+	 */
+	private void sink(Ship ship) {
+		this.afloat[this.lengthIndex(ship.length)]--;
+		this.open -= ship.length;
+
+		for (int l = 0; l < ship.length; l++) {
+			int cell = ship.getCell(l);
+			int x = Cell.x(cell, this.gridSize);
+			int y = Cell.y(cell, this.gridSize);
+
+			this.block(cell);
+			if (x > 0) {                   // Left
+				this.block(cell - 1);
+			}
+			if (x < this.gridSize - 1) {   // Right
+				this.block(cell + 1);
+			}
+			if (y > 0) {                   // Top
+				this.block(cell - this.gridSize);
+			}
+			if (y < this.gridSize - 1) {   // Bottom
+				this.block(cell + this.gridSize);
+			}
+		}
+	}
+
+	/**
+	 * Kills every live placement covering the given tile.
+	 *
+	 * @param cell The tile index
+	 */
+	private void block(int cell) {
+		this.blockExcept(cell, Cell.NONE);
+	}
+
+	/**
+	 * Kills every live placement covering the given tile, apart from those also covering another tile.
+	 *
+	 * @param cell The tile index
+	 * @param keep The tile index of placements to spare, or <code>Cell.NONE</code>.
+	 */
+	private void blockExcept(int cell, int keep) {
+		for (int len = 0; len < this.lengths.length; len++) {
+			int found = this.tables[len].covering(cell, this.covering);
+			for (int c = 0; c < found; c++) {
+				int placement = this.covering[c];
+				if (this.alive[len][placement] && ((keep == Cell.NONE) || !this.covers(len, placement, keep))) {
+					this.kill(len, placement);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Kills a live placement, removing it from the counts of every tile it covers.
+	 *
+	 * @param len       The length index
+	 * @param placement The placement
+	 */
+	private void kill(int len, int placement) {
+		this.alive[len][placement] = false;
+
+		int struck = this.struck[len][placement];
+		for (int l = 0; l < this.lengths[len]; l++) {
+			int cell = this.tables[len].cell(placement, l);
+			this.cover[len][cell]--;
+			this.target[len][cell] -= struck;
+		}
+	}
+
+	/**
+	 * Checks if a placement covers the given tile.
+	 *
+	 * @param len       The length index
+	 * @param placement The placement
+	 * @param cell      The tile index
+	 *
+	 * @return true if the tile is part of the placement's footprint, else false.
+	 */
+	private boolean covers(int len, int placement, int cell) {
+		int start = this.tables[len].start(placement);
+		if (this.tables[len].direction(placement)) { // Vertical
+			return (Cell.x(cell, this.gridSize) == Cell.x(start, this.gridSize)) && (cell >= start)
+					&& (cell < start + this.lengths[len] * this.gridSize);
+		}
+
+		return (Cell.y(cell, this.gridSize) == Cell.y(start, this.gridSize)) && (cell >= start)
+				&& (cell < start + this.lengths[len]);
+	}
+
+	/**
+	 * Returns the length index of the given ship length.
+	 *
+	 * @param length The ship length
+	 *
+	 * @return the index into <code>this.lengths</code>.
+	 */
+	private int lengthIndex(int length) {
+		int len = 0;
+		while (this.lengths[len] != length) {
+			len++;
+		}
+
+		return len;
+	}
+
+	/**
+	 * Registers the Density AI as the "D" strategy.
+	 */
+	public static final class Provider implements Strategy {
+
+		@Override
+		public String id() {
+			return "D";
+		}
+
+		@Override
+		public String name() {
+			return "Density";
+		}
+
+		@Override
+		public Set<Capability> capabilities() {
+			return EnumSet.of(Capability.SALVO);
+		}
+
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp) {
+			return new Density(initVars, gridOpp);
+		}
+
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+			return new Density(initVars, gridOpp, random);
+		}
+
+	}
+
+}
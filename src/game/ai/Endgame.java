@@ -0,0 +1,452 @@
+package game.ai;
+
+import game.grid.Cell;
+import game.grid.Placements;
+import java.util.Arrays;
+import java.util.HashMap;
+
+
+/**
+ * Exact solver for the end of a game, used by AIs as a finishing mode.
+ * Strategies opt into it by setting <code>AI.endgame</code> (<code>Density</code> and <code>MonteCarlo</code>), so that
+ * the difficulty of the older strategies doesn't change.
+ *
+ * Once the ships still afloat have few tiles left to hit, every layout of them that agrees with the board (see
+ * <code>Evidence</code>) is enumerated. If there are at most <code>Endgame.LAYOUTS</code> of them, every set of
+ * layouts that may still be left fits in a single <code>long</code> bitmask, and the solver fires at the tiles that
+ * minimise the expected number of shots left, taking every layout as equally likely:
+ * <pre>
+ * Every layout has the same number of tiles left to hit, so only the misses to come differ. For a set of layouts:
+ * E(set) = 0                                                  if the set holds a single layout
+ * E(set) = min over the tiles splitting the set of
+ *          P(miss) * (1 + E(layouts missing the tile)) + P(hit) * E(layouts covering the tile)
+ * </pre>
+ * E is memoized per bitmask. Tiles occupied in every layout left are sure hits, and are fired at first: sinking a
+ * ship may rule out more layouts than the search accounts for. Other tiles follow in order of their expected misses.
+ *
+ * Enumerating and searching stop after <code>Endgame.WORK</code> steps (layouts partly placed, and tiles tried for
+ * each set of layouts searched), or once the AI's move runs out of time. The step limit doesn't depend on the speed
+ * of the machine, so a seeded match plays the same way every time, unless the Referee's time budget cuts the move
+ * short. If the layouts weren't all enumerated by then, the AI fires on its own. If the search didn't finish, the
+ * tiles are ranked by the number of layouts occupying them instead.
+ *
+ * @author blackk100
+ */
+final class Endgame {
+
+	/**
+	 * Maximum number of layouts solved exactly. A set of layouts must fit in a <code>long</code>, and the number of sets
+	 * searched grows quickly with it.
+	 */
+	static final int LAYOUTS = 32;
+
+	/**
+	 * Maximum number of tiles left to hit before the layouts are enumerated.
+	 */
+	static final int SECTIONS = 12;
+
+	/**
+	 * Maximum number of steps of each move, counting every layout partly placed and every tile tried for each set of
+	 * layouts searched. About 100 ms of work.
+	 */
+	static final int WORK = 1 << 20;
+
+	/**
+	 * The AI this solver fires for.
+	 */
+	private final AI ai;
+
+	/**
+	 * The footprint bit plane of each layout found so far. Only the first <code>this.found</code> are used.
+	 */
+	private final long[][] layouts = new long[Endgame.LAYOUTS][];
+
+	/**
+	 * The number of layouts found so far.
+	 */
+	private int found;
+
+	/**
+	 * The placement of each ship still afloat in the layout being enumerated.
+	 */
+	private int[] layout;
+
+	/**
+	 * Whether each ship still afloat was placed without covering a hit, in the layout being enumerated.
+	 */
+	private boolean[] free;
+
+	/**
+	 * The tiles occupied or bordered after placing each number of ships, in the layout being enumerated.
+	 */
+	private long[][] used;
+
+	/**
+	 * Scratch space for the placements covering a hit.
+	 */
+	private int[] covering;
+
+	/**
+	 * The distinct sets of layouts occupying each unguessed tile that doesn't occupy all or none of them.
+	 */
+	private long[] splits;
+
+	/**
+	 * The expected number of misses left for each set of layouts searched so far.
+	 */
+	private HashMap<Long, Double> expected;
+
+	/**
+	 * The number of steps left this move.
+	 */
+	private int work;
+
+	/**
+	 * Whether or not the step limit or the AI's move ran out.
+	 */
+	private boolean expired;
+
+	/**
+	 * Constructor for the Endgame class.
+	 *
+	 * @param ai The AI this solver fires for.
+	 */
+	Endgame(AI ai) {
+		this.ai = ai;
+	}
+
+	/**
+	 * Fires a Salvo at the player's ships, if the end of the game was reached.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the distinct tile indices to fire at, or null if there are too many layouts left to solve exactly.
+	 */
+	int[] fireCells(int n) {
+		int unhit = this.ai.gridOpp.getUntouched(); // The fleet's tiles less the hits, so the AI knows it too.
+		if ((unhit == 0) || (unhit > Endgame.SECTIONS)) { // Checked before the evidence is gathered, which scans every placement.
+			return null;
+		}
+
+		Evidence evidence = new Evidence(this.ai.gridOpp);
+
+		this.work = Endgame.WORK;
+		this.expired = false;
+		boolean complete = this.enumerate(evidence);
+		if (!complete || (this.found == 0)) { // Too many layouts, out of steps or time, or a board no layout agrees with
+			return null;
+		}
+
+		int cells = this.ai.gridOpp.cells;
+		long[] cover = new long[cells]; // The set of layouts occupying each tile
+		for (int l = 0; l < this.found; l++) {
+			for (int cell = 0; cell < cells; cell++) {
+				if (Evidence.get(this.layouts[l], cell)) {
+					cover[cell] |= 1L << l;
+				}
+			}
+		}
+		long all = (this.found == Long.SIZE) ? -1L : (1L << this.found) - 1;
+
+		long[] splits = new long[cells];
+		int distinct = 0;
+		for (int cell = 0; cell < cells; cell++) {
+			if (this.ai.gridOpp.isUnguessed(cell) && (cover[cell] != 0) && (cover[cell] != all)) {
+				splits[distinct++] = cover[cell];
+			}
+		}
+		Arrays.sort(splits, 0, distinct);
+		int kept = 0;
+		for (int split = 0; split < distinct; split++) {
+			if ((kept == 0) || (splits[split] != splits[kept - 1])) {
+				splits[kept++] = splits[split];
+			}
+		}
+		this.splits = Arrays.copyOf(splits, kept);
+		this.order(this.splits);
+		this.expected = new HashMap<>();
+
+		double[] misses = new double[cells]; // Expected misses left after firing at each tile
+		for (int cell = 0; cell < cells; cell++) {
+			if ((cover[cell] != 0) && (cover[cell] != all)) {
+				misses[cell] = this.split(all, cover[cell]);
+			}
+		}
+		if (this.expired) { // Ranks the tiles by their chance of a miss instead.
+			for (int cell = 0; cell < cells; cell++) {
+				misses[cell] = 1.0 - (double) Long.bitCount(cover[cell]) / this.found;
+			}
+		}
+		this.expected = null;
+
+		return this.choose(n, cover, misses);
+	}
+
+	/**
+	 * Chooses the Salvo: the sure hits first, then the tiles with the fewest expected misses left.
+	 * Ties are broken by the number of layouts occupying the tile, and then (pseudo-)randomly.
+	 *
+	 * @param n      The number of shots.
+	 * @param cover  The set of layouts occupying each tile.
+	 * @param misses The expected number of misses left after firing at each tile.
+	 *
+	 * @return the distinct tile indices to fire at.
+	 */
+	private int[] choose(int n, long[] cover, double[] misses) {
+		AI ai = this.ai;
+		ai.sync();
+
+		int[] cells = new int[Math.min(n, ai.unguessed.size())];
+		for (int shot = 0; shot < cells.length; shot++) {
+			int cell = Cell.NONE;
+			int ties = 0; // Number of tiles as good as the best so far
+			for (int member = 0; member < ai.unguessed.size(); member++) {
+				int tile = ai.unguessed.get(member);
+				if (cover[tile] == 0) {
+					continue;
+				}
+
+				int compare = (cell == Cell.NONE) ? -1 : Double.compare(misses[tile], misses[cell]);
+				if (compare == 0) {
+					compare = Long.bitCount(cover[cell]) - Long.bitCount(cover[tile]);
+				}
+				if (compare < 0) {
+					cell = tile;
+					ties = 1;
+				} else if ((compare == 0) && (ai.random.nextInt(++ties) == 0)) {
+					cell = tile;
+				}
+			}
+
+			if (cell == Cell.NONE) { // No layout occupies any unguessed tile.
+				cell = ai.randomFire();
+			} else {
+				ai.reserve(cell);
+			}
+			cells[shot] = cell;
+		}
+
+		return cells;
+	}
+
+	/**
+	 * Enumerates the layouts of the ships still afloat that agree with the board, into <code>this.layouts</code>.
+	 *
+	 * @param evidence The evidence the layouts must agree with.
+	 *
+	 * @return true if every layout was found, false if there are more than <code>Endgame.LAYOUTS</code> or the step
+	 *         limit ran out.
+	 */
+	private boolean enumerate(Evidence evidence) {
+		int ships = evidence.tables.length;
+		int longest = 0;
+		for (Placements table : evidence.tables) {
+			longest = Math.max(longest, table.length);
+		}
+
+		this.found = 0;
+		this.layout = new int[ships];
+		Arrays.fill(this.layout, Placements.NONE);
+		this.free = new boolean[ships];
+		this.used = new long[ships + 1][(this.ai.gridOpp.cells + 63) >>> 6];
+		this.covering = new int[2 * longest];
+
+		boolean complete = this.enumerate(evidence, 0);
+		this.layout = null;
+		this.free = null;
+		this.used = null;
+		return complete;
+	}
+
+	/**
+	 * Places the next ship of the layouts being enumerated, in every way that fits.
+	 *
+	 * The 1st hit not covered yet is covered by the 1st unplaced ship of some length, as in
+	 * <code>Evidence.draw()</code>. Once every hit is covered, the remaining ships are placed in fleet order, and a
+	 * ship of the same length as the one before takes a later placement, so that each layout is found only once.
+	 *
+	 * @param evidence The evidence the layouts must agree with.
+	 * @param depth    The number of ships placed so far.
+	 *
+	 * @return true to go on, false if there are too many layouts or the step limit ran out.
+	 */
+	private boolean enumerate(Evidence evidence, int depth) {
+		if (this.timeUp(1)) {
+			return false;
+		}
+
+		long[] used = this.used[depth];
+		int hit = Cell.NONE; // 1st hit not covered yet
+		for (int h = 0; (h < evidence.hits.length) && (hit == Cell.NONE); h++) {
+			if (!Evidence.get(used, evidence.hits[h])) {
+				hit = evidence.hits[h];
+			}
+		}
+
+		int ships = this.layout.length;
+		if (depth == ships) {
+			if (hit != Cell.NONE) { // A hit no ship covers. Dead end.
+				return true;
+			}
+			if (this.found == Endgame.LAYOUTS) {
+				return false;
+			}
+
+			long[] footprint = new long[used.length];
+			for (int ship = 0; ship < ships; ship++) {
+				evidence.tables[ship].addFootprint(this.layout[ship], footprint);
+			}
+			this.layouts[this.found++] = footprint;
+			return true;
+		}
+
+		if (hit != Cell.NONE) { // Covers the hit.
+			for (int ship = 0; ship < ships; ship++) {
+				if (!evidence.isFirstUnplaced(ship, this.layout)) {
+					continue;
+				}
+
+				Placements table = evidence.tables[ship];
+				int count = table.covering(hit, this.covering);
+				int[] covering = Arrays.copyOf(this.covering, count); // Deeper calls reuse the scratch space.
+				for (int placement : covering) {
+					if (evidence.legal[ship][placement] && !table.footprintHits(placement, used)
+							&& !this.place(evidence, depth, ship, placement, false)) {
+						return false;
+					}
+				}
+			}
+
+			return true;
+		}
+
+		int ship = 0; // Places the 1st unplaced ship.
+		while (this.layout[ship] != Placements.NONE) {
+			ship++;
+		}
+		boolean ordered = (ship > 0) && (evidence.tables[ship] == evidence.tables[ship - 1]) && this.free[ship - 1];
+		for (int placement : evidence.candidates[ship]) {
+			if ((!ordered || (placement > this.layout[ship - 1])) && !evidence.tables[ship].footprintHits(placement, used)
+					&& !this.place(evidence, depth, ship, placement, true)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Places a ship of the layout being enumerated, enumerates the rest of it, and takes the ship off again.
+	 *
+	 * @param evidence  The evidence the layouts must agree with.
+	 * @param depth     The number of ships placed so far.
+	 * @param ship      The ship number
+	 * @param placement The placement
+	 * @param free      Whether or not the placement was chosen without covering a hit.
+	 *
+	 * @return true to go on, false if there are too many layouts or the step limit ran out.
+	 */
+	private boolean place(Evidence evidence, int depth, int ship, int placement, boolean free) {
+		System.arraycopy(this.used[depth], 0, this.used[depth + 1], 0, this.used[depth].length);
+		evidence.place(ship, placement, this.layout, this.used[depth + 1]);
+		this.free[ship] = free;
+
+		boolean going = this.enumerate(evidence, depth + 1);
+		this.layout[ship] = Placements.NONE;
+		return going;
+	}
+
+	/**
+	 * Sorts sets of layouts by the number of layouts in them, largest first, so that the search tries the likeliest
+	 * hits first, and can skip more of the rest.
+	 *
+	 * @param sets The sets of layouts
+	 */
+	private void order(long[] sets) {
+		for (int i = 1; i < sets.length; i++) { // Insertion sort. There are at most a few hundred sets.
+			long set = sets[i];
+			int j = i - 1;
+			while ((j >= 0) && (Long.bitCount(sets[j]) < Long.bitCount(set))) {
+				sets[j + 1] = sets[j];
+				j--;
+			}
+			sets[j + 1] = set;
+		}
+	}
+
+	/**
+	 * Returns the expected number of misses left after firing at a tile.
+	 *
+	 * @param set The set of layouts left.
+	 * @param hit The set of layouts occupying the tile.
+	 *
+	 * @return the expected number of misses.
+	 */
+	private double split(long set, long hit) {
+		double total = Long.bitCount(set);
+		double hits = Long.bitCount(set & hit);
+		return (total - hits) / total * (1 + this.expect(set & ~hit)) + hits / total * this.expect(set & hit);
+	}
+
+	/**
+	 * Returns the expected number of misses left with the best play, given the set of layouts left.
+	 *
+	 * @param set The set of layouts left.
+	 *
+	 * @return the expected number of misses, or '0' once the step limit ran out.
+	 */
+	private double expect(long set) {
+		if (Long.bitCount(set) <= 1) {
+			return 0;
+		}
+
+		Double known = this.expected.get(set);
+		if (known != null) {
+			return known;
+		}
+		if (this.timeUp(this.splits.length)) {
+			return 0;
+		}
+
+		double best = Double.MAX_VALUE;
+		double total = Long.bitCount(set);
+		for (long split : this.splits) {
+			long hit = set & split;
+			if ((hit == 0) || (hit == set)) {
+				continue;
+			}
+
+			double miss = (total - Long.bitCount(hit)) / total; // Chance of a miss
+			if (miss >= best) { // Can't do better.
+				continue;
+			}
+			double misses = miss * (1 + this.expect(set & ~hit));
+			if (misses >= best) {
+				continue;
+			}
+			best = Math.min(best, misses + (1 - miss) * this.expect(hit));
+		}
+
+		if (!this.expired) {
+			this.expected.put(set, best);
+		}
+		return best;
+	}
+
+	/**
+	 * Takes steps, and checks if the step limit ran out, or the AI's move did.
+	 *
+	 * @param steps The number of steps taken.
+	 *
+	 * @return true if the search should stop, else false.
+	 */
+	private boolean timeUp(int steps) {
+		this.work -= steps;
+		if (!this.expired && ((this.work < 0) || this.ai.outOfTime())) {
+			this.expired = true;
+		}
+
+		return this.expired;
+	}
+
+}
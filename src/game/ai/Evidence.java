@@ -0,0 +1,341 @@
+package game.ai;
+
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Placements;
+import game.grid.Ship;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * Immutable snapshot of everything known about the Player's board, as seen by the AIs that reason about layouts of
+ * the Player's fleet (<code>MonteCarlo</code> and <code>Endgame</code>).
+ *
+ * A placement of a ship still afloat is legal if it covers no miss, doesn't touch a sunk ship, and doesn't touch an
+ * unsunk hit without covering it. A layout of the ships still afloat agrees with the board if its placements are
+ * legal, don't overlap or touch each other, and cover every unsunk hit.
+ *
+ * @author blackk100
+ */
+final class Evidence {
+
+	/**
+	 * Number of times a drawn layout is started over before it's given up on.
+	 */
+	private static final int RESTARTS = 64;
+
+	/**
+	 * Number of random placements tried for each ship in step 2 of <code>draw()</code> before the layout is started
+	 * over.
+	 */
+	private static final int TRIES = 32;
+
+	/**
+	 * The length of the grid.
+	 */
+	final int gridSize;
+
+	/**
+	 * The placement table of each ship still afloat, largest ship first.
+	 */
+	final Placements[] tables;
+
+	/**
+	 * The legal placements of each ship still afloat.
+	 */
+	final int[][] candidates;
+
+	/**
+	 * Whether each placement of each ship still afloat is one of its <code>candidates</code>.
+	 */
+	final boolean[][] legal;
+
+	/**
+	 * The tile indices of the hits that don't belong to a sunk ship.
+	 */
+	final int[] hits;
+
+	/**
+	 * Constructor for the Evidence class.
+	 *
+	 * @param board The Player's board
+	 */
+	Evidence(Board board) {
+		this(board.gridSize, Evidence.afloat(board), Evidence.blocked(board), Evidence.hits(board));
+	}
+
+	/**
+	 * Constructor for the Evidence class, from the bit planes of a board state.
+	 *
+	 * @param gridSize The length of the grid.
+	 * @param lengths  The length of each ship still afloat, in fleet order.
+	 * @param blocked  The bit plane of the misses, and of the tiles of sunk ships and the tiles beside them.
+	 * @param hits     The bit plane of the hits.
+	 */
+	Evidence(int gridSize, int[] lengths, long[] blocked, long[] hits) {
+		this.gridSize = gridSize;
+
+		int cells = gridSize * gridSize;
+		long[] open = new long[blocked.length]; // Hits that don't belong to a sunk ship
+		int hitNos = 0;
+		for (int cell = 0; cell < cells; cell++) {
+			if (Evidence.get(hits, cell) && !Evidence.get(blocked, cell)) {
+				Evidence.set(open, cell);
+				hitNos++;
+			}
+		}
+
+		this.hits = new int[hitNos];
+		for (int cell = 0, hit = 0; cell < cells; cell++) {
+			if (Evidence.get(open, cell)) {
+				this.hits[hit++] = cell;
+			}
+		}
+
+		this.tables = new Placements[lengths.length];
+		this.candidates = new int[lengths.length][];
+		this.legal = new boolean[lengths.length][];
+		for (int ship = 0; ship < lengths.length; ship++) { // Fleet order, so equal lengths are adjacent.
+			this.tables[ship] = Placements.of(this.gridSize, lengths[ship]);
+			if ((ship > 0) && (this.tables[ship] == this.tables[ship - 1])) { // Same length. Shares the lists.
+				this.candidates[ship] = this.candidates[ship - 1];
+				this.legal[ship] = this.legal[ship - 1];
+			} else {
+				Placements table = this.tables[ship];
+				this.legal[ship] = new boolean[table.count];
+				int found = 0;
+				for (int placement = 0; placement < table.count; placement++) {
+					if (!table.footprintHits(placement, blocked) && !table.haloHits(placement, open)) {
+						this.legal[ship][placement] = true;
+						found++;
+					}
+				}
+
+				this.candidates[ship] = new int[found];
+				for (int placement = 0, candidate = 0; placement < table.count; placement++) {
+					if (this.legal[ship][placement]) {
+						this.candidates[ship][candidate++] = placement;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Lists the ships of a board still afloat.
+	 *
+	 * @param board The Player's board
+	 *
+	 * @return the length of each ship still afloat, in fleet order.
+	 */
+	static int[] afloat(Board board) {
+		int[] lengths = new int[board.getShips().length];
+		int afloat = 0;
+		for (Ship ship : board.getShips()) {
+			if (!ship.isSunk()) {
+				lengths[afloat++] = ship.length;
+			}
+		}
+
+		return Arrays.copyOf(lengths, afloat);
+	}
+
+	/**
+	 * Builds the bit plane of the tiles no ship still afloat can occupy: the misses, and the tiles of sunk ships and
+	 * the tiles beside them.
+	 *
+	 * @param board The Player's board
+	 *
+	 * @return the bit plane.
+	 */
+	private static long[] blocked(Board board) {
+		int gridSize = board.gridSize;
+		long[] blocked = new long[(board.cells + 63) >>> 6];
+		for (Ship ship : board.getShips()) {
+			if (!ship.isSunk()) {
+				continue;
+			}
+
+			for (int l = 0; l < ship.length; l++) {
+				int cell = ship.getCell(l);
+				int x = Cell.x(cell, gridSize);
+				int y = Cell.y(cell, gridSize);
+
+				Evidence.set(blocked, cell);
+				if (x > 0) {              // Left
+					Evidence.set(blocked, cell - 1);
+				}
+				if (x < gridSize - 1) {   // Right
+					Evidence.set(blocked, cell + 1);
+				}
+				if (y > 0) {              // Top
+					Evidence.set(blocked, cell - gridSize);
+				}
+				if (y < gridSize - 1) {   // Bottom
+					Evidence.set(blocked, cell + gridSize);
+				}
+			}
+		}
+
+		for (int cell = 0; cell < board.cells; cell++) {
+			if (board.isMiss(cell)) {
+				Evidence.set(blocked, cell);
+			}
+		}
+
+		return blocked;
+	}
+
+	/**
+	 * Builds the bit plane of the hits at a board.
+	 *
+	 * @param board The Player's board
+	 *
+	 * @return the bit plane.
+	 */
+	private static long[] hits(Board board) {
+		long[] hits = new long[(board.cells + 63) >>> 6];
+		for (int cell = 0; cell < board.cells; cell++) {
+			if (board.isHit(cell)) {
+				Evidence.set(hits, cell);
+			}
+		}
+
+		return hits;
+	}
+
+	/**
+	 * Draws a (pseudo-)random layout in 2 steps:
+	 * <pre>
+	 * 1. Every unsunk hit is covered, one at a time, by a ship still afloat. The ship and its placement are picked
+	 *    (pseudo-)randomly from those that fit.
+	 * 2. The remaining ships are placed (pseudo-)randomly on the tiles left.
+	 * </pre>
+	 * If the layout gets stuck, it's started over.
+	 *
+	 * @param random   Random number generator
+	 * @param layout   The array receiving the placement of each ship still afloat.
+	 * @param used     Scratch bit plane for the tiles occupied or bordered so far.
+	 * @param covering Scratch space for the placements covering a hit.
+	 * @param options  Scratch space for the ships and placements that can cover a hit.
+	 *
+	 * @return true if a layout was drawn, false if every attempt got stuck.
+	 */
+	boolean draw(SplittableRandom random, int[] layout, long[] used, int[] covering, int[] options) {
+		int ships = this.tables.length;
+
+		attempt:
+		for (int restart = 0; restart < Evidence.RESTARTS; restart++) {
+			Arrays.fill(used, 0L);
+			Arrays.fill(layout, Placements.NONE);
+
+			for (int hit : this.hits) { // Step 1: Covers each hit.
+				if (Evidence.get(used, hit)) { // Already covered by an earlier ship.
+					continue;
+				}
+
+				int found = 0; // Options are stored as pairs of (ship, placement).
+				for (int ship = 0; ship < ships; ship++) {
+					if (!this.isFirstUnplaced(ship, layout)) {
+						continue;
+					}
+
+					Placements table = this.tables[ship];
+					int count = table.covering(hit, covering);
+					for (int c = 0; c < count; c++) {
+						int placement = covering[c];
+						if (this.legal[ship][placement] && !table.footprintHits(placement, used)) {
+							options[found++] = ship;
+							options[found++] = placement;
+						}
+					}
+				}
+
+				if (found == 0) {
+					continue attempt;
+				}
+
+				int pick = random.nextInt(found / 2) * 2;
+				this.place(options[pick], options[pick + 1], layout, used);
+			}
+
+			for (int ship = 0; ship < ships; ship++) { // Step 2: Places the remaining ships.
+				if (layout[ship] != Placements.NONE) {
+					continue;
+				}
+
+				int[] candidates = this.candidates[ship];
+				if (candidates.length == 0) {
+					continue attempt;
+				}
+
+				boolean placed = false;
+				for (int attempt = 0; (attempt < Evidence.TRIES) && !placed; attempt++) {
+					int placement = candidates[random.nextInt(candidates.length)];
+					if (!this.tables[ship].footprintHits(placement, used)) {
+						this.place(ship, placement, layout, used);
+						placed = true;
+					}
+				}
+				if (!placed) {
+					continue attempt;
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks if a ship is the 1st unplaced ship of its length.
+	 * Ships of the same length are interchangeable, so only that one needs to be tried when covering a hit.
+	 *
+	 * @param ship   The ship number
+	 * @param layout The placement of each ship still afloat.
+	 *
+	 * @return true if it is, else false.
+	 */
+	boolean isFirstUnplaced(int ship, int[] layout) {
+		return (layout[ship] == Placements.NONE)
+				&& ((ship == 0) || (this.tables[ship] != this.tables[ship - 1]) || (layout[ship - 1] != Placements.NONE));
+	}
+
+	/**
+	 * Places a ship of a layout.
+	 *
+	 * @param ship      The ship number
+	 * @param placement The placement
+	 * @param layout    The placement of each ship still afloat.
+	 * @param used      The tiles occupied or bordered so far.
+	 */
+	void place(int ship, int placement, int[] layout, long[] used) {
+		layout[ship] = placement;
+		this.tables[ship].addFootprintAndHalo(placement, used);
+	}
+
+	/**
+	 * Checks if a bit of a bit plane is set.
+	 *
+	 * @param plane The bit plane
+	 * @param cell  The tile index
+	 *
+	 * @return true if set, else false.
+	 */
+	static boolean get(long[] plane, int cell) {
+		return (plane[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Sets a bit of a bit plane.
+	 *
+	 * @param plane The bit plane
+	 * @param cell  The tile index
+	 */
+	static void set(long[] plane, int cell) {
+		plane[cell >>> 6] |= 1L << cell;
+	}
+
+}
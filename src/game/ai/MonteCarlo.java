@@ -0,0 +1,464 @@
+package game.ai;
+
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.Placements;
+import game.grid.Symmetry;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * The Monte Carlo AI.
+ * Draws a large number of layouts of the Player's fleet that agree with every shot so far, and fires at the tile
+ * occupied most often across them.
+ *
+ * Each layout is drawn in 2 steps:
+ * <pre>
+ * 1. Every hit that doesn't belong to a sunk ship is covered, one at a time, by a ship still afloat. The ship and its
+ *    placement are picked (pseudo-)randomly from those that fit.
+ * 2. The remaining ships are placed (pseudo-)randomly on the tiles left.
+ * </pre>
+ * Placements may never cover a miss, touch a sunk ship, or touch a hit they don't cover. If a layout gets stuck, it
+ * is started over. The layouts follow the shot history exactly, but aren't all equally likely: the placements used
+ * to cover hits are favoured slightly.
+ *
+ * The layouts are drawn in parallel on the common <code>ForkJoinPool</code>, and only once per round: a Salvo takes
+ * all of its shots from the same counts. Sampling stops early if the move runs out of time.
+ *
+ * Until a ship is sunk, the counts are drawn for the canonical form of the board (see <code>Symmetry</code>), from a
+ * seed derived from it, and kept in a cache shared by every match. The states right after the
+ * <code>OpeningBook</code> recur across matches in any of the 8 orientations, and are only sampled once. The counts
+ * only depend on the board, so the cache doesn't change which shots are chosen.
+ *
+ * Opens with the <code>OpeningBook</code>. Once few layouts are left, the <code>Endgame</code> solver takes over.
+ *
+ * @author blackk100
+ */
+public final class MonteCarlo extends AI {
+
+	/**
+	 * Default number of layouts drawn each round.
+	 */
+	public static final int DEFAULT_SAMPLES = 4096;
+
+	/**
+	 * Minimum number of layouts each task draws on its own.
+	 */
+	private static final int BATCH = 128;
+
+	/**
+	 * Number of tasks the layouts are roughly split into, when there are enough of them. Large budgets give each task
+	 * more layouts rather than making more tasks.
+	 */
+	private static final int TASKS = 64;
+
+	/**
+	 * Maximum number of counts kept in <code>MonteCarlo.CACHE</code>. Counts aren't cached once it's full.
+	 */
+	static final int CACHE_LIMIT = 1024;
+
+	/**
+	 * Counts drawn for the canonical forms of boards without a sunk ship, shared by every match.
+	 */
+	private static final ConcurrentHashMap<State, long[]> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of layouts drawn each round.
+	 */
+	private final int samples;
+
+	/**
+	 * The number of layouts occupying each tile. Null until the first shot is chosen, and after an abandoned move.
+	 */
+	private long[] tally;
+
+	/**
+	 * The board <code>this.tally</code> was counted for.
+	 */
+	private Board tallied;
+
+	/**
+	 * The length of gridOpp's shot log when <code>this.tally</code> was counted.
+	 */
+	private int talliedShots;
+
+	/**
+	 * Scratch bit plane for the hits of the canonical form of gridOpp.
+	 */
+	private final long[] hits;
+
+	/**
+	 * Scratch bit plane for the misses of the canonical form of gridOpp.
+	 */
+	private final long[] misses;
+
+	/**
+	 * Constructor for the Monte Carlo AI, drawing <code>MonteCarlo.DEFAULT_SAMPLES</code> layouts each round.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 */
+	public MonteCarlo(boolean[] initVars, Board gridOpp) {
+		this(initVars, gridOpp, MonteCarlo.DEFAULT_SAMPLES, new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for the Monte Carlo AI, drawing <code>MonteCarlo.DEFAULT_SAMPLES</code> layouts each round, with the
+	 * given random number generator.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param random   Random number generator
+	 */
+	public MonteCarlo(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+		this(initVars, gridOpp, MonteCarlo.DEFAULT_SAMPLES, random);
+	}
+
+	/**
+	 * Constructor for the Monte Carlo AI.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param samples  The number of layouts drawn each round.
+	 */
+	public MonteCarlo(boolean[] initVars, Board gridOpp, int samples) {
+		this(initVars, gridOpp, samples, new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for the Monte Carlo AI, with the given random number generator.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param samples  The number of layouts drawn each round.
+	 * @param random   Random number generator
+	 */
+	public MonteCarlo(boolean[] initVars, Board gridOpp, int samples, SplittableRandom random) {
+		super(initVars, gridOpp, random);
+
+		if (samples < 1) {
+			throw new IllegalArgumentException("Invalid number of samples: " + samples);
+		}
+		this.samples = samples;
+		this.hits = new long[(this.gridSize * this.gridSize + 63) >>> 6];
+		this.misses = new long[this.hits.length];
+		this.opening = OpeningBook.shared().line(initVars, this.random);
+		this.endgame = new Endgame(this);
+	}
+
+	/**
+	 * Function for the AI to fire at the player's ships.
+	 *
+	 * @return the tile index to fire at.
+	 */
+	@Override
+	public int fireCell() {
+		int[] cells = this.fireCells(1);
+		return (cells.length == 0) ? Cell.NONE : cells[0];
+	}
+
+	/**
+	 * Chooses a Salvo from the layouts drawn.
+	 *
+	 * Fires at the unguessed tiles occupied by the most layouts. Falls back to random tiles once no layout occupies
+	 * any unguessed tile.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the distinct tile indices to fire at.
+	 */
+	@Override
+	protected int[] chooseCells(int n) {
+		if ((this.tally == null) || (this.tallied != this.gridOpp) || (this.talliedShots != this.gridOpp.getShots())) {
+			this.tally = this.count();
+			this.tallied = this.gridOpp;
+			this.talliedShots = this.gridOpp.getShots();
+		}
+
+		return this.fireBest(n, this.tally);
+	}
+
+	/**
+	 * Makes the AI usable again after an abandoned move.
+	 * The abandoned move may have drawn its layouts from gridOpp while the shots after it were marked, so they're drawn
+	 * again on the next move.
+	 */
+	@Override
+	protected void recover() {
+		super.recover();
+
+		this.tally = null;
+	}
+
+	/**
+	 * Counts how many of the layouts drawn occupy each tile of gridOpp.
+	 *
+	 * Once a ship is sunk, the layouts are drawn for gridOpp itself. Until then, they're drawn for its canonical form,
+	 * from a seed derived from it, and looked up in or added to <code>MonteCarlo.CACHE</code>. Counts cut short by
+	 * the move running out of time aren't cached.
+	 *
+	 * @return the number of layouts occupying each tile.
+	 */
+	private long[] count() {
+		if (this.gridOpp.getShipsSunk() != 0) {
+			return this.simulate(new Evidence(this.gridOpp), this.random.nextLong());
+		}
+
+		Symmetry symmetry = Symmetry.of(this.gridSize);
+		int orientation = symmetry.canonical(this.gridOpp, this.hits, this.misses);
+		State state = new State(this.samples, Evidence.afloat(this.gridOpp), this.hits, this.misses);
+
+		long[] canonical = MonteCarlo.CACHE.get(state);
+		if (canonical == null) {
+			canonical = this.simulate(new Evidence(this.gridSize, state.lengths, state.misses, state.hits), state.seed());
+			if (!this.outOfTime() && (MonteCarlo.CACHE.size() < MonteCarlo.CACHE_LIMIT)) {
+				MonteCarlo.CACHE.putIfAbsent(state, canonical);
+			}
+		}
+
+		long[] tally = new long[canonical.length];
+		for (int cell = 0; cell < tally.length; cell++) {
+			tally[cell] = canonical[symmetry.apply(orientation, cell)];
+		}
+
+		return tally;
+	}
+
+	/**
+	 * Draws layouts in parallel and counts how many of them occupy each tile.
+	 * The result only depends on the seed, not on the number of cores or how the work was split, unless the move runs
+	 * out of time: sampling then stops early.
+	 *
+	 * @param evidence The evidence the layouts must agree with.
+	 * @param seed     The seed of the random number generator.
+	 *
+	 * @return the number of layouts occupying each tile.
+	 */
+	private long[] simulate(Evidence evidence, long seed) {
+		int batch = Math.max(MonteCarlo.BATCH, (this.samples + MonteCarlo.TASKS - 1) / MonteCarlo.TASKS);
+		return ForkJoinPool.commonPool().invoke(new Sampler(this, evidence, this.samples, batch, new SplittableRandom(seed)));
+	}
+
+	/**
+	 * Fork/join task drawing a number of layouts and counting how many of them occupy each tile.
+	 * Each half of a split gets its own split of the random number generator, so the result doesn't depend on which
+	 * thread draws which layout.
+	 */
+	private static final class Sampler extends RecursiveTask<long[]> {
+
+		/**
+		 * Serial Version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The AI whose move this is.
+		 */
+		private final MonteCarlo ai;
+
+		/**
+		 * The evidence the layouts must agree with.
+		 */
+		private final Evidence evidence;
+
+		/**
+		 * The number of layouts to draw.
+		 */
+		private final int samples;
+
+		/**
+		 * The number of layouts a task draws on its own, instead of splitting.
+		 */
+		private final int batch;
+
+		/**
+		 * Random number generator of this task.
+		 */
+		private final SplittableRandom random;
+
+		/**
+		 * Constructor for the Sampler class.
+		 *
+		 * @param ai       The AI whose move this is.
+		 * @param evidence The evidence the layouts must agree with.
+		 * @param samples  The number of layouts to draw.
+		 * @param batch    The number of layouts a task draws on its own, instead of splitting.
+		 * @param random   Random number generator of this task.
+		 */
+		Sampler(MonteCarlo ai, Evidence evidence, int samples, int batch, SplittableRandom random) {
+			this.ai = ai;
+			this.evidence = evidence;
+			this.samples = samples;
+			this.batch = batch;
+			this.random = random;
+		}
+
+		@Override
+		protected long[] compute() {
+			if (this.samples > this.batch) {
+				Sampler left = new Sampler(this.ai, this.evidence, this.samples / 2, this.batch, this.random.split());
+				Sampler right = new Sampler(this.ai, this.evidence, this.samples - this.samples / 2, this.batch, this.random);
+				left.fork();
+				long[] tally = right.compute();
+				long[] other = left.join();
+				for (int cell = 0; cell < tally.length; cell++) {
+					tally[cell] += other[cell];
+				}
+
+				return tally;
+			}
+
+			Evidence evidence = this.evidence;
+			int gridSize = evidence.gridSize;
+			int longest = 0; // Length of the largest ship still afloat
+			int sections = 0; // Total length of the ships still afloat
+			for (Placements table : evidence.tables) {
+				longest = Math.max(longest, table.length);
+				sections += table.length;
+			}
+
+			long[] tally = new long[gridSize * gridSize];
+			int[] layout = new int[evidence.tables.length];
+			long[] used = new long[(gridSize * gridSize + 63) >>> 6];
+			int[] covering = new int[2 * longest];
+			int[] options = new int[4 * sections];
+
+			for (int sample = 0; (sample < this.samples) && !this.ai.outOfTime(); sample++) {
+				if (evidence.draw(this.random, layout, used, covering, options)) {
+					for (int ship = 0; ship < layout.length; ship++) {
+						for (int l = 0; l < evidence.tables[ship].length; l++) {
+							tally[evidence.tables[ship].cell(layout[ship], l)]++;
+						}
+					}
+				}
+			}
+
+			return tally;
+		}
+
+	}
+
+	/**
+	 * Cache key of the canonical form of a board without a sunk ship.
+	 */
+	private static final class State {
+
+		/**
+		 * The number of layouts drawn.
+		 */
+		final int samples;
+
+		/**
+		 * The length of each ship, in fleet order.
+		 */
+		final int[] lengths;
+
+		/**
+		 * The bit plane of the hits.
+		 */
+		final long[] hits;
+
+		/**
+		 * The bit plane of the misses.
+		 */
+		final long[] misses;
+
+		/**
+		 * Hash code, computed once.
+		 */
+		private final int hash;
+
+		/**
+		 * Constructor for the State class. Copies the bit planes.
+		 *
+		 * @param samples The number of layouts drawn.
+		 * @param lengths The length of each ship, in fleet order.
+		 * @param hits    The bit plane of the hits.
+		 * @param misses  The bit plane of the misses.
+		 */
+		State(int samples, int[] lengths, long[] hits, long[] misses) {
+			this.samples = samples;
+			this.lengths = lengths;
+			this.hits = hits.clone();
+			this.misses = misses.clone();
+			this.hash = 31 * (31 * (31 * samples + Arrays.hashCode(lengths)) + Arrays.hashCode(this.hits))
+					+ Arrays.hashCode(this.misses);
+		}
+
+		/**
+		 * Derives the seed the layouts of this state are drawn from.
+		 *
+		 * @return the seed.
+		 */
+		long seed() {
+			long seed = this.samples;
+			for (int length : this.lengths) {
+				seed = seed * 0x9E3779B97F4A7C15L + length;
+			}
+			for (long word : this.hits) {
+				seed = seed * 0x9E3779B97F4A7C15L + word;
+			}
+			for (long word : this.misses) {
+				seed = seed * 0x9E3779B97F4A7C15L + word;
+			}
+
+			return seed;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof State)) {
+				return false;
+			}
+
+			State other = (State) obj;
+			return (this.samples == other.samples) && Arrays.equals(this.lengths, other.lengths)
+					&& Arrays.equals(this.hits, other.hits) && Arrays.equals(this.misses, other.misses);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
+	/**
+	 * Registers the MonteCarlo AI as the "M" strategy.
+	 */
+	public static final class Provider implements Strategy {
+
+		@Override
+		public String id() {
+			return "M";
+		}
+
+		@Override
+		public String name() {
+			return "Monte Carlo";
+		}
+
+		@Override
+		public Set<Capability> capabilities() {
+			return EnumSet.of(Capability.SALVO, Capability.STOPPABLE);
+		}
+
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp) {
+			return new MonteCarlo(initVars, gridOpp);
+		}
+
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+			return new MonteCarlo(initVars, gridOpp, random);
+		}
+
+	}
+
+}
@@ -0,0 +1,356 @@
+package game.ai;
+
+import game.grid.Board;
+import game.grid.Layouts;
+import game.grid.Placements;
+import game.grid.Symmetry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * Precomputed opening shots for each match configuration (grid size, and the ship types enabled in the
+ * Initialization Variables).
+ *
+ * Each configuration has a line of shots, generated offline by <code>main()</code> from a large number of uniformly
+ * drawn layouts: each shot is the tile occupied by the most layouts that all of the earlier shots would have missed.
+ * An AI keeps to its line while every shot so far missed, so that its opening moves only cost a table lookup. Each
+ * game plays the line in 1 of the 8 orientations of the grid (see <code>Symmetry</code>), drawn (pseudo-)randomly, so
+ * that the opening can't be learnt.
+ *
+ * The book is the <code>openings.bin</code> resource next to this class. It's memory-mapped when it's a plain file,
+ * and read into memory otherwise (from a jar). All numbers are big-endian:
+ * <pre>
+ * int   Magic number, <code>OpeningBook.MAGIC</code>
+ * short Version, <code>OpeningBook.VERSION</code>
+ * short Number of lines
+ * For each line, 8 bytes:
+ *   byte  Grid size
+ *   byte  Ship types. Bit (i - 1) is set if Initialization Variable i is true.
+ *   short Number of shots
+ *   int   Offset of the shots from the start of the book
+ * For each shot, 1 byte: the tile index, unsigned.
+ * </pre>
+ *
+ * @author blackk100
+ */
+public final class OpeningBook {
+
+	/**
+	 * Name of the book's resource, relative to this class.
+	 */
+	public static final String RESOURCE = "openings.bin";
+
+	/**
+	 * Magic number starting the book ("JSOB").
+	 */
+	static final int MAGIC = 0x4A534F42;
+
+	/**
+	 * Version of the book format.
+	 */
+	static final short VERSION = 1;
+
+	/**
+	 * Maximum number of shots in a line.
+	 */
+	static final int DEPTH = 32;
+
+	/**
+	 * Number of layouts drawn to generate each line.
+	 */
+	static final int SAMPLES = 1 << 17;
+
+	/**
+	 * A line ends once fewer than 1 in this many layouts would have been missed by all of its shots: the shots after
+	 * that would hardly ever be played, and are drawn from too few layouts.
+	 */
+	static final int CUTOFF = 100;
+
+	/**
+	 * Size of each entry of the line directory, in bytes.
+	 */
+	private static final int ENTRY = 8;
+
+	/**
+	 * Size of the header, in bytes.
+	 */
+	private static final int HEADER = 8;
+
+	/**
+	 * The contents of the book. Read with absolute gets only, so it can be shared between threads.
+	 */
+	private final ByteBuffer book;
+
+	/**
+	 * Constructor for the OpeningBook class.
+	 *
+	 * @param book The contents of the book
+	 *
+	 * @throws IllegalArgumentException if the contents aren't a book of this version.
+	 */
+	OpeningBook(ByteBuffer book) {
+		if ((book.limit() < OpeningBook.HEADER) || (book.getInt(0) != OpeningBook.MAGIC)
+				|| (book.getShort(4) != OpeningBook.VERSION)
+				|| (book.limit() < OpeningBook.HEADER + OpeningBook.ENTRY * book.getShort(6))) {
+			throw new IllegalArgumentException("Not an opening book of version " + OpeningBook.VERSION);
+		}
+
+		this.book = book;
+	}
+
+	/**
+	 * Returns the shared opening book, loading it on the first call.
+	 *
+	 * @return the book. Empty if it couldn't be loaded.
+	 */
+	public static OpeningBook shared() {
+		return Shared.BOOK;
+	}
+
+	/**
+	 * Returns the line of the given match configuration, in a (pseudo-)randomly drawn orientation of the grid.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param random   Random number generator
+	 *
+	 * @return the tile indices of the shots, or null if the book has no line for the configuration.
+	 */
+	public int[] line(boolean[] initVars, SplittableRandom random) {
+		int gridSize = initVars[0] ? 15 : 10;
+		int ships = OpeningBook.ships(initVars);
+
+		for (int line = 0; line < this.book.getShort(6); line++) {
+			int entry = OpeningBook.HEADER + line * OpeningBook.ENTRY;
+			if ((this.book.get(entry) != gridSize) || (this.book.get(entry + 1) != ships)) {
+				continue;
+			}
+
+			Symmetry symmetry = Symmetry.of(gridSize);
+			int orientation = random.nextInt(Symmetry.ORIENTATIONS);
+			int offset = this.book.getInt(entry + 4);
+			int[] cells = new int[this.book.getShort(entry + 2)];
+			for (int shot = 0; shot < cells.length; shot++) {
+				cells[shot] = symmetry.apply(orientation, this.book.get(offset + shot) & 0xFF);
+			}
+
+			return cells;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Packs the ship types enabled in the Initialization Variables into a bitmask.
+	 *
+	 * @param initVars Initialization Variables
+	 *
+	 * @return the bitmask. Bit (i - 1) is set if Initialization Variable i is true.
+	 */
+	static int ships(boolean[] initVars) {
+		int ships = 0;
+		for (int type = 1; type < 5; type++) {
+			if (initVars[type]) {
+				ships |= 1 << (type - 1);
+			}
+		}
+
+		return ships;
+	}
+
+	/**
+	 * Loads the book resource.
+	 *
+	 * @return the book. Empty if it couldn't be loaded.
+	 */
+	private static OpeningBook load() {
+		URL url = OpeningBook.class.getResource(OpeningBook.RESOURCE);
+		try {
+			if (url == null) {
+				throw new IOException("Resource not found");
+			}
+
+			ByteBuffer book;
+			if ("file".equals(url.getProtocol())) { // Maps the file, so only the pages used are ever read.
+				try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+					book = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				}
+			} else {                                // Can't be mapped from inside a jar.
+				try (InputStream in = url.openStream()) {
+					ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					byte[] buffer = new byte[4096];
+					for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+						bytes.write(buffer, 0, read);
+					}
+					book = ByteBuffer.wrap(bytes.toByteArray());
+				}
+			}
+
+			return new OpeningBook(book);
+		} catch (IOException | URISyntaxException | IllegalArgumentException e) {
+			System.err.println("Opening book not loaded: " + e.getMessage());
+			return new OpeningBook(OpeningBook.build(new int[0][]));
+		}
+	}
+
+	/**
+	 * Generates the book for every match configuration, and writes it to the given file.
+	 *
+	 * @param args The path of the book. Defaults to <code>src/game/ai/openings.bin</code>.
+	 *
+	 * @throws IOException if the book can't be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		Path path = Paths.get((args.length > 0) ? args[0] : "src/game/ai/" + OpeningBook.RESOURCE);
+
+		int[][] lines = new int[2 * 15][];
+		int configs = 0;
+		for (int size = 0; size < 2; size++) {
+			for (int ships = 1; ships < 16; ships++) {
+				boolean[] initVars = {size == 1, (ships & 1) != 0, (ships & 2) != 0, (ships & 4) != 0, (ships & 8) != 0};
+				int[] line = OpeningBook.generate(initVars, OpeningBook.SAMPLES, configs);
+
+				lines[configs] = new int[line.length + 2];
+				lines[configs][0] = initVars[0] ? 15 : 10;
+				lines[configs][1] = ships;
+				System.arraycopy(line, 0, lines[configs], 2, line.length);
+				configs++;
+				System.out.println("Line " + configs + ": " + line.length + " shots");
+			}
+		}
+
+		ByteBuffer book = OpeningBook.build(lines);
+		Files.write(path, book.array());
+		System.out.println("Opening book written to " + path);
+	}
+
+	/**
+	 * Generates the line of a match configuration.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param samples  The number of layouts to draw.
+	 * @param seed     The seed of the random number generator.
+	 *
+	 * @return the tile indices of the shots.
+	 */
+	static int[] generate(boolean[] initVars, int samples, long seed) {
+		int gridSize = initVars[0] ? 15 : 10;
+		int cells = gridSize * gridSize;
+		int[] fleet = Board.shipLengths(initVars);
+		int[][] layouts = new Layouts(gridSize, fleet).sample(samples, seed);
+		int sections = 0; // Total length of the fleet
+		for (int length : fleet) {
+			sections += length;
+		}
+
+		int[][] occupied = new int[samples][sections]; // The tiles occupied by each layout
+		for (int sample = 0; sample < samples; sample++) {
+			for (int ship = 0, section = 0; ship < fleet.length; ship++) {
+				Placements table = Placements.of(gridSize, fleet[ship]);
+				for (int l = 0; l < fleet[ship]; l++) {
+					occupied[sample][section++] = table.cell(layouts[sample][ship], l);
+				}
+			}
+		}
+
+		int[] line = new int[OpeningBook.DEPTH];
+		boolean[] missed = new boolean[samples]; // Whether each layout still misses every shot of the line
+		Arrays.fill(missed, true);
+		int left = samples;
+		int shots = 0;
+		while ((shots < OpeningBook.DEPTH) && (left * OpeningBook.CUTOFF >= samples)) {
+			int[] tally = new int[cells];
+			for (int sample = 0; sample < samples; sample++) {
+				if (missed[sample]) {
+					for (int cell : occupied[sample]) {
+						tally[cell]++;
+					}
+				}
+			}
+
+			int best = 0;
+			for (int cell = 1; cell < cells; cell++) {
+				if (tally[cell] > tally[best]) {
+					best = cell;
+				}
+			}
+			if (tally[best] == 0) {
+				break;
+			}
+
+			line[shots++] = best;
+			for (int sample = 0; sample < samples; sample++) {
+				if (missed[sample]) {
+					for (int cell : occupied[sample]) {
+						if (cell == best) {
+							missed[sample] = false;
+							left--;
+							break;
+						}
+					}
+				}
+			}
+		}
+
+		return Arrays.copyOf(line, shots);
+	}
+
+	/**
+	 * Lays out a book.
+	 *
+	 * @param lines Each line: the grid size, the ship types bitmask, then the tile index of each shot.
+	 *
+	 * @return the contents of the book, backed by an array.
+	 */
+	static ByteBuffer build(int[][] lines) {
+		int size = OpeningBook.HEADER + OpeningBook.ENTRY * lines.length;
+		for (int[] line : lines) {
+			size += line.length - 2;
+		}
+
+		ByteBuffer book = ByteBuffer.allocate(size);
+		book.putInt(OpeningBook.MAGIC);
+		book.putShort(OpeningBook.VERSION);
+		book.putShort((short) lines.length);
+
+		int offset = OpeningBook.HEADER + OpeningBook.ENTRY * lines.length;
+		for (int[] line : lines) {
+			book.put((byte) line[0]);
+			book.put((byte) line[1]);
+			book.putShort((short) (line.length - 2));
+			book.putInt(offset);
+			offset += line.length - 2;
+		}
+		for (int[] line : lines) {
+			for (int shot = 2; shot < line.length; shot++) {
+				book.put((byte) line[shot]);
+			}
+		}
+
+		return book;
+	}
+
+	/**
+	 * Holder of the shared book, so that it's only loaded once it's first needed.
+	 */
+	private static final class Shared {
+
+		/**
+		 * The shared book.
+		 */
+		static final OpeningBook BOOK = OpeningBook.load();
+
+	}
+
+}
@@ -0,0 +1,316 @@
+package game.ai;
+
+import game.grid.Board;
+import game.grid.Ship;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * Enforces a per-move time budget on an AI.
+ *
+ * Each move of the AI is chosen on a background thread, and handed back through a <code>CompletableFuture</code>
+ * (<code>think()</code>). If it isn't chosen within the budget, or is cancelled, the move is abandoned and a fallback
+ * AI (usually a strategy declaring <code>Strategy.Capability.FALLBACK</code>) fires instead (<code>fallBack()</code>).
+ * The abandoned move is asked to stop, and the fallback AI keeps firing until it has: the AI is only used again once
+ * it has finished, so an AI that overruns never stalls the game.
+ *
+ * Strategies declaring <code>Strategy.Capability.STOPPABLE</code> are told to wrap up a little before the budget runs
+ * out, so that they can still fire with a shortened search.
+ *
+ * With a budget of <code>Referee.UNLIMITED</code>, moves are never abandoned, and <code>fireCells()</code> chooses them
+ * on the calling thread. Used for batch runs, where the moves of many games are already spread across threads.
+ *
+ * The setters are passed on to both AIs, so that either can take the next move.
+ *
+ * Apart from the futures it returns, a Referee must only be used from a single thread.
+ *
+ * @author blackk100
+ */
+public final class Referee {
+
+	/**
+	 * Default time budget of a move, in milliseconds.
+	 */
+	public static final long DEFAULT_BUDGET = 2000;
+
+	/**
+	 * Time budget of a move that never runs out.
+	 */
+	public static final long UNLIMITED = 0;
+
+	/**
+	 * Background threads choosing the moves. Daemon threads, so that an abandoned move never keeps the game open.
+	 */
+	private static final ExecutorService THINKERS = Executors.newCachedThreadPool(task -> {
+		Thread thread = new Thread(task, "JShip AI");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Background thread ending moves that run over their budget.
+	 */
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(task -> {
+		Thread thread = new Thread(task, "JShip AI Timer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * The AI whose moves are refereed.
+	 */
+	private final AI primary;
+
+	/**
+	 * The AI firing in place of <code>this.primary</code> when it runs over its budget.
+	 */
+	private final AI fallback;
+
+	/**
+	 * The time budget of a move, in nanoseconds.
+	 */
+	private final long budget;
+
+	/**
+	 * The latest move of <code>this.primary</code>. Null if none.
+	 */
+	private CompletableFuture<int[]> thinking;
+
+	/**
+	 * The move of <code>this.primary</code> that was abandoned, and may still be running. Null if none.
+	 */
+	private CompletableFuture<int[]> abandoned;
+
+	/**
+	 * The number of moves of <code>this.primary</code> abandoned so far.
+	 */
+	private int abandonedMoves = 0;
+
+	/**
+	 * The last values passed to the setters, passed on to <code>this.primary</code> once its abandoned move finishes.
+	 */
+	private Board gridSelf;
+
+	/**
+	 * See <code>this.gridSelf</code>.
+	 */
+	private Board gridOpp;
+
+	/**
+	 * See <code>this.gridSelf</code>.
+	 */
+	private Ship[] shipsOpp;
+
+	/**
+	 * Constructor for the Referee class.
+	 *
+	 * @param primary  The AI whose moves are refereed.
+	 * @param fallback The AI firing in place of the primary AI when it runs over its budget. Must share its enemy grid.
+	 * @param budget   The time budget of a move, in milliseconds, or <code>Referee.UNLIMITED</code>.
+	 */
+	public Referee(AI primary, AI fallback, long budget) {
+		if (budget < 0) {
+			throw new IllegalArgumentException("Invalid time budget: " + budget);
+		}
+
+		this.primary = primary;
+		this.fallback = fallback;
+		this.budget = TimeUnit.MILLISECONDS.toNanos(budget);
+	}
+
+	/**
+	 * Returns the time budget of a move.
+	 *
+	 * @return the budget, in milliseconds, or <code>Referee.UNLIMITED</code>.
+	 */
+	public long getBudget() {
+		return TimeUnit.NANOSECONDS.toMillis(this.budget);
+	}
+
+	/**
+	 * A getter for the number of moves of the primary AI abandoned so far, as they ran over the budget or were
+	 * cancelled.
+	 *
+	 * @return abandonedMoves the number of moves.
+	 */
+	public int getAbandonedMoves() {
+		return this.abandonedMoves;
+	}
+
+	/**
+	 * Fires the primary AI's Salvo at the player's ships, or the fallback AI's if the primary AI runs over its budget.
+	 * Blocks until the shots are chosen.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the distinct tile indices to fire at, as returned by <code>AI.fireCells(int)</code>.
+	 */
+	public int[] fireCells(int n) {
+		if ((this.budget == Referee.UNLIMITED) && this.recovered()) { // Nothing to time. Saves the thread hand-off.
+			return this.primary.fireCells(n);
+		}
+
+		try {
+			return this.think(n).get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else if (!(cause instanceof TimeoutException)) {
+				throw new IllegalStateException(cause);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		return this.fallBack(n);
+	}
+
+	/**
+	 * Starts choosing the primary AI's Salvo on a background thread.
+	 * Uses the fallback AI right away if the primary AI is still busy with an abandoned move.
+	 *
+	 * The returned future completes with the shots, or exceptionally with a <code>TimeoutException</code> once the
+	 * budget runs out. It may also be cancelled. In both cases, the shots should be taken from <code>fallBack()</code>
+	 * instead.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the future of the distinct tile indices to fire at, as returned by <code>AI.fireCells(int)</code>.
+	 */
+	public CompletableFuture<int[]> think(int n) {
+		if (!this.recovered()) { // Still busy with an abandoned move.
+			return CompletableFuture.completedFuture(this.fallback.fireCells(n));
+		}
+
+		if (this.budget != Referee.UNLIMITED) {
+			this.primary.startMove(this.budget - this.budget / 4); // Leaves stoppable AIs time to return their shots.
+		}
+		CompletableFuture<int[]> thinking = CompletableFuture.supplyAsync(() -> this.primary.fireCells(n), Referee.THINKERS);
+		this.thinking = thinking;
+
+		CompletableFuture<int[]> move = new CompletableFuture<>(); // Can be ended early without touching the AI's thread.
+		thinking.whenComplete((cells, error) -> {
+			if (error == null) {
+				move.complete(cells);
+			} else {
+				move.completeExceptionally((error instanceof CompletionException) ? error.getCause() : error);
+			}
+		});
+
+		if (this.budget != Referee.UNLIMITED) {
+			ScheduledFuture<?> timeout = Referee.TIMER.schedule(() -> move.completeExceptionally(new TimeoutException("AI ran over its time budget")), this.budget, TimeUnit.NANOSECONDS);
+			move.whenComplete((cells, error) -> timeout.cancel(false));
+		}
+		return move;
+	}
+
+	/**
+	 * Fires the fallback AI's Salvo at the player's ships, abandoning the primary AI's latest move.
+	 * Used when the future returned by <code>think()</code> timed out, was cancelled, or failed.
+	 *
+	 * @param n The number of shots.
+	 *
+	 * @return the distinct tile indices to fire at, as returned by <code>AI.fireCells(int)</code>.
+	 */
+	public int[] fallBack(int n) {
+		if (this.thinking != null) {
+			this.abandonedMoves++;
+			this.primary.stop();
+			this.abandoned = this.thinking; // Its reserved tiles are released once it finishes.
+			this.thinking = null;
+		}
+
+		return this.fallback.fireCells(n);
+	}
+
+	/**
+	 * A setter for the AIs' gridSelf.
+	 *
+	 * @param gridSelf Board of the AI
+	 */
+	public void updateGridSelf(Board gridSelf) {
+		this.gridSelf = gridSelf;
+		this.fallback.updateGridSelf(gridSelf);
+		if (this.recovered()) {
+			this.primary.updateGridSelf(gridSelf);
+		}
+	}
+
+	/**
+	 * A setter for the AIs' gridOpp.
+	 *
+	 * @param gridOpp Board of the Player
+	 */
+	public void updateGridOpp(Board gridOpp) {
+		this.gridOpp = gridOpp;
+		this.fallback.updateGridOpp(gridOpp);
+		if (this.recovered()) {
+			this.primary.updateGridOpp(gridOpp);
+		}
+	}
+
+	/**
+	 * A setter for the AIs' shipsOpp.
+	 *
+	 * @param shipsOpp Ships list of the Player
+	 */
+	public void updateShipsOpp(Ship[] shipsOpp) {
+		this.shipsOpp = shipsOpp;
+		this.fallback.updateShipsOpp(shipsOpp);
+		if (this.recovered()) {
+			this.primary.updateShipsOpp(shipsOpp);
+		}
+	}
+
+	/**
+	 * A setter for the AIs' shotsSunk.
+	 * Not passed on to the primary AI while an abandoned move is running, so it may miss some sunk ships.
+	 *
+	 * @param shotsSunk the tile indices of the shots that sunk a ship in the previous round
+	 */
+	public void updateShotsSunk(int[] shotsSunk) {
+		this.fallback.updateShotsSunk(shotsSunk);
+		if (this.recovered()) {
+			this.primary.updateShotsSunk(shotsSunk);
+		}
+	}
+
+	/**
+	 * Checks if the primary AI can be used, recovering it first if its abandoned move has just finished.
+	 *
+	 * @return true if the primary AI can be used, false if its abandoned move is still running.
+	 */
+	private boolean recovered() {
+		if (this.abandoned == null) {
+			return true;
+		}
+		if (!this.abandoned.isDone()) {
+			return false;
+		}
+
+		this.abandoned = null;
+		this.primary.recover();
+		if (this.gridSelf != null) { // Passes on the values it missed.
+			this.primary.updateGridSelf(this.gridSelf);
+		}
+		if (this.shipsOpp != null) {
+			this.primary.updateShipsOpp(this.shipsOpp);
+		}
+		if (this.gridOpp != null) {
+			this.primary.updateGridOpp(this.gridOpp);
+		}
+		return true;
+	}
+
+}
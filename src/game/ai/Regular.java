@@ -1,8 +1,13 @@
 package game.ai;
 
-import game.grid.Location;
+import game.grid.Board;
+import game.grid.Cell;
+import game.grid.PaddedGrid;
 import game.grid.Ship;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
 
 
 /**
@@ -16,42 +21,81 @@ public final class Regular extends AI {
 	/**
 	 * Constant value of '0' indicating that there isn't any data on the given location.
 	 */
-	private final int NO_DATA = 0;
+	private final byte NO_DATA = 0;
 
 	/**
 	 * Constant value of '1' indicating that the position has been shot at and was a miss, or doesn't have a ship part.
 	 */
-	private final int MISS = 1;
+	private final byte MISS = 1;
 
 	/**
 	 * Constant value of '2' indicating that the position has been shot at and was a hit.
 	 */
-	private final int HIT = 2;
+	private final byte HIT = 2;
 
 	/**
 	 * Constant value of '3' indicating that the position may have a ship part.
 	 */
-	private final int LIKELY = 3;
+	private final byte LIKELY = 3;
 
 	/**
-	 * A 2-Dimensional boolean array indicating the possible locations of the ship.
+	 * A grid indicating the possible locations of the ship.
 	 *
 	 * Takes the values of <code>this.NO_DATA</code>, <code>this.MISS</code>, <code>this.HIT</code> and
-	 * <code>this.LIKELY</code>.
+	 * <code>this.LIKELY</code>. Surrounded by a ring of <code>PaddedGrid.SENTINEL</code> tiles, which none of the
+	 * setters below change, so that neighbours can be looked up without checking for the edges of the grid.
 	 */
-	private int[][] probability;
+	private PaddedGrid probability;
+
+	/**
+	 * The locations set to <code>this.LIKELY</code> and not fired at yet, one bit per tile index.
+	 * Taken out from the lowest tile index up, i.e., in the order of a pass over the grid. Locations that changed since
+	 * are skipped when taken out.
+	 */
+	private final long[] likely;
+
+	/**
+	 * The locations to look at in the current update, one bit per tile index.
+	 */
+	private final long[] pending;
+
+	/**
+	 * The hits to look at again in the next update, one bit per tile index.
+	 * A hit looked at before a new hit next to it didn't see that hit yet, like in a pass over the whole grid.
+	 */
+	private final long[] recheck;
+
+	/**
+	 * The number of entries of gridOpp's shot log that were already applied to <code>this.probability</code>.
+	 */
+	private int applied;
 
 	/**
 	 * Constructor for the Regular AI.
 	 *
 	 * @param initVars Initialization Variables
 	 * @param gridOpp  Enemy Grid
-	 * @param shipsOpp Enemy Ships
 	 */
-	public Regular(boolean[] initVars, Location[][] gridOpp, Ship[] shipsOpp) {
-		super(initVars, gridOpp, shipsOpp);
+	public Regular(boolean[] initVars, Board gridOpp) {
+		this(initVars, gridOpp, new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for the Regular AI, with the given random number generator.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param random   Random number generator
+	 */
+	public Regular(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+		super(initVars, gridOpp, random);
+
+		this.probability = new PaddedGrid(this.gridSize); // Initializes probability. All tiles start equal to this.NO_DATA.
 
-		this.probability = new int[this.gridSize][this.gridSize]; // Initializes probability. As default value for int is 0, all elements are equal to this.NO_DATA.
+		int words = (this.gridSize * this.gridSize + 63) >>> 6; // Bits per tile index
+		this.likely = new long[words];
+		this.pending = new long[words];
+		this.recheck = new long[words];
 	}
 
 	/**
@@ -66,395 +110,255 @@ public final class Regular extends AI {
 	 *
 	 * The process is then repeated.
 	 *
-	 * @return an integer array. The 1st value is the X-Coordinate. The 2nd value is the Y-Coordinate.
+	 * @return the tile index to fire at.
 	 */
 	@Override
-	public int[] fire() {
-		int[] xy = this.randomFire(); // Firing Coordinates
-
-		huntCheck:
-		for (int y = 0; y < this.gridSize; y++) {
-			for (int x = 0; x < this.gridSize; x++) {
-				if (this.probability[y][x] == this.LIKELY) {
-					xy = new int[] {x, y};
-					this.probability[y][x] = this.NO_DATA; // Prevents the AI from shooting at the same spot in Salvo.
-					break huntCheck;
+	public int fireCell() {
+		this.sync();
+
+		for (int w = 0; w < this.likely.length; w++) {
+			while (this.likely[w] != 0) {
+				int cell = (w << 6) + Long.numberOfTrailingZeros(this.likely[w]); // Firing Tile
+				this.likely[w] &= this.likely[w] - 1;                            // Prevents the AI from shooting at the same spot in Salvo.
+				if ((this.probability.get(this.probability.index(cell)) == this.LIKELY) && this.unguessed.contains(cell)) { // Skips tiles that changed since.
+					this.reserve(cell);
+					return cell;
 				}
 			}
 		}
 
-		return xy;
+		return this.randomFire();
 	}
 
 	/**
 	 * A setter for gridOpp.
 	 * Also updates <code>this.probability</code>.
 	 *
-	 * @param gridOpp Location Grid of the Player
+	 * @param gridOpp Board of the Player
 	 */
 	@Override
-	public void updateGridOpp(Location[][] gridOpp) {
-		this.gridOpp = gridOpp;
+	public void updateGridOpp(Board gridOpp) {
+		if (gridOpp != this.gridOpp) { // A different board. Starts over.
+			this.probability = new PaddedGrid(this.gridSize);
+			Arrays.fill(this.likely, 0L);
+			Arrays.fill(this.recheck, 0L);
+			this.applied = 0;
+		}
+		super.updateGridOpp(gridOpp);
 
 		this.setSunk();
 		this.setProbability();
 	}
 
 	/**
-	 * Support function 1 for the AI to fire at the player's ships.
-	 * The coordinates are always (psuedo-)randomly generated.
-	 *
-	 * Is identical to <code>Sandbox.fire()</code>
-	 *
-	 * @return an integer array. The 1st value is the x-Coordinate, 2nd value is the Y-Coordinate.
+	 * Makes the AI usable again after an abandoned move.
+	 * The abandoned move may have taken <code>this.LIKELY</code> locations out of <code>this.likely</code> without
+	 * firing at them, so it is rebuilt from <code>this.probability</code>.
 	 */
-	private int[] randomFire() {
-		int[] xy = new int[2];        // Firing coordinates.
-		int[] temp = new int[2];      // Temporary variable to store coordinates if xy refers to a guessed position.
-		Random random = new Random(); // Random data type generator (built-in class).
-
-		// If xy refers to a guessed coordinate, or a location that borders a ship tile that has been guessed, regenerate it.
-		do { // Do initializes xy.
-			for (int i = 0; i < 2; i++) {
-				temp[i] = random.nextInt(this.gridSize);
-			}
-			xy = temp;
-
-			if (!this.gridOpp[xy[1]][xy[0]].isUnguessed()) { // Checks if the current location has been guessed.
-				continue;
-			} else {                                         // Checks if the current location borders any known ship.
-				if ((xy[0] > 0) && (xy[0] < this.gridSize - 1) && (xy[1] > 0) && (xy[1] < this.gridSize - 1)) { // Not at edges
-					if (this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1]][xy[0] + 1].isHit()) {
-						continue;
-					}
-				} else {                                     // At the Edges
-					if (xy[1] == 0) {                          // Top edge
-						if (xy[0] == 0) {                        // Top-Left Corner
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else if (xy[0] == this.gridSize - 1) { // Top-Right Corner
-							if (this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else {                                 // Top Edge (excluding Corners)
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						}
-					} else if (xy[1] == this.gridSize - 1) {   // Bottom Edge
-						if (xy[0] == 0) {                        // Bottom-Left Corner
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else if (xy[0] == this.gridSize - 1) { // Bottom-Right Corner
-							if (this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else {                                 // Bottom Edge (excluding Corners)
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						}
-					} else if (xy[0] == 0) {                   // Left Edge (excluding Corners)
-						if (this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] + 1].isHit()) {
-							continue;
-						}
-					} else {                                   // Rght Edge (ecluding Corners)
-						if (this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit()) {
-							continue;
-						}
-					}
-				}
-			}
-
-			break;
-		} while (true);
+	@Override
+	protected void recover() {
+		super.recover();
 
-		return xy;
+		Arrays.fill(this.likely, 0L);
+		for (int cell = 0; cell < this.gridOpp.cells; cell++) {
+			if (this.probability.get(this.probability.index(cell)) == this.LIKELY) {
+				Regular.mark(this.likely, cell);
+			}
+		}
 	}
 
 	/**
 	 * Sets the probability values.
+	 *
+	 * Only the shots made since the last call, the locations next to new hits or sunk ships, and the hits marked in
+	 * <code>this.recheck</code> are looked at. They're looked at in the order of a pass over the whole grid, which
+	 * gives the same result, as the locations left out wouldn't change anything.
 	 */
 	private void setProbability() {
-		for (int y = 0; y < this.gridSize; y++) {
-			for (int x = 0; x < this.gridSize; x++) {
-				if (this.gridOpp[y][x].isHit()) {         // Checks if the location is guessed and the shot hit.
-					this.setHit(x, y);
+		for (int w = 0; w < this.pending.length; w++) {
+			this.pending[w] |= this.recheck[w];
+			this.recheck[w] = 0L;
+		}
+		while (this.applied < this.gridOpp.getShots()) {
+			int cell = this.gridOpp.getShot(this.applied++);
+			Regular.mark(this.pending, cell);
+			if (this.gridOpp.isHit(cell)) { // The new hit changes the adjacent hits of its neighbours.
+				this.markAdjacent(this.pending, cell);
+				this.markAdjacent(this.recheck, cell);
+			}
+		}
+
+		for (int w = 0; w < this.pending.length; w++) {
+			while (this.pending[w] != 0) {
+				int cell = (w << 6) + Long.numberOfTrailingZeros(this.pending[w]);
+				this.pending[w] &= this.pending[w] - 1;
+				int i = this.probability.index(cell);
+
+				if (this.gridOpp.isHit(cell)) {         // Checks if the location is guessed and the shot hit.
+					this.setHit(i);
 
-					int adjacent = this.checkAdjacentHit(x, y);
+					int adjacent = this.checkAdjacentHit(i);
 					if (adjacent == 0) {   // Checks if this location contains a ship part.
-						this.setAdjacentLikely(x, y);
+						this.setAdjacentLikely(i);
 					} else {               // Possible start of a ship or the middle of a ship.
 						if (adjacent == 1) { // Checks if this location is the possible start of a ship.
-							this.setAdjacentLikely(x, y, adjacent == 3);
+							this.setAdjacentLikely(i, adjacent == 3);
 						}
-						this.setAdjacentMiss(x, y, adjacent == 3);
+						this.setAdjacentMiss(i, adjacent == 3);
 					}
-				} else if (this.gridOpp[y][x].isMiss()) { // Checks if the location is guessed but the shot missed.
-					this.setMiss(x, y);
+				} else if (this.gridOpp.isMiss(cell)) { // Checks if the location is guessed but the shot missed.
+					this.setMiss(i);
 				}
 			}
 		}
+	}
 
+	/**
+	 * Marks the given tile in the given bits.
+	 *
+	 * @param bits One bit per tile index
+	 * @param cell Tile index
+	 */
+	private static void mark(long[] bits, int cell) {
+		bits[cell >>> 6] |= 1L << cell;
 	}
 
 	/**
-	 * Returns whether the given coordinate has 0, 1, or 2 adjacent positions with hits.
+	 * Marks the tiles adjacent to the given tile in the given bits.
 	 *
-	 * @param x X-Coordinate
-	 * @param y Y-Coordinate
+	 * @param bits One bit per tile index
+	 * @param cell Tile index
+	 */
+	private void markAdjacent(long[] bits, int cell) {
+		int x = cell % this.gridSize;
+		if (x > 0) {
+			Regular.mark(bits, cell - 1);
+		}
+		if (x < this.gridSize - 1) {
+			Regular.mark(bits, cell + 1);
+		}
+		if (cell >= this.gridSize) {
+			Regular.mark(bits, cell - this.gridSize);
+		}
+		if (cell < this.gridSize * (this.gridSize - 1)) {
+			Regular.mark(bits, cell + this.gridSize);
+		}
+	}
+
+	/**
+	 * Returns whether the given location has 0, 1, or 2 adjacent positions with hits.
+	 *
+	 * @param i Padded index of the location
 	 *
 	 * @return an integer. 0 - No adjacent hits; 1 - 1 adjacent hit; 2 - 2 adjacent hits horizontally;
 	 *         3 - 2 adjacent hits vertically.
 	 */
-	private int checkAdjacentHit(int x, int y) {
-		int ret = 0;
-
-		if ((x > 0) && (x < this.gridSize - 1) && (y > 0) && (y < this.gridSize - 1)) { // Not at edges
-			if (this.checkHit(x, y - 1) || this.checkHit(x, y + 1) || this.checkHit(x - 1, y) || this.checkHit(x + 1, y)) {
-				if (this.checkHit(x - 1, y) && this.checkHit(x + 1, y)) {
-					ret = 2;
-				} else if (this.checkHit(x, y - 1) && this.checkHit(x, y + 1)) {
-					ret = 3;
-				} else {
-					ret = 1;
-				}
-			}
-		} else {                                 // At the Edges
-			if (y == 0) {                          // Top edge
-				if (x == 0) {                        // Top-Left Corner
-					if (this.checkHit(x, y + 1) || this.checkHit(x + 1, y)) {
-						ret = 1;
-					}
-				} else if (x == this.gridSize - 1) { // Top-Right Corner
-					if (this.checkHit(x, y + 1) || this.checkHit(x - 1, y)) {
-						ret = 1;
-					}
-				} else {                             // Top Edge (excluding Corners)
-					if (this.checkHit(x, y + 1)) {
-						ret = 1;
-					} else if (this.checkHit(x - 1, y) || this.checkHit(x + 1, y)) {
-						if (this.checkHit(x - 1, y) && this.checkHit(x + 1, y)) {
-							ret = 2;
-						} else {
-							ret = 1;
-						}
-					}
-				}
-			} else if (y == this.gridSize - 1) {   // Bottom Edge
-				if (x == 0) {                        // Bottom-Left Corner
-					if (this.checkHit(x, y - 1) || this.checkHit(x + 1, y)) {
-						ret = 1;
-					}
-				} else if (x == this.gridSize - 1) { // Bottom-Right Corner
-					if (this.checkHit(x, y - 1) || this.checkHit(x - 1, y)) {
-						ret = 1;
-					}
-				} else {                             // Bottom Edge (excluding Corners)
-					if (this.checkHit(x, y - 1)) {
-						ret = 1;
-					} else if (this.checkHit(x - 1, y) || this.checkHit(x + 1, y)) {
-						if (this.checkHit(x - 1, y) && this.checkHit(x + 1, y)) {
-							ret = 2;
-						} else {
-							ret = 1;
-						}
-					}
-				}
-			} else if (x == 0) {                   // Left Edge (excluding Corners)
-				if (this.checkHit(x + 1, y)) {
-					ret = 1;
-				} else if (this.checkHit(x, y - 1) || this.checkHit(x, y + 1)) {
-					if (this.checkHit(x, y - 1) && this.checkHit(x, y + 1)) {
-						ret = 3;
-					} else {
-						ret = 1;
-					}
-				}
-			} else {                               // Rght Edge (ecluding Corners)
-				if (this.checkHit(x - 1, y)) {
-					ret = 1;
-				} else if (this.checkHit(x, y - 1) || this.checkHit(x, y + 1)) {
-					if (this.checkHit(x, y - 1) && this.checkHit(x, y + 1)) {
-						ret = 3;
-					} else {
-						ret = 1;
-					}
-				}
-			}
+	private int checkAdjacentHit(int i) {
+		boolean left = this.checkHit(i + PaddedGrid.LEFT);
+		boolean right = this.checkHit(i + PaddedGrid.RIGHT);
+		boolean up = this.checkHit(i + this.probability.up);
+		boolean down = this.checkHit(i + this.probability.down);
+
+		if (left && right) {
+			return 2;
+		} else if (up && down) {
+			return 3;
+		} else if (left || right || up || down) {
+			return 1;
 		}
 
-		return ret;
+		return 0;
 	}
 
 	/**
 	 * Sets adjacent locations to be <code>this.LIKELY</code>.
 	 * Only to be used if there are no adjacent location having <code>this.HIT</code>.
 	 *
-	 * @param x X-Coordinate
-	 * @param y Y-Coordinate
+	 * @param i Padded index of the location
 	 */
-	private void setAdjacentLikely(int x, int y) {
-		if ((x > 0) && (x < this.gridSize - 1) && (y > 0) && (y < this.gridSize - 1)) { // Not at edges
-			this.setLikely(x, y - 1);
-			this.setLikely(x, y + 1);
-			this.setLikely(x - 1, y);
-			this.setLikely(x + 1, y);
-		} else {                                                                        // At the Edges
-			if (y == 0) {                                                                 // Top edge
-				if (x == 0) {                                                               // Top-Left Corner
-					this.setLikely(x, y + 1);
-					this.setLikely(x + 1, y);
-				} else if (x == this.gridSize - 1) {                                        // Top-Right Corner
-					this.setLikely(x, y + 1);
-					this.setLikely(x - 1, y);
-				} else {                                                                    // Top Edge (excluding Corners)
-					this.setLikely(x, y + 1);
-					this.setLikely(x - 1, y);
-					this.setLikely(x + 1, y);
-				}
-			} else if (y == this.gridSize - 1) {                                          // Bottom Edge
-				if (x == 0) {                                                               // Bottom-Left Corner
-					this.setLikely(x, y - 1);
-					this.setLikely(x + 1, y);
-				} else if (x == this.gridSize - 1) {                                        // Bottom-Right Corner
-					this.setLikely(x, y - 1);
-					this.setLikely(x - 1, y);
-				} else {                                                                    // Bottom Edge (excluding Corners)
-					this.setLikely(x, y - 1);
-					this.setLikely(x - 1, y);
-					this.setLikely(x + 1, y);
-				}
-			} else if (x == 0) {                                                          // Left Edge (excluding Corners)
-				this.setLikely(x, y - 1);
-				this.setLikely(x, y + 1);
-				this.setLikely(x + 1, y);
-			} else {                                                                      // Rght Edge (ecluding Corners)
-				this.setLikely(x, y - 1);
-				this.setLikely(x, y + 1);
-				this.setLikely(x - 1, y);
-			}
-		}
+	private void setAdjacentLikely(int i) {
+		this.setLikely(i + this.probability.up);
+		this.setLikely(i + this.probability.down);
+		this.setLikely(i + PaddedGrid.LEFT);
+		this.setLikely(i + PaddedGrid.RIGHT);
 	}
 
 	/**
 	 * Sets adjacent locations to be <code>this.LIKELY</code>.
 	 * Only to be used if there is a single adjacent location having <code>this.HIT</code>.
 	 *
-	 * @param x         X-Coordinate
-	 * @param y         Y-Coordinate
+	 * @param i         Padded index of the location
 	 * @param direction a boolean indicating whether the ship is placed vertically (true) or horizontally (false).
 	 */
-	private void setAdjacentLikely(int x, int y, boolean direction) {
-		if ((x == 0) || (x == this.gridSize - 1)) {         // Checks if the location is at an horizontal edge.
-			if (direction) {                                  // Checks if no ships start here.
-				if (this.checkHit(x, y - 1)) {
-					this.setLikely(x, y + 1);
-				} else {
-					this.setLikely(x, y - 1);
-				}
-			}
-		} else if ((y == 0) || (y == this.gridSize - 1)) { // Checks if the location is at a vertical edge and if no ships start here.
-			if (!direction) {                                // Checks if no ships start here.
-				if (this.checkHit(x - 1, y)) {
-					this.setLikely(x + 1, y);
-				} else {
-					this.setLikely(x - 1, y);
-				}
-			}
-		} else {                                           // Not at an edge.
-			if (direction) {                                 // Checks if the ship is placed vertically.
-				if (this.checkHit(x, y - 1)) {
-					this.setLikely(x, y + 1);
-				} else {
-					this.setLikely(x, y - 1);
-				}
-			} else {                                         // The ship is placed horizontally.
-				if (this.checkHit(x - 1, y)) {
-					this.setLikely(x + 1, y);
-				} else {
-					this.setLikely(x - 1, y);
-				}
-			}
+	private void setAdjacentLikely(int i, boolean direction) {
+		int before = direction ? this.probability.up : PaddedGrid.LEFT;  // Offset of the previous tile along the ship
+		int after = direction ? this.probability.down : PaddedGrid.RIGHT; // Offset of the next tile along the ship
+
+		if (this.checkHit(i + before)) {
+			this.setLikely(i + after);
+		} else {
+			this.setLikely(i + before);
 		}
 	}
 
 	/**
-	 * Sets the adjacent locations to the given coordinates as MISS.
+	 * Sets the adjacent locations to the given location as MISS.
 	 *
-	 * @param x         X-Coordinate
-	 * @param y         Y-Coordinate
+	 * @param i         Padded index of the location
 	 * @param direction a boolean indicating whether the ship is placed vertically (true) or horizontally (false).
 	 */
-	private void setAdjacentMiss(int x, int y, boolean direction) {
+	private void setAdjacentMiss(int i, boolean direction) {
 		if (direction) {                       // Checks if the ship is vertical.
-			if (x == 0) {                        // Checks if the location is on the Left Edge
-				this.setMiss(x + 1, y);
-			} else if (x == this.gridSize - 1) { // Checks if the location is on the Right Edge
-				this.setMiss(x - 1, y);
-			} else {                             // Not on vertical edges.
-				this.setMiss(x - 1, y);
-				this.setMiss(x + 1, y);
-			}
+			this.setMiss(i + PaddedGrid.LEFT);
+			this.setMiss(i + PaddedGrid.RIGHT);
 		} else {                               // Ship is horizontal.
-			if (y == 0) {                        // Checks if the location is on the Top Edge
-				this.setMiss(x, y + 1);
-			} else if (y == this.gridSize - 1) { // Checks if the location is on the Bottom Edge
-				this.setMiss(x, y - 1);
-			} else {                             // Not on horizontal edges.
-				this.setMiss(x, y - 1);
-				this.setMiss(x, y + 1);
-			}
+			this.setMiss(i + this.probability.up);
+			this.setMiss(i + this.probability.down);
 		}
 	}
 
 	/**
 	 * Sets the given probability location as a <code>this.HIT</code>.
 	 *
-	 * @param x X-Coordinate
-	 * @param y Y-Coordinate
+	 * @param i Padded index of the location
 	 */
-	private void setHit(int x, int y) {
-		if ((this.probability[y][x] == this.NO_DATA) || (this.probability[y][x] == this.LIKELY)) {
-			this.probability[y][x] = this.HIT;
+	private void setHit(int i) {
+		if ((this.probability.get(i) == this.NO_DATA) || (this.probability.get(i) == this.LIKELY)) {
+			this.probability.set(i, this.HIT);
 		}
 	}
 
 	/**
 	 * Returns whether the given probability location equals <code>this.HIT</code>.
 	 *
-	 * @param x X-Coordinate
-	 * @param y Y-Coordinate
+	 * @param i Padded index of the location
 	 *
-	 * @return true if hit. false if not hit.
+	 * @return true if hit. false if not hit, or part of the ring.
 	 */
-	private boolean checkHit(int x, int y) {
-		return this.probability[y][x] == this.HIT;
+	private boolean checkHit(int i) {
+		return this.probability.get(i) == this.HIT;
 	}
 
 	/**
 	 * Sets the given probability location as a <code>this.MISS</code>.
 	 *
-	 * @param x X-Coordinate
-	 * @param y Y-Coordinate
+	 * @param i Padded index of the location
 	 */
-	private void setMiss(int x, int y) {
-		if ((this.probability[y][x] == this.NO_DATA) || (this.probability[y][x] == this.LIKELY)) {
-			this.probability[y][x] = this.MISS;
+	private void setMiss(int i) {
+		if ((this.probability.get(i) == this.NO_DATA) || (this.probability.get(i) == this.LIKELY)) { // Never true for the ring.
+			this.probability.set(i, this.MISS);
 		}
 	}
 
 	/**
 	 * Sets the given probability location as a <code>this.LIKELY</code>.
 	 *
-	 * @param x X-Coordinate
-	 * @param y Y-Coordinate
+	 * @param i Padded index of the location
 	 */
-	private void setLikely(int x, int y) {
-		if (this.probability[y][x] == this.NO_DATA) {
-			this.probability[y][x] = this.LIKELY;
+	private void setLikely(int i) {
+		if (this.probability.get(i) == this.NO_DATA) { // Never true for the ring.
+			this.probability.set(i, this.LIKELY);
+			Regular.mark(this.likely, this.probability.cell(i));
 		}
 	}
 
@@ -463,36 +367,64 @@ public final class Regular extends AI {
 	 */
 	private void setSunk() {
 		for (int shot = 0; shot < this.shotsSunk.length; shot++) {
-			if ((this.shotsSunk[shot][0] > -1) && (this.shotsSunk[shot][1] > -1)) { // Checks if it a valid coordinate.
-				for (int ship = 0; ship < this.shipNos; ship++) {
-					if (this.shipsOpp[ship].getPosition(this.shotsSunk[shot]) > -1) {   // Checks if this ship was sunk with this shot.
-						int shipLength = this.shipsOpp[ship].length;            // Length
-						boolean direction = this.shipsOpp[ship].getDirection(); // Direction
-						int[] xy = this.shipsOpp[ship].getStart();              // Start Coordinates
-
-						for (int l = 0; l < shipLength; l++) {
-							this.probability[xy[1] + (direction ? l : 0)][xy[0] + (direction ? 0 : l)] = this.HIT;
-
-							// At the terminal positions of the ship.
-							if ((l == 0) && (xy[direction ? 1 : 0] != 0)) {          // Checks if the 1st tile isn't at the edge of the Board
-								this.probability[xy[1] - (direction ? 1 : 0)][xy[0] - (direction ? 0 : 1)] = this.MISS;
-							} else if ((l == shipLength - 1) && (xy[direction ? 1 : 0] + shipLength - 1 != this.gridSize - 1)) { // Checks if the last tile isn't at the edge of the Board
-								this.probability[xy[1] + (direction ? shipLength : 0)][xy[0] + (direction ? 0 : shipLength)] = this.MISS;
-							}
-							// Along the length of the ship
-							if (xy[direction ? 0 : 1] == 0) {                        // At the Top/Left edge
-								this.probability[xy[1] + (direction ? l : 1)][xy[0] + (direction ? 1 : l)] = this.MISS;
-							} else if (xy[direction ? 0 : 1] == this.gridSize - 1) { // At the Bottom/Right edge
-								this.probability[xy[1] + (direction ? l : -1)][xy[0] + (direction ? -1 : l)] = this.MISS;
-							} else {                                                 // Not at the edges
-								this.probability[xy[1] + (direction ? l : -1)][xy[0] + (direction ? -1 : l)] = this.MISS;
-								this.probability[xy[1] + (direction ? l : 1)][xy[0] + (direction ? 1 : l)] = this.MISS;
-							}
-						}
+			if (this.shotsSunk[shot] != Cell.NONE) {                 // Checks if it a valid coordinate.
+				Ship ship = this.gridOpp.getShip(this.shotsSunk[shot]); // The ship sunk with this shot.
+				if (ship != null) {
+					int shipLength = ship.length;                                 // Length
+					boolean direction = ship.getDirection();                      // Direction
+					int start = this.probability.index(ship.getStartCell());      // Padded index of the start
+					int step = direction ? this.probability.down : PaddedGrid.RIGHT; // Offset of the next section
+					int side = direction ? PaddedGrid.RIGHT : this.probability.down; // Offset of the tile beside a section
+
+					// At the terminal positions of the ship.
+					this.setMiss(start - step);
+					this.setMiss(start + shipLength * step);
+
+					for (int l = 0; l < shipLength; l++) {
+						int i = start + l * step;
+						this.probability.set(i, this.HIT);
+						Regular.mark(this.pending, this.probability.cell(i)); // Changes the adjacent hits of its neighbours.
+						this.markAdjacent(this.pending, this.probability.cell(i));
+
+						// Along the length of the ship
+						this.setMiss(i - side);
+						this.setMiss(i + side);
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Registers the Regular AI as the "R" strategy.
+	 */
+	public static final class Provider implements Strategy {
+
+		@Override
+		public String id() {
+			return "R";
+		}
+
+		@Override
+		public String name() {
+			return "Realistic";
+		}
+
+		@Override
+		public Set<Capability> capabilities() {
+			return EnumSet.noneOf(Capability.class);
+		}
+
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp) {
+			return new Regular(initVars, gridOpp);
+		}
+
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+			return new Regular(initVars, gridOpp, random);
+		}
+
+	}
+
 }
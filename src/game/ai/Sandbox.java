@@ -1,8 +1,9 @@
 package game.ai;
 
-import game.grid.Location;
-import game.grid.Ship;
-import java.util.Random;
+import game.grid.Board;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
 
 
 /**
@@ -18,83 +19,63 @@ public final class Sandbox extends AI {
 	 *
 	 * @param initVars Initialization Variables
 	 * @param gridOpp  Enemy Grid
-	 * @param shipsOpp Enemy Ships
 	 */
-	public Sandbox(boolean[] initVars, Location[][] gridOpp, Ship[] shipsOpp) {
-		super(initVars, gridOpp, shipsOpp);
+	public Sandbox(boolean[] initVars, Board gridOpp) {
+		this(initVars, gridOpp, new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for the Sandbox AI, with the given random number generator.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param random   Random number generator
+	 */
+	public Sandbox(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+		super(initVars, gridOpp, random);
 	}
 
 	/**
 	 * Function for the AI to fire at the player's ships.
 	 * The coordinates are always (psuedo-)randomly generated.
 	 *
-	 * @return an integer array. The 1st value is the x-Coordinate, 2nd value is the Y-Coordinate.
+	 * @return the tile index to fire at.
 	 */
 	@Override
-	public int[] fire() {
-		int[] xy = new int[2];        // Firing coordinates.
-		int[] temp = new int[2];      // Temporary variable to store coordinates if xy refers to a guessed position.
-		Random random = new Random(); // Random data type generator (built-in class).
+	public int fireCell() {
+		return this.randomFire();
+	}
+
+	/**
+	 * Registers the Sandbox AI as the "S" strategy.
+	 */
+	public static final class Provider implements Strategy {
+
+		@Override
+		public String id() {
+			return "S";
+		}
+
+		@Override
+		public String name() {
+			return "Sandbox";
+		}
 
-		// If xy refers to a guessed coordinate, or a location that borders a ship tile that has been guessed, regenerate it.
-		do { // Do initializes xy.
-			for (int i = 0; i < 2; i++) {
-				temp[i] = random.nextInt(this.gridSize);
-			}
-			xy = temp;
+		@Override
+		public Set<Capability> capabilities() {
+			return EnumSet.of(Capability.FALLBACK);
+		}
 
-			if (!this.gridOpp[xy[1]][xy[0]].isUnguessed()) { // Checks if the current location has been guessed.
-				continue;
-			} else {                                         // Checks if the current location borders any known ship.
-				if ((xy[0] > 0) && (xy[0] < this.gridSize - 1) && (xy[1] > 0) && (xy[1] < this.gridSize - 1)) { // Not at edges
-					if (this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1]][xy[0] + 1].isHit()) {
-						continue;
-					}
-				} else {                                     // At the Edges
-					if (xy[1] == 0) {                          // Top edge
-						if (xy[0] == 0) {                        // Top-Left Corner
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else if (xy[0] == this.gridSize - 1) { // Top-Right Corner
-							if (this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else {                                 // Top Edge (excluding Corners)
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] + 1][xy[0]].isHit()) {
-								continue;
-							}
-						}
-					} else if (xy[1] == this.gridSize - 1) {   // Bottom Edge
-						if (xy[0] == 0) {                        // Bottom-Left Corner
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else if (xy[0] == this.gridSize - 1) { // Bottom-Right Corner
-							if (this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						} else {                                 // Bottom Edge (excluding Corners)
-							if (this.gridOpp[xy[1]][xy[0] + 1].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit()) {
-								continue;
-							}
-						}
-					} else if (xy[0] == 0) {                   // Left Edge (excluding Corners)
-						if (this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] + 1].isHit()) {
-							continue;
-						}
-					} else {                                   // Rght Edge (ecluding Corners)
-						if (this.gridOpp[xy[1] + 1][xy[0]].isHit() || this.gridOpp[xy[1] - 1][xy[0]].isHit() || this.gridOpp[xy[1]][xy[0] - 1].isHit()) {
-							continue;
-						}
-					}
-				}
-			}
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp) {
+			return new Sandbox(initVars, gridOpp);
+		}
 
-			break;
-		} while (true);
+		@Override
+		public AI create(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+			return new Sandbox(initVars, gridOpp, random);
+		}
 
-		return xy;
 	}
 
 }
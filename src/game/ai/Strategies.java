@@ -0,0 +1,89 @@
+package game.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+
+/**
+ * Static Class for looking up the registered AI strategies.
+ *
+ * The strategies are loaded once, in the order they're listed in the <code>META-INF/services/game.ai.Strategy</code>
+ * files on the class path.
+ *
+ * @author blackk100
+ */
+public final class Strategies {
+
+	/**
+	 * The registered strategies.
+	 */
+	private static final List<Strategy> STRATEGIES = Strategies.load();
+
+	/**
+	 * Private constructor. This class only has static members.
+	 */
+	private Strategies() {
+	}
+
+	/**
+	 * Returns every registered strategy.
+	 *
+	 * @return an unmodifiable list of the strategies.
+	 */
+	public static List<Strategy> all() {
+		return Strategies.STRATEGIES;
+	}
+
+	/**
+	 * Returns the strategy with the given ID.
+	 *
+	 * @param id The ID
+	 *
+	 * @return the strategy.
+	 *
+	 * @throws IllegalArgumentException if no strategy has the ID.
+	 */
+	public static Strategy get(String id) {
+		for (Strategy strategy : Strategies.STRATEGIES) {
+			if (strategy.id().equals(id)) {
+				return strategy;
+			}
+		}
+
+		throw new IllegalArgumentException("Unknown AI strategy: " + id);
+	}
+
+	/**
+	 * Returns the 1st registered strategy declaring <code>Strategy.Capability.FALLBACK</code>.
+	 *
+	 * @return the strategy.
+	 *
+	 * @throws IllegalStateException if no strategy declares it.
+	 */
+	public static Strategy fallback() {
+		for (Strategy strategy : Strategies.STRATEGIES) {
+			if (strategy.capabilities().contains(Strategy.Capability.FALLBACK)) {
+				return strategy;
+			}
+		}
+
+		throw new IllegalStateException("No fallback AI strategy registered");
+	}
+
+	/**
+	 * Loads the registered strategies.
+	 *
+	 * @return an unmodifiable list of the strategies.
+	 */
+	private static List<Strategy> load() {
+		List<Strategy> strategies = new ArrayList<>();
+		for (Strategy strategy : ServiceLoader.load(Strategy.class, Strategy.class.getClassLoader())) {
+			strategies.add(strategy);
+		}
+
+		return Collections.unmodifiableList(strategies);
+	}
+
+}
@@ -0,0 +1,95 @@
+package game.ai;
+
+import game.grid.Board;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+
+/**
+ * Service interface for an AI strategy.
+ *
+ * Strategies are discovered through <code>java.util.ServiceLoader</code>, from the
+ * <code>META-INF/services/game.ai.Strategy</code> files on the class path, and looked up through
+ * <code>Strategies</code>. Implementations need a public no-argument constructor.
+ *
+ * @author blackk100
+ */
+public interface Strategy {
+
+	/**
+	 * Capabilities a strategy may declare.
+	 */
+	enum Capability {
+
+		/**
+		 * Always chooses its shots quickly. May stand in for a strategy that runs over its time budget.
+		 */
+		FALLBACK,
+
+		/**
+		 * Reads the positions of the Player's ships.
+		 */
+		PEEKS,
+
+		/**
+		 * Chooses every shot of a Salvo in a single pass.
+		 */
+		SALVO,
+
+		/**
+		 * Cuts its search short once its time budget runs out, firing with what it has so far.
+		 */
+		STOPPABLE
+
+	}
+
+	/**
+	 * Returns the unique ID of the strategy.
+	 *
+	 * @return the ID.
+	 */
+	String id();
+
+	/**
+	 * Returns the name of the strategy, as shown to the user.
+	 *
+	 * @return the name.
+	 */
+	String name();
+
+	/**
+	 * Returns the capabilities of the strategy.
+	 *
+	 * @return the capabilities.
+	 */
+	Set<Capability> capabilities();
+
+	/**
+	 * Creates an AI playing this strategy. The AI places its own fleet.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 *
+	 * @return the AI.
+	 */
+	AI create(boolean[] initVars, Board gridOpp);
+
+	/**
+	 * Creates an AI playing this strategy, with the given random number generator. The AI places its own fleet.
+	 * Every decision of the AI, including its placement, should be drawn from the generator, so that a seeded one
+	 * makes the AI reproducible. The built-in strategies do so.
+	 *
+	 * Defaults to <code>create(initVars, gridOpp)</code>, ignoring the generator, so that strategies written before it
+	 * was added keep working. Their AIs aren't reproducible.
+	 *
+	 * @param initVars Initialization Variables
+	 * @param gridOpp  Enemy Grid
+	 * @param random   Random number generator. Used by the AI alone.
+	 *
+	 * @return the AI.
+	 */
+	default AI create(boolean[] initVars, Board gridOpp, SplittableRandom random) {
+		return this.create(initVars, gridOpp);
+	}
+
+}
@@ -0,0 +1,648 @@
+package game.grid;
+
+
+/**
+ * Class for maintaining the game board.
+ *
+ * The state of every tile is stored as packed bit planes (one bit per tile, 64 tiles per <code>long</code>),
+ * instead of one object per tile.
+ * Tile (x, y) is stored at bit <code>y * gridSize + x</code> of each plane.
+ *
+ * The board also owns the fleet placed on it, and keeps a lookup table from each tile to the ship (and the section
+ * of that ship) occupying it, so that resolving a shot does not require searching every ship.
+ *
+ * A <code>Location</code> view of each tile is available through <code>getLocation()</code> for the GUI.
+ *
+ * @author blackk100
+ */
+public final class Board {
+
+	/**
+	 * An integer show the length of the grid.
+	 */
+	public final int gridSize;
+
+	/**
+	 * Total number of tiles on the board (<code>gridSize * gridSize</code>).
+	 */
+	public final int cells;
+
+	/**
+	 * The ships placed on this board.
+	 */
+	private final Ship[] fleet;
+
+	/**
+	 * The number of ships in the fleet that have been sunk.
+	 */
+	private int shipsSunk = 0;
+
+	/**
+	 * The number of tiles that haven't been shot at yet.
+	 */
+	private int unguessed;
+
+	/**
+	 * The number of tiles that were shot at and hit a target.
+	 */
+	private int hitCount = 0;
+
+	/**
+	 * The number of tiles that were shot at and missed.
+	 */
+	private int missCount = 0;
+
+	/**
+	 * The number of ship parts that haven't been shot at yet.
+	 */
+	private int untouched = 0;
+
+	/**
+	 * The tiles shot at, in the order they were shot at.
+	 * Only the first <code>hitCount + missCount</code> entries are used.
+	 */
+	private final int[] shotLog;
+
+	/**
+	 * The ship number (plus one) occupying each tile. '0' if no ship occupies the tile.
+	 */
+	private final byte[] shipAt;
+
+	/**
+	 * The section of the ship occupying each tile, with the 1st section being equal to 0.
+	 * Only valid if <code>shipAt</code> is not '0' for the same tile.
+	 */
+	private final byte[] sectionAt;
+
+	/**
+	 * Bit plane storing whether or not each tile has a ship part.
+	 */
+	private final long[] ships;
+
+	/**
+	 * Bit plane storing whether or not each tile borders a ship part.
+	 * Mirrors <code>borderCount</code>: the bit is set while the count is greater than '0'.
+	 *
+	 * This is used to prevent ships being placed beside each other.
+	 */
+	private final long[] borders;
+
+	/**
+	 * The number of ship parts each tile borders.
+	 * Raised and lowered by <code>Ship.add()</code> and <code>Ship.remove()</code>, so that placing or removing a ship
+	 * only touches the tiles around it.
+	 */
+	private final byte[] borderCount;
+
+	/**
+	 * Bit plane storing whether or not each tile was shot at and hit a target.
+	 */
+	private final long[] hits;
+
+	/**
+	 * Bit plane storing whether or not each tile was shot at and missed.
+	 */
+	private final long[] misses;
+
+	/**
+	 * <code>Location</code> views of each tile. Only created when requested.
+	 */
+	private Location[][] locations;
+
+	/**
+	 * Constructor for the Board class.
+	 *
+	 * @param initVars Round Initialization Variables
+	 */
+	public Board(boolean[] initVars) {
+		this(initVars[0] ? 15 : 10, Board.shipLengths(initVars));
+	}
+
+	/**
+	 * Constructor for the Board class.
+	 *
+	 * @param gridSize    The length of the grid.
+	 * @param shipLengths The length of each ship in the fleet, largest first.
+	 */
+	public Board(int gridSize, int[] shipLengths) {
+		this.gridSize = gridSize;
+		this.cells = gridSize * gridSize;
+		this.unguessed = this.cells;
+		this.shotLog = new int[this.cells];
+
+		int words = (this.cells + 63) >>> 6;
+		this.ships = new long[words];
+		this.borders = new long[words];
+		this.hits = new long[words];
+		this.misses = new long[words];
+
+		this.shipAt = new byte[this.cells];
+		this.sectionAt = new byte[this.cells];
+		this.borderCount = new byte[this.cells];
+		this.fleet = new Ship[shipLengths.length];
+		for (int ship = 0; ship < shipLengths.length; ship++) {
+			this.fleet[ship] = new Ship(this, ship, shipLengths[ship]);
+		}
+	}
+
+	/**
+	 * Returns the length of each ship available in a match, largest first.
+	 *
+	 * <pre>
+	 * Battleship - 5 Tiles; x1
+	 * Cruiser    - 4 Tiles; x2
+	 * Destroyer  - 3 Tiles; x2
+	 * Corvette   - 2 Tiles; x4
+	 * </pre>
+	 *
+	 * @param initVars Round Initialization Variables
+	 *
+	 * @return an integer array containing the length of each ship.
+	 */
+	public static int[] shipLengths(boolean[] initVars) {
+		int shipNos = (initVars[1] ? 1 : 0) + (initVars[2] ? 2 : 0) + (initVars[3] ? 2 : 0) + (initVars[4] ? 4 : 0);
+		int[] lengths = new int[shipNos];
+		int shipNo = 0;    // Temporary variable storing the ship number being initialized.
+		if (initVars[1]) { // Battleships
+			lengths[shipNo++] = 5;
+		}
+		if (initVars[2]) { // Cruisers
+			lengths[shipNo++] = 4;
+			lengths[shipNo++] = 4;
+		}
+		if (initVars[3]) { // Destroyers
+			lengths[shipNo++] = 3;
+			lengths[shipNo++] = 3;
+		}
+		if (initVars[4]) { // Corvettes
+			for (int i = 0; i < 4; i++) {
+				lengths[shipNo++] = 2;
+			}
+		}
+
+		return lengths;
+	}
+
+	/**
+	 * A getter for the fleet.
+	 *
+	 * @return the ships placed on this board.
+	 */
+	public Ship[] getShips() {
+		return this.fleet;
+	}
+
+	/**
+	 * Returns the number of ships in the fleet that have been sunk.
+	 *
+	 * @return the number of ships sunk.
+	 */
+	public int getShipsSunk() {
+		return this.shipsSunk;
+	}
+
+	/**
+	 * Returns the number of ships in the fleet that haven't been sunk yet.
+	 *
+	 * @return the number of ships remaining.
+	 */
+	public int getShipsRemaining() {
+		return this.fleet.length - this.shipsSunk;
+	}
+
+	/**
+	 * Checks if every ship in the fleet has been sunk.
+	 *
+	 * @return true if all ships were sunk, else false.
+	 */
+	public boolean allSunk() {
+		return this.shipsSunk == this.fleet.length;
+	}
+
+	/**
+	 * Records that a ship of the fleet was sunk.
+	 * Only called by <code>Ship.sectionHit()</code>.
+	 */
+	void shipSunk() {
+		this.shipsSunk++;
+	}
+
+	/**
+	 * Returns the tile index of the given coordinates.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return the tile index.
+	 */
+	public int cell(int x, int y) {
+		return y * this.gridSize + x;
+	}
+
+	/**
+	 * Returns the ship occupying the given tile.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return the ship, or null if no ship occupies the tile.
+	 */
+	public Ship getShip(int cell) {
+		int ship = this.shipAt[cell];
+		return ship == 0 ? null : this.fleet[ship - 1];
+	}
+
+	/**
+	 * Returns the ship occupying the given tile.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return the ship, or null if no ship occupies the tile.
+	 */
+	public Ship getShip(int x, int y) {
+		return this.getShip(y * this.gridSize + x);
+	}
+
+	/**
+	 * Returns the section of the ship occupying the given tile.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return the section, with the 1st section being equal to 0. -1 if no ship occupies the tile.
+	 */
+	public int getSection(int cell) {
+		return this.shipAt[cell] == 0 ? -1 : this.sectionAt[cell];
+	}
+
+	/**
+	 * Returns the section of the ship occupying the given tile.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return the section, with the 1st section being equal to 0. -1 if no ship occupies the tile.
+	 */
+	public int getSection(int x, int y) {
+		return this.getSection(y * this.gridSize + x);
+	}
+
+	/**
+	 * Records that a section of a ship occupies the given tile.
+	 * Only called by <code>Ship.add()</code>.
+	 *
+	 * @param ship    The ship number
+	 * @param section The section of the ship
+	 * @param cell    The tile index
+	 */
+	void occupy(int ship, int section, int cell) {
+		if (!Board.get(this.ships, cell) && !Board.get(this.hits, cell)) { // Checks if this tile adds an untouched ship part.
+			this.untouched++;
+		}
+
+		this.shipAt[cell] = (byte) (ship + 1);
+		this.sectionAt[cell] = (byte) section;
+		Board.set(this.ships, cell);
+	}
+
+	/**
+	 * Records that no ship occupies the given tile.
+	 * Only called by <code>Ship.remove()</code>.
+	 *
+	 * @param cell The tile index
+	 */
+	void vacate(int cell) {
+		if (Board.get(this.ships, cell) && !Board.get(this.hits, cell)) { // Checks if this tile removes an untouched ship part.
+			this.untouched--;
+		}
+
+		this.shipAt[cell] = 0;
+		this.sectionAt[cell] = 0;
+		Board.clear(this.ships, cell);
+	}
+
+	/**
+	 * Returns a <code>Location</code> view of the given tile.
+	 * The view reads and writes through to this board.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return the view of the tile.
+	 */
+	public Location getLocation(int x, int y) {
+		if (this.locations == null) {
+			this.locations = new Location[this.gridSize][this.gridSize];
+			for (int row = 0; row < this.gridSize; row++) {
+				for (int column = 0; column < this.gridSize; column++) {
+					this.locations[row][column] = new Location(this, row * this.gridSize + column);
+				}
+			}
+		}
+
+		return this.locations[y][x];
+	}
+
+	/**
+	 * Checks if the given tile has a ship part.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if a ship part is present, else false.
+	 */
+	public boolean hasShip(int cell) {
+		return Board.get(this.ships, cell);
+	}
+
+	/**
+	 * Checks if the given tile has a ship part.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return true if a ship part is present, else false.
+	 */
+	public boolean hasShip(int x, int y) {
+		return this.hasShip(y * this.gridSize + x);
+	}
+
+	/**
+	 * Checks if the given tile borders a ship part.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if it borders a ship part, else false.
+	 */
+	public boolean isBorder(int cell) {
+		return Board.get(this.borders, cell);
+	}
+
+	/**
+	 * Checks if the given tile borders a ship part.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return true if it borders a ship part, else false.
+	 */
+	public boolean isBorder(int x, int y) {
+		return this.isBorder(y * this.gridSize + x);
+	}
+
+	/**
+	 * The given tile borders one more ship part.
+	 * Only called by <code>Ship.add()</code>.
+	 *
+	 * @param cell The tile index
+	 */
+	void raiseBorder(int cell) {
+		if (this.borderCount[cell]++ == 0) { // Checks if the tile didn't border any ship part before.
+			Board.set(this.borders, cell);
+		}
+	}
+
+	/**
+	 * The given tile borders one less ship part.
+	 * Only called by <code>Ship.remove()</code>.
+	 *
+	 * @param cell The tile index
+	 */
+	void lowerBorder(int cell) {
+		if (--this.borderCount[cell] == 0) { // Checks if the tile doesn't border any ship part anymore.
+			Board.clear(this.borders, cell);
+		}
+	}
+
+	/**
+	 * Checks if a ship can be placed at the given placement.
+	 * A placement is legal if none of its tiles has a ship part or borders one.
+	 *
+	 * @param placements The placement table for the ship's length
+	 * @param placement  The placement
+	 *
+	 * @return true if legal, else false.
+	 */
+	public boolean fits(Placements placements, int placement) {
+		return !placements.footprintHits(placement, this.ships) && !placements.footprintHits(placement, this.borders);
+	}
+
+	/**
+	 * Checks if the given tile hasn't been guessed yet.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if unguessed. false if guessed.
+	 */
+	public boolean isUnguessed(int cell) {
+		return !Board.get(this.hits, cell) && !Board.get(this.misses, cell);
+	}
+
+	/**
+	 * Checks if the given tile hasn't been guessed yet.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return true if unguessed. false if guessed.
+	 */
+	public boolean isUnguessed(int x, int y) {
+		return this.isUnguessed(y * this.gridSize + x);
+	}
+
+	/**
+	 * Checks if the given tile was a hit.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if hit. false if not hit.
+	 */
+	public boolean isHit(int cell) {
+		return Board.get(this.hits, cell);
+	}
+
+	/**
+	 * Checks if the given tile was a hit.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return true if hit. false if not hit.
+	 */
+	public boolean isHit(int x, int y) {
+		return this.isHit(y * this.gridSize + x);
+	}
+
+	/**
+	 * Checks if the given tile was a miss.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return true if miss. false if not miss.
+	 */
+	public boolean isMiss(int cell) {
+		return Board.get(this.misses, cell);
+	}
+
+	/**
+	 * Checks if the given tile was a miss.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return true if miss. false if not miss.
+	 */
+	public boolean isMiss(int x, int y) {
+		return this.isMiss(y * this.gridSize + x);
+	}
+
+	/**
+	 * Returns the status of the given tile.
+	 *
+	 * @param cell The tile index
+	 *
+	 * @return <code>Location.UNGUESSED</code>, <code>Location.HIT</code> or <code>Location.MISS</code>.
+	 */
+	public int getStatus(int cell) {
+		return Board.get(this.hits, cell) ? Location.HIT : (Board.get(this.misses, cell) ? Location.MISS : Location.UNGUESSED);
+	}
+
+	/**
+	 * Marks the given tile as a hit or a miss depending on whether it has a ship part.
+	 * Also updates the shot counters. Tiles that were already shot at are left unchanged.
+	 *
+	 * @param cell The tile index
+	 */
+	public void markShot(int cell) {
+		if (!this.isUnguessed(cell)) { // Checks if the tile was already shot at.
+			return;
+		}
+
+		this.shotLog[this.cells - this.unguessed] = cell;
+		this.unguessed--;
+		if (Board.get(this.ships, cell)) {
+			Board.set(this.hits, cell);
+			this.hitCount++;
+			this.untouched--;
+		} else {
+			Board.set(this.misses, cell);
+			this.missCount++;
+		}
+	}
+
+	/**
+	 * Marks the given tile as a hit or a miss depending on whether it has a ship part.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 */
+	public void markShot(int x, int y) {
+		this.markShot(y * this.gridSize + x);
+	}
+
+	/**
+	 * Returns the number of tiles that haven't been shot at yet.
+	 *
+	 * @return the number of unguessed tiles.
+	 */
+	public int getUnguessed() {
+		return this.unguessed;
+	}
+
+	/**
+	 * Returns the number of tiles that were shot at, i.e., the number of entries in the shot log.
+	 *
+	 * @return the number of shots.
+	 */
+	public int getShots() {
+		return this.cells - this.unguessed;
+	}
+
+	/**
+	 * Returns an entry of the shot log.
+	 * Lets a player follow the shots at this board without scanning it: entries are only ever appended.
+	 *
+	 * @param shot The shot number, with the 1st shot being equal to 0.
+	 *
+	 * @return the tile index of that shot.
+	 */
+	public int getShot(int shot) {
+		return this.shotLog[shot];
+	}
+
+	/**
+	 * Returns the number of tiles that were shot at and hit a target.
+	 *
+	 * @return the number of hits.
+	 */
+	public int getHits() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Returns the number of tiles that were shot at and missed.
+	 *
+	 * @return the number of misses.
+	 */
+	public int getMisses() {
+		return this.missCount;
+	}
+
+	/**
+	 * Returns the number of ship parts that haven't been shot at yet.
+	 *
+	 * @return the number of untouched ship parts.
+	 */
+	public int getUntouched() {
+		return this.untouched;
+	}
+
+	/**
+	 * Returns the bit plane of the hits. Not a copy: must not be modified.
+	 *
+	 * @return the bit plane.
+	 */
+	long[] hitPlane() {
+		return this.hits;
+	}
+
+	/**
+	 * Returns the bit plane of the misses. Not a copy: must not be modified.
+	 *
+	 * @return the bit plane.
+	 */
+	long[] missPlane() {
+		return this.misses;
+	}
+
+	/**
+	 * Reads a bit from a bit plane.
+	 *
+	 * @param plane The bit plane
+	 * @param cell  The tile index
+	 *
+	 * @return true if the bit is set, else false.
+	 */
+	static boolean get(long[] plane, int cell) {
+		return (plane[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Sets a bit of a bit plane.
+	 *
+	 * @param plane The bit plane
+	 * @param cell  The tile index
+	 */
+	static void set(long[] plane, int cell) {
+		plane[cell >>> 6] |= 1L << cell;
+	}
+
+	/**
+	 * Clears a bit of a bit plane.
+	 *
+	 * @param plane The bit plane
+	 * @param cell  The tile index
+	 */
+	static void clear(long[] plane, int cell) {
+		plane[cell >>> 6] &= ~(1L << cell);
+	}
+
+}
@@ -0,0 +1,94 @@
+package game.grid;
+
+
+/**
+ * Static Class for working with packed tile coordinates.
+ *
+ * A tile is identified by a single integer, its tile index:
+ * <pre>
+ * cell = y * gridSize + x
+ * </pre>
+ * This is the same index used by the bit planes of a <code>Board</code>, and needs no allocation to pass around.
+ *
+ * @author blackk100
+ */
+public final class Cell {
+
+	/**
+	 * Constant value of '-1' indicating no tile.
+	 */
+	public static final int NONE = -1;
+
+	/**
+	 * Private constructor. This class only has static members.
+	 */
+	private Cell() {
+	}
+
+	/**
+	 * Packs the given coordinates into a tile index.
+	 *
+	 * @param x        X-Coordinate
+	 * @param y        Y-Coordinate
+	 * @param gridSize The length of the grid.
+	 *
+	 * @return the tile index.
+	 */
+	public static int of(int x, int y, int gridSize) {
+		return y * gridSize + x;
+	}
+
+	/**
+	 * Returns the X-Coordinate of the given tile index.
+	 *
+	 * @param cell     The tile index
+	 * @param gridSize The length of the grid.
+	 *
+	 * @return the X-Coordinate.
+	 */
+	public static int x(int cell, int gridSize) {
+		return cell % gridSize;
+	}
+
+	/**
+	 * Returns the Y-Coordinate of the given tile index.
+	 *
+	 * @param cell     The tile index
+	 * @param gridSize The length of the grid.
+	 *
+	 * @return the Y-Coordinate.
+	 */
+	public static int y(int cell, int gridSize) {
+		return cell / gridSize;
+	}
+
+	/**
+	 * Unpacks the given tile index into a coordinate array.
+	 *
+	 * @param cell     The tile index, or <code>Cell.NONE</code>
+	 * @param gridSize The length of the grid.
+	 *
+	 * @return an integer array. The 1st value is the X-Coordinate, the 2nd value is the Y-Coordinate.
+	 *         Both are -1 if <code>cell</code> is <code>Cell.NONE</code>.
+	 */
+	public static int[] toArray(int cell, int gridSize) {
+		return (cell == Cell.NONE) ? new int[] {-1, -1} : new int[] {Cell.x(cell, gridSize), Cell.y(cell, gridSize)};
+	}
+
+	/**
+	 * Packs the given coordinate array into a tile index.
+	 *
+	 * @param coords   The coordinates. 1st value is X-Coordinate, 2nd is Y-Coordinate
+	 * @param gridSize The length of the grid.
+	 *
+	 * @return the tile index, or <code>Cell.NONE</code> if the coordinates are outside the grid.
+	 */
+	public static int fromArray(int[] coords, int gridSize) {
+		if ((coords[0] < 0) || (coords[0] >= gridSize) || (coords[1] < 0) || (coords[1] >= gridSize)) {
+			return Cell.NONE;
+		}
+
+		return Cell.of(coords[0], coords[1], gridSize);
+	}
+
+}
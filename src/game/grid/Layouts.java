@@ -0,0 +1,648 @@
+package game.grid;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Class for counting and sampling the legal layouts of a fleet on a grid.
+ *
+ * A layout gives a placement (from the <code>Placements</code> table of the ship's length) to every ship of the fleet,
+ * such that no 2 ships overlap or share an edge. Ships of the same length are interchangeable, so 2 layouts that only
+ * swap ships of the same length are the same layout.
+ *
+ * Counting is done by a profile search over the tiles in row-major order, which only keeps the states of the current
+ * tile: the frontier between the tiles done and the tiles to come, along with the number of ships of each length
+ * still to be placed. A full fleet on a 10 x 10 grid is counted in seconds, with a few million states per tile. On a
+ * 15 x 15 grid, the frontier is too wide for a full fleet: it needs far more states than fit in memory.
+ *
+ * Sampling draws every layout with exactly the same probability, by drawing each ship's placement uniformly and
+ * independently and starting over as soon as a ship doesn't fit. Unlike <code>Placer</code>, this doesn't favour the
+ * placements of the ships placed 1st, but it's several times slower for crowded fleets (a full fleet on a 10 x 10 grid
+ * is rarely drawn without an overlap). It's meant for offline use, such as building the opening books, where an
+ * unbiased distribution matters more than speed. The AIs place their fleets through <code>Placer</code>.
+ *
+ * @author blackk100
+ */
+public final class Layouts {
+
+	/**
+	 * Default maximum number of states kept per tile while counting. Each state takes up to 64 bytes.
+	 */
+	public static final int STATE_LIMIT = 1 << 23;
+
+	/**
+	 * Number of layouts each task samples on its own when sampling in bulk.
+	 */
+	private static final int BATCH = 256;
+
+	/**
+	 * The length of the grid.
+	 */
+	public final int gridSize;
+
+	/**
+	 * The placement table of each ship of the fleet, largest ship first.
+	 */
+	private final Placements[] tables;
+
+	/**
+	 * The distinct ship lengths in the fleet, largest first.
+	 */
+	private final int[] types;
+
+	/**
+	 * The number of ships of each length in <code>types</code>.
+	 */
+	private final int[] typeCount;
+
+	/**
+	 * Whether or not the fleet has at least 1 layout on the grid. Null until checked.
+	 */
+	private Boolean placeable;
+
+	/**
+	 * Constructor for the Layouts class.
+	 *
+	 * @param gridSize    The length of the grid.
+	 * @param shipLengths The length of each ship in the fleet.
+	 */
+	public Layouts(int gridSize, int[] shipLengths) {
+		this.gridSize = gridSize;
+
+		int[] lengths = shipLengths.clone();
+		Arrays.sort(lengths);
+		this.tables = new Placements[lengths.length];
+		int distinct = 0;
+		for (int ship = 0; ship < lengths.length; ship++) {
+			this.tables[ship] = Placements.of(gridSize, lengths[lengths.length - 1 - ship]); // Largest first
+			if ((ship == 0) || (lengths[ship] != lengths[ship - 1])) {
+				distinct++;
+			}
+		}
+
+		this.types = new int[distinct];
+		this.typeCount = new int[distinct];
+		int type = -1;
+		for (int ship = 0; ship < this.tables.length; ship++) {
+			if ((type == -1) || (this.types[type] != this.tables[ship].length)) {
+				type++;
+				this.types[type] = this.tables[ship].length;
+			}
+			this.typeCount[type]++;
+		}
+	}
+
+	/**
+	 * Counts the legal layouts of the fleet, keeping at most <code>Layouts.STATE_LIMIT</code> states per tile.
+	 *
+	 * @return the number of layouts.
+	 *
+	 * @throws IllegalStateException if counting needs more states than the limit.
+	 */
+	public BigInteger count() {
+		return this.count(Layouts.STATE_LIMIT);
+	}
+
+	/**
+	 * Counts the legal layouts of the fleet.
+	 *
+	 * The number of states grows quickly with the grid size and the number of ships. Small fleets are counted
+	 * instantly, and a full fleet on a 10 x 10 grid needs about 5 million states per tile, while a full fleet on a
+	 * 15 x 15 grid needs far more states than fit in memory.
+	 *
+	 * @param stateLimit The maximum number of states to keep per tile.
+	 *
+	 * @return the number of layouts.
+	 *
+	 * @throws IllegalStateException if counting needs more states than the limit.
+	 */
+	public BigInteger count(int stateLimit) {
+		return new Counter(stateLimit).count();
+	}
+
+	/**
+	 * Draws a layout, with every legal layout being equally likely.
+	 *
+	 * @param random Random number generator
+	 *
+	 * @return the placement of each ship, in fleet order (largest first).
+	 *
+	 * @throws IllegalStateException if the fleet has no legal layout on the grid.
+	 */
+	public int[] sample(SplittableRandom random) {
+		this.checkPlaceable();
+
+		int[] layout = new int[this.tables.length];
+		long[] used = new long[(this.gridSize * this.gridSize + 63) >>> 6]; // Tiles occupied or bordered so far
+
+		attempt:
+		while (true) {
+			Arrays.fill(used, 0L);
+			for (int ship = 0; ship < this.tables.length; ship++) {
+				Placements placements = this.tables[ship];
+				int placement = random.nextInt(placements.count);
+				if (placements.footprintHits(placement, used)) { // Doesn't fit. Starts over, to keep every layout equally likely.
+					continue attempt;
+				}
+
+				placements.addFootprintAndHalo(placement, used);
+				layout[ship] = placement;
+			}
+
+			return layout;
+		}
+	}
+
+	/**
+	 * Draws layouts in bulk, spread across all available cores.
+	 * The result only depends on the seed, not on the number of cores or how the work was split.
+	 *
+	 * @param count The number of layouts to draw.
+	 * @param seed  The seed of the random number generator.
+	 *
+	 * @return the layouts, as returned by <code>sample(SplittableRandom)</code>.
+	 *
+	 * @throws IllegalStateException if the fleet has no legal layout on the grid.
+	 */
+	public int[][] sample(int count, long seed) {
+		this.checkPlaceable();
+
+		int[][] layouts = new int[count][];
+		ForkJoinPool.commonPool().invoke(new Sampler(layouts, 0, count, new SplittableRandom(seed)));
+		return layouts;
+	}
+
+	/**
+	 * Places the fleet of the given board according to the given layout.
+	 * The board's fleet must have the same ship lengths as this fleet.
+	 *
+	 * @param board  The board
+	 * @param layout The placement of each ship, in fleet order (largest first).
+	 */
+	public void apply(Board board, int[] layout) {
+		Ship[] fleet = board.getShips();
+		for (Ship ship : fleet) {
+			ship.remove();
+		}
+
+		for (int ship = 0; ship < fleet.length; ship++) {
+			Placements placements = this.tables[ship];
+			fleet[ship].add(placements.start(layout[ship]), placements.direction(layout[ship]));
+		}
+	}
+
+	/**
+	 * Checks, once, that the fleet has at least 1 legal layout, since sampling would never end otherwise.
+	 *
+	 * @throws IllegalStateException if the fleet has no legal layout on the grid.
+	 */
+	private void checkPlaceable() {
+		if (this.placeable == null) {
+			int[] lengths = new int[this.tables.length];
+			for (int ship = 0; ship < lengths.length; ship++) {
+				lengths[ship] = this.tables[ship].length;
+			}
+			this.placeable = Placer.place(new Board(this.gridSize, lengths), new SplittableRandom(0));
+		}
+
+		if (!this.placeable) {
+			throw new IllegalStateException("The fleet can't be placed on a " + this.gridSize + " x " + this.gridSize + " grid");
+		}
+	}
+
+	/**
+	 * Profile search counting the layouts, one tile at a time in row-major order.
+	 *
+	 * Each state is packed into a long. It holds the frontier tile of each column: the current row's tile for the
+	 * columns before the current tile, and the previous row's tile for the others. A frontier tile is either empty,
+	 * occupied by a ship that doesn't continue downwards, or occupied by a vertical ship with 'r' tiles still to come
+	 * (stored as 'r + 1'). The state also holds the number of tiles still to come of the horizontal ship being laid in
+	 * the current row, and the number of ships of each length still to be placed.
+	 *
+	 * Only the states reached at the current tile are kept, along with the number of ways of reaching each of them.
+	 * States with every ship fully laid have exactly 1 way to finish (every other tile left empty), so they're added to
+	 * the total straight away.
+	 */
+	private final class Counter {
+
+		/**
+		 * Frontier tile: Empty.
+		 */
+		private static final int EMPTY = 0;
+
+		/**
+		 * Frontier tile: Occupied, with nothing more of the ship below it.
+		 */
+		private static final int OCCUPIED = 1;
+
+		/**
+		 * The number of bits of each column's frontier tile.
+		 */
+		private final int columnBits;
+
+		/**
+		 * Mask of a column's frontier tile.
+		 */
+		private final long columnMask;
+
+		/**
+		 * Position of the number of tiles still to come of the horizontal ship being laid.
+		 */
+		private final int pendingShift;
+
+		/**
+		 * Position of the number of ships still to be placed of each length in <code>types</code>.
+		 */
+		private final int[] leftShift;
+
+		/**
+		 * Mask of the number of ships still to be placed of each length in <code>types</code>.
+		 */
+		private final long[] leftMask;
+
+		/**
+		 * The maximum number of states to keep per tile.
+		 */
+		private final int stateLimit;
+
+		/**
+		 * The number of layouts counted so far, as an unsigned 128-bit number: low word.
+		 */
+		private long doneLo = 0;
+
+		/**
+		 * The number of layouts counted so far, as an unsigned 128-bit number: high word.
+		 */
+		private long doneHi = 0;
+
+		/**
+		 * Constructor for the Counter class.
+		 *
+		 * @param stateLimit The maximum number of states to keep per tile.
+		 *
+		 * @throws IllegalStateException if a state doesn't fit in a long.
+		 */
+		Counter(int stateLimit) {
+			int longest = (Layouts.this.types.length == 0) ? 1 : Layouts.this.types[0];
+			this.columnBits = 32 - Integer.numberOfLeadingZeros(longest); // Up to 'longest': 'r + 1', with r < longest
+			this.columnMask = (1L << this.columnBits) - 1;
+			this.pendingShift = Layouts.this.gridSize * this.columnBits;
+
+			int shift = this.pendingShift + this.columnBits;
+			this.leftShift = new int[Layouts.this.types.length];
+			this.leftMask = new long[Layouts.this.types.length];
+			for (int type = 0; type < Layouts.this.types.length; type++) {
+				int bits = 32 - Integer.numberOfLeadingZeros(Layouts.this.typeCount[type]);
+				this.leftShift[type] = shift;
+				this.leftMask[type] = (1L << bits) - 1;
+				shift += bits;
+			}
+			if (shift > Long.SIZE) {
+				throw new IllegalStateException("The fleet is too large to count on a " + Layouts.this.gridSize + " x " + Layouts.this.gridSize + " grid");
+			}
+
+			this.stateLimit = stateLimit;
+		}
+
+		/**
+		 * Counts the layouts.
+		 *
+		 * @return the number of layouts.
+		 *
+		 * @throws IllegalStateException if a tile reaches more states than the limit.
+		 */
+		BigInteger count() {
+			int gridSize = Layouts.this.gridSize;
+			int cells = gridSize * gridSize;
+
+			long start = 0;
+			for (int type = 0; type < Layouts.this.types.length; type++) {
+				start |= (long) Layouts.this.typeCount[type] << this.leftShift[type];
+			}
+
+			Profiles current = new Profiles(this.stateLimit);
+			this.put(current, start, 1L, 0L);
+			for (int cell = 0; (cell < cells) && (current.size > 0); cell++) {
+				int x = Cell.x(cell, gridSize);
+				int y = Cell.y(cell, gridSize);
+				Profiles next = new Profiles(this.stateLimit);
+
+				for (int slot = 0; slot < current.keys.length; slot++) {
+					long state = current.keys[slot];
+					if ((state == 0L) || (this.shipTiles(state) > cells - cell)) { // Free slot, or the ships left can't fit anymore.
+						continue;
+					}
+					long lo = current.lo[slot];
+					long hi = current.hi[slot];
+
+					int column = this.column(state, x);
+					int pending = (int) ((state >>> this.pendingShift) & this.columnMask);
+					boolean leftOccupied = (x > 0) && (this.column(state, x - 1) != Counter.EMPTY);
+
+					if (pending > 0) {                            // Lays the next tile of a horizontal ship.
+						if (column == Counter.EMPTY) {
+							this.put(next, this.with(state, x, Counter.OCCUPIED) - (1L << this.pendingShift), lo, hi);
+						}
+					} else if (column > Counter.OCCUPIED) {       // Lays the next tile of a vertical ship.
+						if (!leftOccupied) {
+							this.put(next, this.with(state, x, column - 1), lo, hi);
+						}
+					} else if (column == Counter.OCCUPIED) {      // Below the end of a ship.
+						this.put(next, this.with(state, x, Counter.EMPTY), lo, hi);
+					} else {
+						this.put(next, state, lo, hi);            // Leaves the tile empty.
+						if (!leftOccupied) {                      // Starts a ship here.
+							for (int type = 0; type < Layouts.this.types.length; type++) {
+								if (((state >>> this.leftShift[type]) & this.leftMask[type]) == 0) {
+									continue;
+								}
+
+								int length = Layouts.this.types[type];
+								long placed = state - (1L << this.leftShift[type]);
+								if ((x + length <= gridSize) && this.clearAbove(state, x + 1, x + length)) { // Horizontal
+									this.put(next, this.with(placed, x, Counter.OCCUPIED) | ((long) (length - 1) << this.pendingShift), lo, hi);
+								}
+								if ((length > 1) && (y + length <= gridSize)) {                                // Vertical
+									this.put(next, this.with(placed, x, length), lo, hi);
+								}
+							}
+						}
+					}
+				}
+
+				current = next;
+			}
+
+			return BigInteger.valueOf(this.doneHi).shiftLeft(Long.SIZE).add(new BigInteger(Long.toUnsignedString(this.doneLo)));
+		}
+
+		/**
+		 * Adds the ways of reaching a state of the next tile, or adds them to the total if every ship is fully laid.
+		 *
+		 * @param next  The states of the next tile
+		 * @param state The state
+		 * @param lo    The number of ways, low word.
+		 * @param hi    The number of ways, high word.
+		 */
+		private void put(Profiles next, long state, long lo, long hi) {
+			if (this.finished(state)) {
+				long sum = this.doneLo + lo;
+				this.doneHi += hi + ((Long.compareUnsigned(sum, lo) < 0) ? 1 : 0);
+				this.doneLo = sum;
+			} else {
+				next.add(state, lo, hi);
+			}
+		}
+
+		/**
+		 * Checks if every ship of a state is fully laid.
+		 *
+		 * @param state The state
+		 *
+		 * @return true if no ship is left to place, and none is still being laid, else false.
+		 */
+		private boolean finished(long state) {
+			if ((state >>> this.pendingShift) != 0) { // Ships left to place, or a horizontal ship being laid.
+				return false;
+			}
+
+			for (int x = 0; x < Layouts.this.gridSize; x++) {
+				if (this.column(state, x) > Counter.OCCUPIED) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Counts the tiles of the ships still to be placed.
+		 *
+		 * @param state The state
+		 *
+		 * @return the number of tiles.
+		 */
+		private int shipTiles(long state) {
+			int tiles = 0;
+			for (int type = 0; type < Layouts.this.types.length; type++) {
+				tiles += (int) ((state >>> this.leftShift[type]) & this.leftMask[type]) * Layouts.this.types[type];
+			}
+
+			return tiles;
+		}
+
+		/**
+		 * Checks that the previous row's tiles of a range of columns are empty.
+		 *
+		 * @param state The state
+		 * @param from  The 1st column
+		 * @param to    The column after the last one.
+		 *
+		 * @return true if they're all empty, else false.
+		 */
+		private boolean clearAbove(long state, int from, int to) {
+			for (int x = from; x < to; x++) {
+				if (this.column(state, x) != Counter.EMPTY) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Returns the frontier tile of a column.
+		 *
+		 * @param state The state
+		 * @param x     The column
+		 *
+		 * @return the frontier tile.
+		 */
+		private int column(long state, int x) {
+			return (int) ((state >>> (x * this.columnBits)) & this.columnMask);
+		}
+
+		/**
+		 * Replaces the frontier tile of a column.
+		 *
+		 * @param state The state
+		 * @param x     The column
+		 * @param value The new frontier tile.
+		 *
+		 * @return the new state.
+		 */
+		private long with(long state, int x, int value) {
+			int shift = x * this.columnBits;
+			return (state & ~(this.columnMask << shift)) | ((long) value << shift);
+		}
+
+	}
+
+	/**
+	 * Open-addressing hash table from the states of a tile to the number of ways of reaching them, as unsigned 128-bit
+	 * numbers. State '0' (every ship fully laid) is never stored, so it marks free slots.
+	 */
+	private static final class Profiles {
+
+		/**
+		 * The states, or '0' for free slots.
+		 */
+		long[] keys = new long[1 << 10];
+
+		/**
+		 * The low word of the number of ways of reaching each state.
+		 */
+		long[] lo = new long[1 << 10];
+
+		/**
+		 * The high word of the number of ways of reaching each state.
+		 */
+		long[] hi = new long[1 << 10];
+
+		/**
+		 * The number of states stored.
+		 */
+		int size = 0;
+
+		/**
+		 * The maximum number of states to store.
+		 */
+		private final int limit;
+
+		/**
+		 * Constructor for the Profiles class.
+		 *
+		 * @param limit The maximum number of states to store.
+		 */
+		Profiles(int limit) {
+			this.limit = limit;
+		}
+
+		/**
+		 * Adds ways of reaching a state.
+		 *
+		 * @param state The state. Must not be '0'.
+		 * @param lo    The number of ways, low word.
+		 * @param hi    The number of ways, high word.
+		 *
+		 * @throws IllegalStateException if the table would hold more states than the limit.
+		 */
+		void add(long state, long lo, long hi) {
+			int mask = this.keys.length - 1;
+			int slot = Long.hashCode(state * 0x9E3779B97F4A7C15L) & mask;
+			while ((this.keys[slot] != 0L) && (this.keys[slot] != state)) {
+				slot = (slot + 1) & mask;
+			}
+
+			if (this.keys[slot] == 0L) {
+				if (this.size == this.limit) {
+					throw new IllegalStateException("Counting needs more than " + this.limit + " states per tile");
+				}
+				this.keys[slot] = state;
+				this.lo[slot] = lo;
+				this.hi[slot] = hi;
+				if (++this.size * 4 > this.keys.length * 3) { // Over 3/4 full.
+					this.grow();
+				}
+			} else {
+				long sum = this.lo[slot] + lo;
+				this.hi[slot] += hi + ((Long.compareUnsigned(sum, lo) < 0) ? 1 : 0);
+				this.lo[slot] = sum;
+			}
+		}
+
+		/**
+		 * Doubles the size of the table.
+		 */
+		private void grow() {
+			long[] keys = this.keys;
+			long[] lo = this.lo;
+			long[] hi = this.hi;
+			this.keys = new long[keys.length * 2];
+			this.lo = new long[keys.length * 2];
+			this.hi = new long[keys.length * 2];
+
+			int mask = this.keys.length - 1;
+			for (int old = 0; old < keys.length; old++) {
+				if (keys[old] != 0L) {
+					int slot = Long.hashCode(keys[old] * 0x9E3779B97F4A7C15L) & mask;
+					while (this.keys[slot] != 0L) {
+						slot = (slot + 1) & mask;
+					}
+					this.keys[slot] = keys[old];
+					this.lo[slot] = lo[old];
+					this.hi[slot] = hi[old];
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Fork/join task drawing a range of layouts.
+	 * Each half of a split gets its own split of the random number generator, so the result doesn't depend on which
+	 * thread draws which layout.
+	 */
+	private final class Sampler extends RecursiveAction {
+
+		/**
+		 * Serial Version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The array receiving the layouts.
+		 */
+		private final int[][] layouts;
+
+		/**
+		 * The 1st index to fill.
+		 */
+		private final int from;
+
+		/**
+		 * The index after the last one to fill.
+		 */
+		private final int to;
+
+		/**
+		 * Random number generator of this range.
+		 */
+		private final SplittableRandom random;
+
+		/**
+		 * Constructor for the Sampler class.
+		 *
+		 * @param layouts The array receiving the layouts.
+		 * @param from    The 1st index to fill.
+		 * @param to      The index after the last one to fill.
+		 * @param random  Random number generator of this range.
+		 */
+		Sampler(int[][] layouts, int from, int to, SplittableRandom random) {
+			this.layouts = layouts;
+			this.from = from;
+			this.to = to;
+			this.random = random;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= Layouts.BATCH) {
+				for (int layout = this.from; layout < this.to; layout++) {
+					this.layouts[layout] = Layouts.this.sample(this.random);
+				}
+			} else {
+				int middle = (this.from + this.to) >>> 1;
+				Sampler left = new Sampler(this.layouts, this.from, middle, this.random.split());
+				Sampler right = new Sampler(this.layouts, middle, this.to, this.random);
+				RecursiveAction.invokeAll(left, right);
+			}
+		}
+
+	}
+
+}
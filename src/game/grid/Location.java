@@ -2,7 +2,9 @@ package game.grid;
 
 
 /**
- * Class for maintaining the game board.
+ * A view of a single tile of a <code>Board</code>.
+ *
+ * Does not store any state itself. All reads and writes go through to the board's bit planes.
  *
  * @author blackk100
  */
@@ -24,67 +26,43 @@ public final class Location {
 	public static final int HIT = 1;
 
 	/**
-	 * Stores whether or not this location has been guessed.
-	 * Takes the constants <code>this.UNGUESSED</code>, <code>this.HIT</code> and <code>this.MISS</code>.
+	 * The board this location is a view of.
 	 */
-	private int status = Location.UNGUESSED;
+	private final Board board;
 
 	/**
-	 * Used to store whether or not this location has a ship part.
+	 * The tile index of this location within the board.
 	 */
-	private boolean hasShip = false;
+	private final int cell;
 
 	/**
-	 * Used to store whether or not this location borders a ship part.
+	 * Constructor for the Location class.
+	 * Only created by <code>Board.getLocation()</code>.
 	 *
-	 * This is used to prevent ships being placed beside each other.
+	 * @param board The board this location is a view of
+	 * @param cell  The tile index of this location within the board
 	 */
-	private boolean border = false;
+	Location(Board board, int cell) {
+		this.board = board;
+		this.cell = cell;
+	}
 
 	/**
-	 * Getter for hasShip
+	 * Checks if this location has a ship part.
 	 *
-	 * @return hasShip
+	 * @return true if a ship part is present, else false.
 	 */
 	public boolean hasShip() {
-		return this.hasShip;
-	}
-
-	/**
-	 * This location has a ship part (setter for <code>this.hasShip</code> to true).
-	 */
-	public void shipPresent() {
-		this.hasShip = true;
-	}
-
-	/**
-	 * This location has a ship part (setter for <code>this.hasShip</code> to false).
-	 */
-	public void shipAbsent() {
-		this.hasShip = false;
+		return this.board.hasShip(this.cell);
 	}
 
 	/**
-	 * Getter for border
+	 * Checks if this location borders a ship part.
 	 *
-	 * @return border
+	 * @return true if it borders a ship part, else false.
 	 */
 	public boolean isBorder() {
-		return this.border;
-	}
-
-	/**
-	 * This location borders a ship part (setter for <code>this.border</code> to true)
-	 */
-	public void bordersShip() {
-		this.border = true;
-	}
-
-	/**
-	 * This location does not border a ship part (setter for <code>this.border</code> to false)
-	 */
-	public void noBordersShip() {
-		this.border = false;
+		return this.board.isBorder(this.cell);
 	}
 
 	/**
@@ -93,7 +71,7 @@ public final class Location {
 	 * @return true if unguessed. false if guessed.
 	 */
 	public boolean isUnguessed() {
-		return this.status == Location.UNGUESSED;
+		return this.board.isUnguessed(this.cell);
 	}
 
 	/**
@@ -102,7 +80,7 @@ public final class Location {
 	 * @return true if hit. false if not hit.
 	 */
 	public boolean isHit() {
-		return this.status == Location.HIT;
+		return this.board.isHit(this.cell);
 	}
 
 	/**
@@ -111,14 +89,14 @@ public final class Location {
 	 * @return true if miss. false if not miss.
 	 */
 	public boolean isMiss() {
-		return this.status == Location.MISS;
+		return this.board.isMiss(this.cell);
 	}
 
 	/**
 	 * Marks the location as a hit or a miss depending on whether this location has a ship.
 	 */
 	public void markShot() {
-		this.status = this.hasShip() ? Location.HIT : Location.MISS;
+		this.board.markShot(this.cell);
 	}
 
 }
@@ -0,0 +1,135 @@
+package game.grid;
+
+import java.util.Arrays;
+
+
+/**
+ * A grid of byte values surrounded by a ring of sentinel tiles.
+ *
+ * The values are stored row by row, with one extra tile on each side of every row and one extra row above and below
+ * the grid. The extra tiles always hold <code>PaddedGrid.SENTINEL</code>. Every tile of the grid therefore has 4
+ * neighbours at fixed offsets (<code>LEFT</code>, <code>RIGHT</code>, <code>up</code> and <code>down</code>), and
+ * checking a neighbour needs no bounds check, whatever the size of the grid.
+ *
+ * @author blackk100
+ */
+public final class PaddedGrid {
+
+	/**
+	 * Constant value of '-1' stored in every tile of the ring.
+	 */
+	public static final byte SENTINEL = -1;
+
+	/**
+	 * Offset of the left neighbour of a tile.
+	 */
+	public static final int LEFT = -1;
+
+	/**
+	 * Offset of the right neighbour of a tile.
+	 */
+	public static final int RIGHT = 1;
+
+	/**
+	 * The length of the grid (excluding the ring).
+	 */
+	public final int gridSize;
+
+	/**
+	 * The length of a padded row (<code>gridSize + 2</code>).
+	 */
+	public final int stride;
+
+	/**
+	 * Offset of the top neighbour of a tile.
+	 */
+	public final int up;
+
+	/**
+	 * Offset of the bottom neighbour of a tile.
+	 */
+	public final int down;
+
+	/**
+	 * The values of every tile, including the ring.
+	 */
+	private final byte[] values;
+
+	/**
+	 * Constructor for the PaddedGrid class.
+	 * Every tile of the grid starts at '0'.
+	 *
+	 * @param gridSize The length of the grid.
+	 */
+	public PaddedGrid(int gridSize) {
+		this.gridSize = gridSize;
+		this.stride = gridSize + 2;
+		this.up = -this.stride;
+		this.down = this.stride;
+		this.values = new byte[this.stride * this.stride];
+
+		Arrays.fill(this.values, 0, this.stride, PaddedGrid.SENTINEL);                      // Top row
+		Arrays.fill(this.values, this.values.length - this.stride, this.values.length, PaddedGrid.SENTINEL); // Bottom row
+		for (int y = 1; y <= gridSize; y++) {                                                // Left and Right columns
+			this.values[y * this.stride] = PaddedGrid.SENTINEL;
+			this.values[y * this.stride + gridSize + 1] = PaddedGrid.SENTINEL;
+		}
+	}
+
+	/**
+	 * Returns the padded index of the given coordinates.
+	 *
+	 * @param x X-Coordinate
+	 * @param y Y-Coordinate
+	 *
+	 * @return the padded index.
+	 */
+	public int index(int x, int y) {
+		return (y + 1) * this.stride + x + 1;
+	}
+
+	/**
+	 * Returns the padded index of the given tile index.
+	 *
+	 * @param cell The tile index, as used by <code>Board</code>.
+	 *
+	 * @return the padded index.
+	 */
+	public int index(int cell) {
+		return this.index(Cell.x(cell, this.gridSize), Cell.y(cell, this.gridSize));
+	}
+
+	/**
+	 * Returns the tile index of the given padded index.
+	 *
+	 * @param index The padded index of a tile of the grid (not of the ring).
+	 *
+	 * @return the tile index, as used by <code>Board</code>.
+	 */
+	public int cell(int index) {
+		return Cell.of(index % this.stride - 1, index / this.stride - 1, this.gridSize);
+	}
+
+	/**
+	 * Returns the value of a tile.
+	 *
+	 * @param index The padded index
+	 *
+	 * @return the value, or <code>PaddedGrid.SENTINEL</code> for the ring.
+	 */
+	public byte get(int index) {
+		return this.values[index];
+	}
+
+	/**
+	 * Sets the value of a tile of the grid.
+	 * Must not be used on the ring.
+	 *
+	 * @param index The padded index
+	 * @param value The new value
+	 */
+	public void set(int index, byte value) {
+		this.values[index] = value;
+	}
+
+}
@@ -0,0 +1,332 @@
+package game.grid;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Immutable table of every placement of a ship of a given length on a grid of a given size.
+ *
+ * Each placement is numbered, and stores its starting tile, its orientation, and 2 bitmasks in the same layout as
+ * the bit planes of a <code>Board</code>:
+ * <pre>
+ * footprint - The tiles occupied by the ship.
+ * halo      - The tiles sharing an edge with the ship (the tiles it borders).
+ * </pre>
+ * Checking if a placement is legal then only needs a few bitwise ANDs instead of a check of each tile.
+ *
+ * Tables are built lazily, once per (grid size, ship length), and shared through <code>Placements.of()</code>.
+ *
+ * @author blackk100
+ */
+public final class Placements {
+
+	/**
+	 * Constant value of '-1' indicating no placement.
+	 */
+	public static final int NONE = -1;
+
+	/**
+	 * Tables built so far, keyed by <code>Placements.key()</code>.
+	 */
+	private static final ConcurrentHashMap<Integer, Placements> TABLES = new ConcurrentHashMap<>();
+
+	/**
+	 * The length of the grid.
+	 */
+	public final int gridSize;
+
+	/**
+	 * The length of the ship.
+	 */
+	public final int length;
+
+	/**
+	 * The number of placements in this table.
+	 */
+	public final int count;
+
+	/**
+	 * The number of <code>long</code> words in each bitmask.
+	 */
+	final int words;
+
+	/**
+	 * The tile index of the start of each placement.
+	 */
+	private final int[] start;
+
+	/**
+	 * The orientation of each placement. true if Vertical, false if Horizontal.
+	 */
+	private final boolean[] direction;
+
+	/**
+	 * The footprint bitmask of each placement. Placement <code>p</code> uses words <code>p * words</code> onwards.
+	 */
+	private final long[] footprint;
+
+	/**
+	 * The halo bitmask of each placement. Placement <code>p</code> uses words <code>p * words</code> onwards.
+	 */
+	private final long[] halo;
+
+	/**
+	 * The placement starting at each tile. Horizontal placements first, then vertical ones.
+	 * <code>Placements.NONE</code> if the ship would leave the grid.
+	 */
+	private final int[] index;
+
+	/**
+	 * Builds the table.
+	 *
+	 * @param gridSize The length of the grid.
+	 * @param length   The length of the ship.
+	 */
+	private Placements(int gridSize, int length) {
+		this.gridSize = gridSize;
+		this.length = length;
+
+		int cells = gridSize * gridSize;
+		int fit = gridSize - length + 1; // Number of starting positions along the ship in a single line
+		this.count = (fit > 0) ? (length == 1 ? cells : 2 * fit * gridSize) : 0;
+		this.words = (cells + 63) >>> 6;
+		this.start = new int[this.count];
+		this.direction = new boolean[this.count];
+		this.footprint = new long[this.count * this.words];
+		this.halo = new long[this.count * this.words];
+		this.index = new int[2 * cells];
+		Arrays.fill(this.index, Placements.NONE);
+
+		int p = 0;
+		for (int dir = 0; dir < 2; dir++) {
+			boolean vertical = dir == 1;
+			if (vertical && (length == 1)) { // Both orientations of a single tile are the same placement.
+				break;
+			}
+
+			for (int y = 0; y < (vertical ? fit : gridSize); y++) {
+				for (int x = 0; x < (vertical ? gridSize : fit); x++) {
+					int cell = Cell.of(x, y, gridSize);
+					this.start[p] = cell;
+					this.direction[p] = vertical;
+					this.index[dir * cells + cell] = p;
+
+					int base = p * this.words;
+					int step = vertical ? gridSize : 1;
+					int side = vertical ? 1 : gridSize;
+					int along = vertical ? y : x;
+					int across = vertical ? x : y;
+
+					if (along != 0) {                     // Tile before the 1st section
+						Placements.set(this.halo, base, cell - step);
+					}
+					if (along + length != gridSize) {     // Tile after the last section
+						Placements.set(this.halo, base, cell + length * step);
+					}
+					for (int l = 0; l < length; l++) {
+						int section = cell + l * step;
+						Placements.set(this.footprint, base, section);
+						if (across != 0) {                  // Tile on the Top/Left side
+							Placements.set(this.halo, base, section - side);
+						}
+						if (across != gridSize - 1) {       // Tile on the Bottom/Right side
+							Placements.set(this.halo, base, section + side);
+						}
+					}
+
+					p++;
+				}
+			}
+		}
+
+		if (length == 1) { // Vertical lookups of a single tile resolve to the horizontal placement.
+			System.arraycopy(this.index, 0, this.index, cells, cells);
+		}
+	}
+
+	/**
+	 * Returns the shared table for the given grid size and ship length, building it if needed.
+	 *
+	 * @param gridSize The length of the grid.
+	 * @param length   The length of the ship.
+	 *
+	 * @return the table of placements.
+	 */
+	public static Placements of(int gridSize, int length) {
+		if ((gridSize < 1) || (length < 1) || (gridSize > 0xFFFF) || (length > 0xFFFF)) {
+			throw new IllegalArgumentException("Invalid grid size or ship length: " + gridSize + ", " + length);
+		}
+
+		return Placements.TABLES.computeIfAbsent(Placements.key(gridSize, length), key -> new Placements(gridSize, length));
+	}
+
+	/**
+	 * Returns the cache key of the given grid size and ship length.
+	 *
+	 * @param gridSize The length of the grid.
+	 * @param length   The length of the ship.
+	 *
+	 * @return the key.
+	 */
+	private static int key(int gridSize, int length) {
+		return (gridSize << 16) | length;
+	}
+
+	/**
+	 * Returns the placement with the given start and orientation.
+	 *
+	 * @param start     The tile index of the start of the ship.
+	 * @param direction The orientation of the ship.
+	 *
+	 * @return the placement, or <code>Placements.NONE</code> if the ship would leave the grid.
+	 */
+	public int index(int start, boolean direction) {
+		return this.index[(direction ? this.gridSize * this.gridSize : 0) + start];
+	}
+
+	/**
+	 * Finds every placement covering the given tile.
+	 *
+	 * @param cell     The tile index
+	 * @param covering The array receiving the placements. Needs room for <code>2 * length</code> entries.
+	 *
+	 * @return the number of placements found.
+	 */
+	public int covering(int cell, int[] covering) {
+		int found = 0;
+		for (int dir = 0; dir < 2; dir++) {
+			boolean vertical = dir == 1;
+			if (vertical && (this.length == 1)) { // Both orientations of a single tile are the same placement.
+				break;
+			}
+
+			int along = vertical ? Cell.y(cell, this.gridSize) : Cell.x(cell, this.gridSize);
+			int step = vertical ? this.gridSize : 1;
+			for (int l = 0; (l < this.length) && (l <= along); l++) {
+				int placement = this.index(cell - l * step, vertical);
+				if (placement != Placements.NONE) {
+					covering[found++] = placement;
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the tile index of the given section of the given placement.
+	 *
+	 * @param placement The placement
+	 * @param section   The section number, from '0' to <code>length - 1</code>.
+	 *
+	 * @return the tile index.
+	 */
+	public int cell(int placement, int section) {
+		return this.start[placement] + section * (this.direction[placement] ? this.gridSize : 1);
+	}
+
+	/**
+	 * Returns the tile index of the start of the given placement.
+	 *
+	 * @param placement The placement
+	 *
+	 * @return the tile index.
+	 */
+	public int start(int placement) {
+		return this.start[placement];
+	}
+
+	/**
+	 * Returns the orientation of the given placement.
+	 *
+	 * @param placement The placement
+	 *
+	 * @return true if Vertical, false if Horizontal.
+	 */
+	public boolean direction(int placement) {
+		return this.direction[placement];
+	}
+
+	/**
+	 * Checks if the footprint of the given placement overlaps the given bit plane.
+	 *
+	 * @param placement The placement
+	 * @param plane     The bit plane, laid out like a <code>Board</code>'s.
+	 *
+	 * @return true if any tile of the footprint is set in the plane, else false.
+	 */
+	public boolean footprintHits(int placement, long[] plane) {
+		return Placements.overlaps(this.footprint, placement * this.words, plane, this.words);
+	}
+
+	/**
+	 * Checks if the halo of the given placement overlaps the given bit plane.
+	 *
+	 * @param placement The placement
+	 * @param plane     The bit plane, laid out like a <code>Board</code>'s.
+	 *
+	 * @return true if any tile of the halo is set in the plane, else false.
+	 */
+	public boolean haloHits(int placement, long[] plane) {
+		return Placements.overlaps(this.halo, placement * this.words, plane, this.words);
+	}
+
+	/**
+	 * Sets the footprint of the given placement in the given bit plane.
+	 *
+	 * @param placement The placement
+	 * @param plane     The bit plane, laid out like a <code>Board</code>'s.
+	 */
+	public void addFootprint(int placement, long[] plane) {
+		int base = placement * this.words;
+		for (int word = 0; word < this.words; word++) {
+			plane[word] |= this.footprint[base + word];
+		}
+	}
+
+	/**
+	 * Sets the footprint and the halo of the given placement in the given bit plane.
+	 *
+	 * @param placement The placement
+	 * @param plane     The bit plane, laid out like a <code>Board</code>'s.
+	 */
+	public void addFootprintAndHalo(int placement, long[] plane) {
+		int base = placement * this.words;
+		for (int word = 0; word < this.words; word++) {
+			plane[word] |= this.footprint[base + word] | this.halo[base + word];
+		}
+	}
+
+	/**
+	 * Checks if a bitmask overlaps a bit plane.
+	 *
+	 * @param masks The flattened bitmasks
+	 * @param base  The 1st word of the bitmask
+	 * @param plane The bit plane
+	 * @param words The number of words in each
+	 *
+	 * @return true if any bit is set in both, else false.
+	 */
+	private static boolean overlaps(long[] masks, int base, long[] plane, int words) {
+		for (int word = 0; word < words; word++) {
+			if ((masks[base + word] & plane[word]) != 0) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Sets a bit of a flattened bitmask.
+	 *
+	 * @param masks The flattened bitmasks
+	 * @param base  The 1st word of the bitmask
+	 * @param cell  The tile index
+	 */
+	private static void set(long[] masks, int base, int cell) {
+		masks[base + (cell >>> 6)] |= 1L << cell;
+	}
+
+}
@@ -0,0 +1,129 @@
+package game.grid;
+
+import java.util.SplittableRandom;
+
+
+/**
+ * Static Class for placing a whole fleet on a board.
+ *
+ * Ships are placed in fleet order (largest first). Each ship is given a (pseudo-)random placement drawn only from the
+ * placements that are legal on the board at that point. If a ship has no legal placement left, or a later ship can't
+ * be placed anymore, the search backtracks to the previous ship and tries its next placement.
+ *
+ * The search visits each combination of placements at most once, so it always ends: either with every ship placed, or
+ * with the knowledge that the fleet can't be placed on the board at all.
+ *
+ * @author blackk100
+ */
+public final class Placer {
+
+	/**
+	 * Private constructor. This class only has static members.
+	 */
+	private Placer() {
+	}
+
+	/**
+	 * Places every ship of the board's fleet. Ships that were already placed are removed first.
+	 *
+	 * @param board  The board to place the fleet on.
+	 * @param random Random number generator used to choose between legal placements.
+	 *
+	 * @return true if the fleet was placed, false if it can't be placed on this board. The board is left empty if false.
+	 */
+	public static boolean place(Board board, SplittableRandom random) {
+		Ship[] fleet = board.getShips();
+		for (Ship ship : fleet) {
+			ship.remove();
+		}
+
+		return Placer.place(board, fleet, 0, random, new int[fleet.length][]);
+	}
+
+	/**
+	 * Places the given ship and every ship after it.
+	 *
+	 * @param board      The board to place the fleet on.
+	 * @param fleet      The fleet
+	 * @param ship       The ship number to place.
+	 * @param random     Random number generator used to choose between legal placements.
+	 * @param candidates Scratch space for the legal placements of each ship.
+	 *
+	 * @return true if the ships were placed, else false.
+	 */
+	private static boolean place(Board board, Ship[] fleet, int ship, SplittableRandom random, int[][] candidates) {
+		if (ship == fleet.length) { // All ships placed.
+			return true;
+		}
+
+		Placements placements = Placements.of(board.gridSize, fleet[ship].length);
+		if (candidates[ship] == null) {
+			candidates[ship] = new int[placements.count];
+		}
+
+		int[] legal = candidates[ship]; // Placements still to be tried for this ship
+		int left = 0;                   // Number of placements still to be tried
+		for (int placement = 0; placement < placements.count; placement++) {
+			if (board.fits(placements, placement)) {
+				legal[left++] = placement;
+			}
+		}
+
+		while (left > 0) {
+			int pick = random.nextInt(left);
+			int placement = legal[pick];
+			legal[pick] = legal[--left]; // Removes the placement from the ones still to be tried.
+
+			fleet[ship].add(placements.start(placement), placements.direction(placement));
+			if (Placer.canContinue(board, fleet, ship + 1) && Placer.place(board, fleet, ship + 1, random, candidates)) {
+				return true;
+			}
+			fleet[ship].remove();          // Backtracks.
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks that every remaining ship length still has at least one legal placement.
+	 * Used to backtrack early, before trying to place the ships in between.
+	 *
+	 * @param board The board the fleet is being placed on.
+	 * @param fleet The fleet
+	 * @param ship  The 1st ship number still to be placed.
+	 *
+	 * @return false if some remaining ship can't be placed anymore, else true.
+	 */
+	private static boolean canContinue(Board board, Ship[] fleet, int ship) {
+		int checked = 0; // Length last checked. The fleet is ordered by length, so equal lengths are adjacent.
+		for (int s = ship; s < fleet.length; s++) {
+			if (fleet[s].length != checked) {
+				checked = fleet[s].length;
+				if (!Placer.anyFits(board, Placements.of(board.gridSize, checked))) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if any placement of the given table is legal on the board.
+	 *
+	 * @param board      The board
+	 * @param placements The placement table
+	 *
+	 * @return true if at least 1 placement is legal, else false.
+	 */
+	private static boolean anyFits(Board board, Placements placements) {
+		for (int placement = 0; placement < placements.count; placement++) {
+			if (board.fits(placements, placement)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+}
@@ -8,6 +8,16 @@ package game.grid;
  */
 public final class Ship {
 
+	/**
+	 * The board this ship is placed on.
+	 */
+	private final Board board;
+
+	/**
+	 * The ship number of this ship within the board's fleet.
+	 */
+	public final int id;
+
 	/**
 	 * A positive integer indicating length of the ship (distance between start and end points).
 	 */
@@ -23,75 +33,165 @@ public final class Ship {
 	private boolean direction;
 
 	/**
-	 * 2 Values indicating the start coordinates.
-	 * 1st value is X-Coordinate. 2nd is Y-Coordinate.
-	 * It's coordinate values are always less than/equal to end's.
+	 * The tile index of the start of the ship, or <code>Cell.NONE</code> if the ship isn't placed.
+	 * It's coordinate values are always less than/equal to the end's.
 	 */
-	private int[] start;
+	private int start = Cell.NONE;
 
 	/**
-	 * 2 Values indicating the end coordinates.
-	 * 1st value is X-Coordinate. 2nd is Y-Coordinate.
-	 * It's coordinate values are always greater than/equal to start's.
+	 * A bitmask indicating whether or not each individual tile the ship is located on was hit or not.
+	 * Bit <code>n</code> is set if section <code>n</code> was hit.
 	 */
-	private int[] end;
+	private int hit = 0;
 
 	/**
-	 * A boolean array indicating whether or not each individual tile the ship is located on was hitor not.
-	 * <pre>
-	 * true  - Hit
-	 * false - Not Hit
-	 * </pre>
-	 */
-	private boolean[] hit;
-
-	/**
-	 * A boolean indicating whether or not the ship has been sunk.
-	 * Is true if all values in <code>sections</code> are <code>true</code>.
+	 * The number of sections that haven't been hit yet.
+	 * The ship has been sunk once this reaches '0'.
 	 */
-	private boolean sunk = false;
+	private int remaining;
 
 	/**
 	 * Constructor for the Ship class.
+	 * Only created by the <code>Board</code> owning the fleet.
 	 *
+	 * @param board  The board this ship is placed on.
+	 * @param id     The ship number of this ship.
 	 * @param length The length of the ship.
 	 */
-	public Ship(int length) {
+	Ship(Board board, int id, int length) {
+		this.board = board;
+		this.id = id;
 		this.length = length;
-		this.hit = new boolean[length];
-		for (int i = 0; i < length; i++) {
-			this.hit[i] = false;
-		}
+		this.remaining = length;
+	}
+
+	/**
+	 * Sets the starting tile and the orientation of the ship.
+	 * Also marks the tiles occupied and bordered by the ship on the board.
+	 * If the ship was already placed, it is removed from its old position first.
+	 *
+	 * @param start     The tile index of the start of the ship.
+	 * @param direction The orientation of the ship.
+	 */
+	public void add(int start, boolean direction) {
 		this.remove();
+
+		this.start = start;
+		this.direction = direction;
+
+		int step = direction ? this.board.gridSize : 1;
+		for (int l = 0; l < this.length; l++) {
+			this.board.occupy(this.id, l, start + l * step);
+		}
+		this.setBorders(true);
 	}
 
 	/**
 	 * Sets the starting and the ending coordinates of the ship.
+	 * Also marks the tiles occupied by the ship on the board.
 	 *
 	 * @param coordinates The starting coordinates (1st value is X-Coordinate, 2nd is Y-Coordinate).
 	 * @param direction   The orientation of the ship.
 	 */
 	public void add(int[] coordinates, boolean direction) {
-		this.start = coordinates;
-		this.end = new int[] {coordinates[0] + (direction ? 0 : length - 1), coordinates[1] + (direction ? length - 1 : 0)};
-
-		this.direction = direction;
+		this.add(Cell.of(coordinates[0], coordinates[1], this.board.gridSize), direction);
 	}
 
 	/**
 	 * "Removes" the ship from the game board
 	 */
 	public void remove() {
-		this.start = new int[] {-1, -1};
-		this.end = new int[] {-1, -1};
+		if (this.isPlaced()) { // Clears the tiles occupied and bordered by the ship on the board.
+			this.setBorders(false);
+			for (int l = 0; l < this.length; l++) {
+				this.board.vacate(this.getCell(l));
+			}
+		}
+
+		this.start = Cell.NONE;
 		this.direction = false;
 	}
 
+	/**
+	 * Raises or lowers the border count of every tile that shares an edge with the ship.
+	 *
+	 * @param raise true if the ship is being added, false if it is being removed.
+	 */
+	private void setBorders(boolean raise) {
+		int gridSize = this.board.gridSize;
+		int along = this.direction ? Cell.y(this.start, gridSize) : Cell.x(this.start, gridSize);  // Position along the ship
+		int across = this.direction ? Cell.x(this.start, gridSize) : Cell.y(this.start, gridSize); // Position across the ship
+		int step = this.direction ? gridSize : 1; // Distance to the next section
+		int side = this.direction ? 1 : gridSize; // Distance to the tile beside a section
+
+		// Borders at the terminal positions of the ship.
+		if (along != 0) {                                 // Checks if the 1st tile isn't at the edge of the Board
+			this.setBorder(this.start - step, raise);
+		}
+		if (along + this.length != gridSize) {            // Checks if the last tile isn't at the edge of the Board
+			this.setBorder(this.start + this.length * step, raise);
+		}
+
+		// Borders along the length of the ship.
+		for (int l = 0; l < this.length; l++) {
+			int cell = this.start + l * step;
+			if (across != 0) {                              // Not at the Top/Left edge
+				this.setBorder(cell - side, raise);
+			}
+			if (across != gridSize - 1) {                   // Not at the Bottom/Right edge
+				this.setBorder(cell + side, raise);
+			}
+		}
+	}
+
+	/**
+	 * Raises or lowers the border count of a single tile.
+	 *
+	 * @param cell  The tile index
+	 * @param raise true to raise, false to lower.
+	 */
+	private void setBorder(int cell, boolean raise) {
+		if (raise) {
+			this.board.raiseBorder(cell);
+		} else {
+			this.board.lowerBorder(cell);
+		}
+	}
+
 	/**
 	 * @return whether the ship was placed or not.
 	 */
 	public boolean isPlaced() {
-		return (this.start[0] != -1) && (this.start[1] != -1) && (this.end[0] != -1) && (this.end[1] != -1);
+		return this.start != Cell.NONE;
+	}
+
+	/**
+	 * Returns the tile index of the start of the ship.
+	 *
+	 * @return the tile index, or <code>Cell.NONE</code> if the ship isn't placed.
+	 */
+	public int getStartCell() {
+		return this.start;
+	}
+
+	/**
+	 * Returns the tile index of the end of the ship.
+	 *
+	 * @return the tile index, or <code>Cell.NONE</code> if the ship isn't placed.
+	 */
+	public int getEndCell() {
+		return this.isPlaced() ? this.getCell(this.length - 1) : Cell.NONE;
+	}
+
+	/**
+	 * Returns the tile index of the given section of the ship.
+	 *
+	 * @param position the section, with the 1st section being equal to 0.
+	 *
+	 * @return the tile index.
+	 */
+	public int getCell(int position) {
+		return this.start + position * (this.direction ? this.board.gridSize : 1);
 	}
 
 	/**
@@ -100,7 +200,7 @@ public final class Ship {
 	 * @return start 1st value is X-Coordinate. 2nd is Y-Coordinate.
 	 */
 	public int[] getStart() {
-		return this.start;
+		return Cell.toArray(this.start, this.board.gridSize);
 	}
 
 	/**
@@ -109,7 +209,7 @@ public final class Ship {
 	 * @return end 1st value is X-Coordinate. 2nd is Y-Coordinate.
 	 */
 	public int[] getEnd() {
-		return this.end;
+		return Cell.toArray(this.getEndCell(), this.board.gridSize);
 	}
 
 	/**
@@ -129,36 +229,52 @@ public final class Ship {
 	 * @return true if sunk, else false.
 	 */
 	public boolean isSunk() {
-		return this.sunk;
+		return this.remaining == 0;
 	}
 
 	/**
 	 * Marks the given position as hit.
 	 * Also checks if the ship was sunk.
+	 * Hitting a section that was already hit has no effect.
 	 *
-	 * @param coords The coordinates at which the ship was hit. 1st value is X-Coordinate, 2nd is Y-Coordinate
+	 * @param cell The tile index at which the ship was hit.
 	 */
-	public void sectionHit(int[] coords) {
-		int position = this.getPosition(coords);
-
-		if (position > -1) {
-			this.hit[position] = true;
-
-			// Checking if the ship was sunk.
-			boolean allHit = true;
-			for (int i = 0; i < this.length; i++) {
-				if (!this.hit[i]) {
-					allHit = false;
-					break;
-				}
-			}
+	public void sectionHit(int cell) {
+		int position = this.getPosition(cell);
+
+		if ((position > -1) && ((this.hit & (1 << position)) == 0)) { // Checks if the section is part of the ship and wasn't already hit.
+			this.hit |= 1 << position;
+			this.remaining--;
 
-			if (allHit) {
-				this.sunk = true;
+			if (this.remaining == 0) { // Checks if the ship was sunk.
+				this.board.shipSunk();
 			}
 		}
 	}
 
+	/**
+	 * Marks the given position as hit.
+	 * Also checks if the ship was sunk.
+	 * Hitting a section that was already hit has no effect.
+	 *
+	 * @param coords The coordinates at which the ship was hit. 1st value is X-Coordinate, 2nd is Y-Coordinate
+	 */
+	public void sectionHit(int[] coords) {
+		int cell = Cell.fromArray(coords, this.board.gridSize);
+		if (cell != Cell.NONE) {
+			this.sectionHit(cell);
+		}
+	}
+
+	/**
+	 * Returns the number of sections that haven't been hit yet.
+	 *
+	 * @return the number of sections remaining.
+	 */
+	public int getRemaining() {
+		return this.remaining;
+	}
+
 	/**
 	 * Checks if the given position was hit,
 	 *
@@ -167,7 +283,7 @@ public final class Ship {
 	 * @return true if hit, else false.
 	 */
 	public boolean isHit(int[] coords) {
-		return this.hit[this.getPosition(coords)];
+		return this.isHit(this.getPosition(coords));
 	}
 
 	/**
@@ -178,7 +294,21 @@ public final class Ship {
 	 * @return true if hit, else false.
 	 */
 	public boolean isHit(int position) {
-		return this.hit[position];
+		return (this.hit & (1 << position)) != 0;
+	}
+
+	/**
+	 * Gives the given tile's position relative to the start of the ship.
+	 * Returns -1 if not part of the ship.
+	 *
+	 * Resolved through the board's lookup table instead of searching the ship's sections.
+	 *
+	 * @param cell The tile index to resolve.
+	 *
+	 * @return an integer giving the relative position of the tile. If -1, the tile isn't part of the ship.
+	 */
+	public int getPosition(int cell) {
+		return this.board.getShip(cell) == this ? this.board.getSection(cell) : -1;
 	}
 
 	/**
@@ -190,12 +320,8 @@ public final class Ship {
 	 * @return an integer giving the relative position of the coordinates. If -1, the coordinates aren't part of the ship.
 	 */
 	public int getPosition(int[] coords) {
-		for (int position = 0; position < this.length; position++) {
-			if ((this.start[0] + (this.direction ? 0 : position) == coords[0]) && (this.start[1] + (this.direction ? position : 0) == coords[1])) {
-				return position; // Matched
-			}
-		}
-		return -1;    // Not wihtin bounds
+		int cell = Cell.fromArray(coords, this.board.gridSize);
+		return (cell == Cell.NONE) ? -1 : this.getPosition(cell); // Not wihtin bounds if Cell.NONE
 	}
 
 }
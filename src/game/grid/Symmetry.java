@@ -0,0 +1,312 @@
+package game.grid;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Immutable table of the 8 orientations (rotations and reflections) of a grid of a given size.
+ *
+ * An orientation is a number from '0' to '7', applied to a tile in 3 steps:
+ * <pre>
+ * Bit 0 - Swaps the X- and Y-Coordinates.
+ * Bit 1 - Mirrors the X-Coordinate.
+ * Bit 2 - Mirrors the Y-Coordinate.
+ * </pre>
+ * Orientation <code>Symmetry.IDENTITY</code> leaves every tile in place.
+ *
+ * A board state made of bit planes (laid out like a <code>Board</code>'s) can be turned into its canonical form with
+ * <code>canonical()</code>: the orientation whose bit planes are the smallest. States that only differ by a rotation
+ * or a reflection share the same canonical form, so caches keyed by it hold each of them once. Results computed on
+ * the canonical form are mapped back with <code>revert()</code>.
+ *
+ * Tables are built lazily, once per grid size, and shared through <code>Symmetry.of()</code>. Each thread keeps its
+ * own scratch planes for <code>canonical()</code>, so it doesn't allocate after the 1st call.
+ *
+ * @author blackk100
+ */
+public final class Symmetry {
+
+	/**
+	 * The orientation leaving every tile in place.
+	 */
+	public static final int IDENTITY = 0;
+
+	/**
+	 * The number of orientations.
+	 */
+	public static final int ORIENTATIONS = 8;
+
+	/**
+	 * Tables built so far, keyed by grid size.
+	 */
+	private static final ConcurrentHashMap<Integer, Symmetry> TABLES = new ConcurrentHashMap<>();
+
+	/**
+	 * The length of the grid.
+	 */
+	public final int gridSize;
+
+	/**
+	 * The number of <code>long</code> words in each bit plane.
+	 */
+	private final int words;
+
+	/**
+	 * The tile each tile is moved to by each orientation.
+	 */
+	private final int[][] map;
+
+	/**
+	 * The orientation undoing each orientation.
+	 */
+	private final int[] inverse;
+
+	/**
+	 * Scratch space of <code>canonical()</code>, per thread.
+	 */
+	private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+	/**
+	 * Builds the table.
+	 *
+	 * @param gridSize The length of the grid.
+	 */
+	private Symmetry(int gridSize) {
+		this.gridSize = gridSize;
+
+		int cells = gridSize * gridSize;
+		this.words = (cells + 63) >>> 6;
+		this.map = new int[Symmetry.ORIENTATIONS][cells];
+		for (int orientation = 0; orientation < Symmetry.ORIENTATIONS; orientation++) {
+			for (int cell = 0; cell < cells; cell++) {
+				int x = Cell.x(cell, gridSize);
+				int y = Cell.y(cell, gridSize);
+				if ((orientation & 1) != 0) { // Swaps the axes
+					int swap = x;
+					x = y;
+					y = swap;
+				}
+				if ((orientation & 2) != 0) { // Mirrors X
+					x = gridSize - 1 - x;
+				}
+				if ((orientation & 4) != 0) { // Mirrors Y
+					y = gridSize - 1 - y;
+				}
+				this.map[orientation][cell] = Cell.of(x, y, gridSize);
+			}
+		}
+
+		this.inverse = new int[Symmetry.ORIENTATIONS];
+		for (int orientation = 0; orientation < Symmetry.ORIENTATIONS; orientation++) {
+			for (int undo = 0; undo < Symmetry.ORIENTATIONS; undo++) {
+				if (this.undoes(undo, orientation)) {
+					this.inverse[orientation] = undo;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the shared table for the given grid size, building it if needed.
+	 *
+	 * @param gridSize The length of the grid.
+	 *
+	 * @return the table of orientations.
+	 */
+	public static Symmetry of(int gridSize) {
+		if ((gridSize < 1) || (gridSize > 0xFFFF)) {
+			throw new IllegalArgumentException("Invalid grid size: " + gridSize);
+		}
+
+		return Symmetry.TABLES.computeIfAbsent(gridSize, key -> new Symmetry(gridSize));
+	}
+
+	/**
+	 * Moves a tile by an orientation.
+	 *
+	 * @param orientation The orientation
+	 * @param cell        The tile index
+	 *
+	 * @return the tile index it's moved to.
+	 */
+	public int apply(int orientation, int cell) {
+		return this.map[orientation][cell];
+	}
+
+	/**
+	 * Moves a tile back by an orientation, i.e., undoes <code>apply()</code>.
+	 *
+	 * @param orientation The orientation
+	 * @param cell        The tile index
+	 *
+	 * @return the tile index it's moved back to.
+	 */
+	public int revert(int orientation, int cell) {
+		return this.map[this.inverse[orientation]][cell];
+	}
+
+	/**
+	 * Returns the orientation undoing the given orientation.
+	 *
+	 * @param orientation The orientation
+	 *
+	 * @return the inverse orientation.
+	 */
+	public int inverse(int orientation) {
+		return this.inverse[orientation];
+	}
+
+	/**
+	 * Moves every tile of a bit plane by an orientation.
+	 *
+	 * @param orientation The orientation
+	 * @param plane       The bit plane, laid out like a <code>Board</code>'s.
+	 * @param out         The bit plane receiving the result. Must not be <code>plane</code>.
+	 */
+	public void apply(int orientation, long[] plane, long[] out) {
+		int[] map = this.map[orientation];
+		Arrays.fill(out, 0, this.words, 0L);
+		for (int word = 0; word < this.words; word++) {
+			for (long bits = plane[word]; bits != 0; bits &= bits - 1) { // Only visits the set bits.
+				int cell = map[(word << 6) | Long.numberOfTrailingZeros(bits)];
+				out[cell >>> 6] |= 1L << cell;
+			}
+		}
+	}
+
+	/**
+	 * Finds the canonical form of a board state: the orientation giving the smallest bit planes, compared plane by
+	 * plane and word by word (unsigned). Ties, for states that are symmetric themselves, go to the lowest orientation.
+	 *
+	 * @param planes The bit planes of the state, laid out like a <code>Board</code>'s.
+	 * @param out    The bit planes receiving the canonical form. One per entry of <code>planes</code>.
+	 *
+	 * @return the orientation moving the state to its canonical form.
+	 */
+	public int canonical(long[][] planes, long[][] out) {
+		long[][] trial = this.scratch.get().trial(planes.length, this.words);
+		for (int plane = 0; plane < planes.length; plane++) {
+			System.arraycopy(planes[plane], 0, out[plane], 0, this.words);
+		}
+
+		int best = Symmetry.IDENTITY;
+		for (int orientation = 1; orientation < Symmetry.ORIENTATIONS; orientation++) {
+			int compare = 0;
+			for (int plane = 0; (plane < planes.length) && (compare <= 0); plane++) { // Stops once it's larger.
+				this.apply(orientation, planes[plane], trial[plane]);
+				if (compare == 0) {
+					compare = Symmetry.compare(trial[plane], out[plane], this.words);
+				}
+			}
+
+			if (compare < 0) { // Every plane was moved. Keeps them as the best so far.
+				best = orientation;
+				for (int plane = 0; plane < planes.length; plane++) {
+					System.arraycopy(trial[plane], 0, out[plane], 0, this.words);
+				}
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Finds the canonical form of the shots at a board.
+	 *
+	 * @param board  The board
+	 * @param hits   The bit plane receiving the hits of the canonical form.
+	 * @param misses The bit plane receiving the misses of the canonical form.
+	 *
+	 * @return the orientation moving the board to its canonical form.
+	 */
+	public int canonical(Board board, long[] hits, long[] misses) {
+		Scratch scratch = this.scratch.get();
+		scratch.planes[0] = board.hitPlane();
+		scratch.planes[1] = board.missPlane();
+		scratch.out[0] = hits;
+		scratch.out[1] = misses;
+
+		int orientation = this.canonical(scratch.planes, scratch.out);
+		Arrays.fill(scratch.planes, null); // Doesn't keep the board's planes alive.
+		Arrays.fill(scratch.out, null);
+		return orientation;
+	}
+
+	/**
+	 * Checks if an orientation undoes another.
+	 *
+	 * @param undo        The orientation that may undo it.
+	 * @param orientation The orientation
+	 *
+	 * @return true if applying both leaves every tile in place, else false.
+	 */
+	private boolean undoes(int undo, int orientation) {
+		for (int cell = 0; cell < this.map[orientation].length; cell++) {
+			if (this.map[undo][this.map[orientation][cell]] != cell) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Compares 2 bit planes word by word, as unsigned numbers.
+	 *
+	 * @param a     The 1st bit plane
+	 * @param b     The 2nd bit plane
+	 * @param words The number of words in each
+	 *
+	 * @return a negative number, '0', or a positive number if the 1st plane is smaller, equal or larger.
+	 */
+	private static int compare(long[] a, long[] b, int words) {
+		for (int word = 0; word < words; word++) {
+			if (a[word] != b[word]) {
+				return Long.compareUnsigned(a[word], b[word]);
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Scratch space of <code>canonical()</code>, reused by each thread.
+	 */
+	private static final class Scratch {
+
+		/**
+		 * The planes of the state, for <code>canonical(Board, long[], long[])</code>.
+		 */
+		final long[][] planes = new long[2][];
+
+		/**
+		 * The planes receiving the canonical form, for <code>canonical(Board, long[], long[])</code>.
+		 */
+		final long[][] out = new long[2][];
+
+		/**
+		 * The planes moved by the orientation being tried.
+		 */
+		private long[][] trial = new long[0][];
+
+		/**
+		 * Returns the planes for the orientation being tried, growing them if needed.
+		 *
+		 * @param planes The number of planes
+		 * @param words  The number of <code>long</code> words in each
+		 *
+		 * @return the planes. May be more than asked for.
+		 */
+		long[][] trial(int planes, int words) {
+			if (this.trial.length < planes) {
+				this.trial = new long[planes][words];
+			}
+
+			return this.trial;
+		}
+
+	}
+
+}